@@ -0,0 +1,129 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class BenchmarkRunner {
+    @FunctionalInterface
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    public static class Result {
+        private final String name;
+        private final double meanNanosPerOp;
+        private final double stdDevNanosPerOp;
+        private final long operations;
+
+        Result(String name, double meanNanosPerOp, double stdDevNanosPerOp, long operations) {
+            this.name = name;
+            this.meanNanosPerOp = meanNanosPerOp;
+            this.stdDevNanosPerOp = stdDevNanosPerOp;
+            this.operations = operations;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getMeanNanosPerOp() {
+            return meanNanosPerOp;
+        }
+
+        public double getOpsPerSecond() {
+            return 1_000_000_000.0 / meanNanosPerOp;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-45s %14.1f ns/op +/- %8.1f  %14.0f ops/s  (%d ops)",
+                    name, meanNanosPerOp, stdDevNanosPerOp, getOpsPerSecond(), operations);
+        }
+    }
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationMillis;
+    private final String filter;
+    private final List<Result> results = new ArrayList<>();
+
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis, String filter) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationMillis = iterationMillis;
+        this.filter = filter;
+    }
+
+    public static BenchmarkRunner fromArgs(String[] args) {
+        int warmup = Integer.parseInt(System.getProperty("bench.warmup", "5"));
+        int iterations = Integer.parseInt(System.getProperty("bench.iterations", "10"));
+        long millis = Long.parseLong(System.getProperty("bench.iterationMillis", "1000"));
+        return new BenchmarkRunner(warmup, iterations, millis, args.length > 0 ? args[0] : null);
+    }
+
+    public void run(String name, Operation operation) throws Exception {
+        if (filter != null && !name.contains(filter)) {
+            return;
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            measureIteration(operation);
+        }
+
+        double[] nanosPerOp = new double[measurementIterations];
+        long totalOps = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            long[] measured = measureIteration(operation);
+            nanosPerOp[i] = (double) measured[1] / measured[0];
+            totalOps += measured[0];
+        }
+
+        double mean = 0;
+        for (double value : nanosPerOp) {
+            mean += value;
+        }
+        mean /= nanosPerOp.length;
+        double variance = 0;
+        for (double value : nanosPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double stdDev = nanosPerOp.length > 1 ? Math.sqrt(variance / (nanosPerOp.length - 1)) : 0;
+
+        Result result = new Result(name, mean, stdDev, totalOps);
+        results.add(result);
+        System.out.println(result);
+    }
+
+    private long[] measureIteration(Operation operation) throws Exception {
+        long deadline = System.nanoTime() + iterationMillis * 1_000_000;
+        long ops = 0;
+        long start = System.nanoTime();
+        long now;
+        do {
+            for (int i = 0; i < 64; i++) {
+                operation.run();
+            }
+            ops += 64;
+            now = System.nanoTime();
+        } while (now < deadline);
+        return new long[]{ops, now - start};
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void writeCsv(String path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(path)))) {
+            writer.println("benchmark,ns_per_op,ops_per_second");
+            for (Result result : results) {
+                writer.printf(Locale.ROOT, "%s,%.2f,%.2f%n", result.getName(), result.getMeanNanosPerOp(), result.getOpsPerSecond());
+            }
+        }
+    }
+}
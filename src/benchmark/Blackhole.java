@@ -0,0 +1,23 @@
+package benchmark;
+
+public final class Blackhole {
+    private static volatile int sink;
+
+    private Blackhole() { }
+
+    public static void consume(Object value) {
+        sink ^= System.identityHashCode(value);
+    }
+
+    public static void consume(boolean value) {
+        sink ^= value ? 1 : 0;
+    }
+
+    public static void consume(double value) {
+        sink ^= Double.hashCode(value);
+    }
+
+    public static void consume(int value) {
+        sink ^= value;
+    }
+}
@@ -0,0 +1,155 @@
+package benchmark;
+
+import collection.IntHashSet;
+import collection.IntList;
+import collection.IntLongHashMap;
+import collection.IntObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+public class CollectionBenchmarks {
+    private static final int PROBES = 1 << 16;
+
+    public static void main(String[] args) throws Exception {
+        int size = Integer.parseInt(System.getProperty("bench.collectionSize", "200000"));
+        SplittableRandom random = new SplittableRandom(42);
+        int[] keys = random.ints(size, 1, size * 4).distinct().toArray();
+        int[] probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = random.nextInt(4) == 0 ? random.nextInt(1, size * 4) : keys[random.nextInt(keys.length)];
+        }
+        Object value = new Object();
+
+        Map<Integer, Object> boxedObjects = new HashMap<>();
+        IntObjectHashMap<Object> primitiveObjects = new IntObjectHashMap<>();
+        Map<Integer, Long> boxedLongs = new HashMap<>();
+        IntLongHashMap primitiveLongs = new IntLongHashMap();
+        Set<Integer> boxedSet = new HashSet<>();
+        IntHashSet primitiveSet = new IntHashSet();
+        for (int key : keys) {
+            boxedObjects.put(key, value);
+            primitiveObjects.put(key, value);
+            boxedLongs.put(key, (long) key << 16);
+            primitiveLongs.put(key, (long) key << 16);
+            boxedSet.add(key);
+            primitiveSet.add(key);
+        }
+
+        BenchmarkRunner runner = BenchmarkRunner.fromArgs(args);
+        int[] counter = new int[1];
+
+        runner.run("HashMap<Integer,V>.get", () ->
+                Blackhole.consume(boxedObjects.get(probes[counter[0]++ & (PROBES - 1)])));
+        runner.run("IntObjectHashMap.get", () ->
+                Blackhole.consume(primitiveObjects.get(probes[counter[0]++ & (PROBES - 1)])));
+        runner.run("HashMap<Integer,V>.put + remove", () -> {
+            int key = -1 - (counter[0]++ & 0xFFFF);
+            boxedObjects.put(key, value);
+            Blackhole.consume(boxedObjects.remove(key));
+        });
+        runner.run("IntObjectHashMap.put + remove", () -> {
+            int key = -1 - (counter[0]++ & 0xFFFF);
+            primitiveObjects.put(key, value);
+            Blackhole.consume(primitiveObjects.remove(key));
+        });
+        runner.run("HashMap<Integer,Long>.get", () -> {
+            Long span = boxedLongs.get(probes[counter[0]++ & (PROBES - 1)]);
+            Blackhole.consume(span == null ? -1 : (int) (long) span);
+        });
+        runner.run("IntLongHashMap.get", () ->
+                Blackhole.consume((int) primitiveLongs.get(probes[counter[0]++ & (PROBES - 1)], -1)));
+        runner.run("HashSet<Integer>.contains", () ->
+                Blackhole.consume(boxedSet.contains(probes[counter[0]++ & (PROBES - 1)])));
+        runner.run("IntHashSet.contains", () ->
+                Blackhole.consume(primitiveSet.contains(probes[counter[0]++ & (PROBES - 1)])));
+        runner.run("ArrayList<Integer> add x16 + scan", () -> {
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                ids.add(keys[(counter[0] + i) % keys.length]);
+            }
+            Blackhole.consume(ids.indexOf(keys[counter[0]++ % keys.length]));
+        });
+        runner.run("IntList add x16 + scan", () -> {
+            IntList ids = new IntList();
+            for (int i = 0; i < 16; i++) {
+                ids.add(keys[(counter[0] + i) % keys.length]);
+            }
+            Blackhole.consume(ids.indexOf(keys[counter[0]++ % keys.length]));
+        });
+
+        System.out.println();
+        System.out.println("Retained heap for " + keys.length + " entries:");
+        footprint("HashMap<Integer,V>", keys.length, () -> {
+            Map<Integer, Object> map = new HashMap<>();
+            for (int key : keys) {
+                map.put(key, value);
+            }
+            return map;
+        });
+        footprint("IntObjectHashMap", keys.length, () -> {
+            IntObjectHashMap<Object> map = new IntObjectHashMap<>();
+            for (int key : keys) {
+                map.put(key, value);
+            }
+            return map;
+        });
+        footprint("HashMap<Integer,Long>", keys.length, () -> {
+            Map<Integer, Long> map = new HashMap<>();
+            for (int key : keys) {
+                map.put(key, (long) key << 16);
+            }
+            return map;
+        });
+        footprint("IntLongHashMap", keys.length, () -> {
+            IntLongHashMap map = new IntLongHashMap();
+            for (int key : keys) {
+                map.put(key, (long) key << 16);
+            }
+            return map;
+        });
+        footprint("HashSet<Integer>", keys.length, () -> {
+            Set<Integer> set = new HashSet<>();
+            for (int key : keys) {
+                set.add(key);
+            }
+            return set;
+        });
+        footprint("IntHashSet", keys.length, () -> {
+            IntHashSet set = new IntHashSet();
+            for (int key : keys) {
+                set.add(key);
+            }
+            return set;
+        });
+
+        String csv = System.getProperty("bench.csv");
+        if (csv != null) {
+            runner.writeCsv(csv);
+        }
+    }
+
+    private static void footprint(String name, int entries, Supplier<Object> builder) {
+        long before = usedHeap();
+        Object retained = builder.get();
+        long after = usedHeap();
+        Blackhole.consume(retained);
+        System.out.println(String.format(Locale.ROOT, "%-45s %14d bytes  %8.1f bytes/entry",
+                name, after - before, (double) (after - before) / entries));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,176 @@
+package benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import controller.BaseController;
+import controller.BookingController;
+import dao.InMemoryBookingDAO;
+import dao.InMemoryGuestDAO;
+import dao.InMemoryRoomDAO;
+import dao.InMemoryUserDAO;
+import json.JsonMapper;
+import model.*;
+import server.RateLimiter;
+import server.RequestBodies;
+import server.ResponseCompression;
+import service.BookingService;
+import service.GuestService;
+import service.RoomService;
+import service.UserService;
+import util.JwtUtil;
+import util.LocalDateTimeAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class HotPathBenchmarks {
+    private static final int ROOMS = 200;
+    private static final int BOOKINGS_PER_ROOM = 20;
+
+    public static void main(String[] args) throws Exception {
+        Logger.getLogger("").setLevel(Level.WARNING);
+        // The controller benchmark sends every request from one address and token
+        RateLimiter.setShared(RateLimiter.disabled());
+
+        InMemoryRoomDAO roomDAO = new InMemoryRoomDAO();
+        InMemoryBookingDAO bookingDAO = new InMemoryBookingDAO();
+        InMemoryUserDAO userDAO = new InMemoryUserDAO();
+
+        for (int i = 1; i <= ROOMS; i++) {
+            roomDAO.insert(new Room(String.valueOf(100 + i), i % 3 == 0 ? "SUITE" : "DOUBLE", 120.0 + i % 50, 25.0, 4, 2, RoomStatus.AVAILABLE));
+        }
+        for (int room = 1; room <= ROOMS; room++) {
+            for (int n = 0; n < BOOKINGS_PER_ROOM; n++) {
+                bookingDAO.insert(new Booking(room, room * 1000 + n, daysFromNow(n * 7), daysFromNow(n * 7 + 3), 0, 2, BookingStatus.CONFIRMED));
+            }
+        }
+
+        User admin = new User(1, null, "Bench", "Admin", "admin@bench.local", "unused", "5550000000", Role.ADMIN, true, LocalDateTime.now(), LocalDateTime.now());
+        userDAO.insert(admin);
+        String token = JwtUtil.generateToken(admin);
+
+        RoomService roomService = new RoomService(roomDAO);
+        BookingService bookingService = new BookingService(bookingDAO, roomService);
+        UserService userService = new UserService(userDAO, new GuestService(new InMemoryGuestDAO()));
+        BookingController bookingController = new BookingController(bookingService, userService);
+        QueryParamsController queryParamsController = new QueryParamsController(userService);
+
+        Gson reflectiveGson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .create();
+        Gson gson = JsonMapper.GSON;
+        List<Booking> bookingList = new ArrayList<>(bookingDAO.getAll().subList(0, 500));
+        List<Room> roomList = roomDAO.getAll();
+        String bookingJson = gson.toJson(bookingList.get(0));
+        String roomPatch = "{\"pricePerNight\": 135.5, \"status\": \"MAINTENANCE\"}";
+
+        LocalDate freeCheckIn = daysFromNow(BOOKINGS_PER_ROOM * 7 + 10);
+        LocalDate freeCheckOut = daysFromNow(BOOKINGS_PER_ROOM * 7 + 13);
+        LocalDate busyCheckIn = daysFromNow(8);
+        LocalDate busyCheckOut = daysFromNow(9);
+        Booking pricingBooking = new Booking(7, 1, freeCheckIn, freeCheckOut, 0, 2, BookingStatus.PENDING);
+
+        BenchmarkRunner runner = BenchmarkRunner.fromArgs(args);
+        int[] counter = new int[1];
+
+        runner.run("BookingService.createBooking + delete", () -> {
+            int roomId = 1 + (counter[0]++ % ROOMS);
+            Booking booking = new Booking(roomId, roomId, freeCheckIn, freeCheckOut, 0, 2, null);
+            bookingService.createBooking(booking);
+            bookingDAO.delete(booking.getId());
+            Blackhole.consume(booking);
+        });
+        runner.run("BookingService.calculateTotalPrice", () ->
+                Blackhole.consume(bookingService.calculateTotalPrice(pricingBooking, 1)));
+        runner.run("BookingService.isRoomAvailable (free)", () ->
+                Blackhole.consume(bookingService.isRoomAvailable(1 + (counter[0]++ % ROOMS), freeCheckIn, freeCheckOut, null)));
+        runner.run("BookingService.isRoomAvailable (conflict)", () ->
+                Blackhole.consume(bookingService.isRoomAvailable(1 + (counter[0]++ % ROOMS), busyCheckIn, busyCheckOut, null)));
+        runner.run("BaseController.parseQueryParams", () ->
+                Blackhole.consume(queryParamsController.parse("name=Ana%20Lopez&email=ana@example.com&page=3")));
+        runner.run("BookingController GET /api/bookings/{id}", () -> {
+            BenchmarkExchange exchange = new BenchmarkExchange("GET", "/api/bookings/" + (1 + counter[0]++ % 1000), null)
+                    .header("Authorization", "Bearer " + token);
+            bookingController.handle(exchange);
+            if (exchange.getResponseCode() != 200) {
+                throw new IllegalStateException("GET " + exchange.getRequestURI() + " answered " + exchange.getResponseCode());
+            }
+            Blackhole.consume(exchange.getResponseBytes());
+        });
+        runner.run("Gson.toJson(List<Booking> x500) reflective", () ->
+                Blackhole.consume(reflectiveGson.toJson(bookingList)));
+        runner.run("JsonMapper.toJson(List<Booking> x500)", () ->
+                Blackhole.consume(JsonMapper.toJson(bookingList)));
+        String bookingListJson = JsonMapper.toJson(bookingList);
+        runner.run("gzip(List<Booking> x500 JSON)", () -> {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bookingListJson.length() / 4);
+            try (Writer writer = new OutputStreamWriter(ResponseCompression.wrap(compressed, ResponseCompression.GZIP), StandardCharsets.UTF_8)) {
+                writer.append(bookingListJson);
+            }
+            Blackhole.consume(compressed.size());
+        });
+        runner.run("Gson.toJson(List<Room> x200) reflective", () ->
+                Blackhole.consume(reflectiveGson.toJson(roomList)));
+        runner.run("JsonMapper.toJson(List<Room> x200)", () ->
+                Blackhole.consume(JsonMapper.toJson(roomList)));
+        runner.run("Gson.fromJson(Booking) reflective", () ->
+                Blackhole.consume(reflectiveGson.fromJson(bookingJson, Booking.class)));
+        runner.run("Gson.fromJson(Booking)", () ->
+                Blackhole.consume(gson.fromJson(bookingJson, Booking.class)));
+        runner.run("Booking body via readAllBytes + String", () -> {
+            HttpExchange exchange = new BenchmarkExchange("POST", "/api/bookings", bookingJson);
+            Blackhole.consume(gson.fromJson(new String(exchange.getRequestBody().readAllBytes()), Booking.class));
+        });
+        runner.run("Booking body via RequestBodies.read", () ->
+                Blackhole.consume(RequestBodies.read(new BenchmarkExchange("POST", "/api/bookings", bookingJson)
+                        .header("Content-Length", String.valueOf(bookingJson.length())), Booking.class)));
+        runner.run("PATCH Room via Map.class", () -> {
+            Map<?, ?> updates = reflectiveGson.fromJson(roomPatch, Map.class);
+            Room room = roomList.get(0);
+            if (updates.containsKey("pricePerNight")) {
+                room.setPricePerNight(((Number) updates.get("pricePerNight")).doubleValue());
+            }
+            if (updates.containsKey("status")) {
+                room.setStatus(RoomStatus.valueOf((String) updates.get("status")));
+            }
+            Blackhole.consume(room);
+        });
+        runner.run("PATCH Room via JsonMapper.merge", () ->
+                Blackhole.consume(JsonMapper.merge(roomPatch, roomList.get(0))));
+        runner.run("JwtUtil.validateToken", () ->
+                Blackhole.consume(JwtUtil.validateToken(token)));
+
+        String csv = System.getProperty("bench.csv");
+        if (csv != null) {
+            runner.writeCsv(csv);
+        }
+    }
+
+    private static LocalDate daysFromNow(int days) {
+        return LocalDate.now().plusDays(days + 1);
+    }
+
+    private static class QueryParamsController extends BaseController {
+        QueryParamsController(UserService userService) {
+            super(userService);
+        }
+
+        Map<String, String> parse(String query) {
+            return parseQueryParams(query);
+        }
+
+        @Override
+        protected void handleRequest(HttpExchange exchange) {
+        }
+    }
+}
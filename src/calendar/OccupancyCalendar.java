@@ -0,0 +1,258 @@
+package calendar;
+
+import collection.IntLongHashMap;
+import model.Booking;
+import model.BookingStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Per-room, per-day cells kept off-heap in two int columns: the occupying booking id (0 = free) and the
+ * booked nightly rate in cents. A cell lives at (roomIndex * days + (epochDay - startEpochDay)) * 4.
+ */
+public class OccupancyCalendar {
+    private static final int CELL_BYTES = 4;
+    private static final int MAX_DAYS = 0xFFFF;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long startEpochDay;
+    private final int days;
+    private ByteBuffer bookingIds;
+    private ByteBuffer rates;
+    private int roomCapacity;
+    private int rooms;
+    private int[] roomIndexById = new int[0];
+    private final IntLongHashMap spansByBooking = new IntLongHashMap();
+
+    public OccupancyCalendar(long startEpochDay, int days, int initialRooms) {
+        if (days <= 0 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Calendar days must be between 1 and " + MAX_DAYS + ": " + days);
+        }
+        this.startEpochDay = startEpochDay;
+        this.days = days;
+        allocate(Math.max(1, initialRooms));
+    }
+
+    private void allocate(int capacity) {
+        long bytes = (long) capacity * days * CELL_BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Occupancy calendar cannot hold " + capacity + " rooms x " + days + " days");
+        }
+        ByteBuffer newBookingIds = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+        ByteBuffer newRates = ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+        if (bookingIds != null) {
+            newBookingIds.put(bookingIds.duplicate().clear());
+            newRates.put(rates.duplicate().clear());
+            newBookingIds.clear();
+            newRates.clear();
+        }
+        bookingIds = newBookingIds;
+        rates = newRates;
+        roomCapacity = capacity;
+    }
+
+    public void occupy(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            release(booking.getId());
+            if (booking.getStatus() == BookingStatus.CANCELLED) {
+                return;
+            }
+            long checkIn = booking.getCheckInDay();
+            long checkOut = booking.getCheckOutDay();
+            long nights = booking.getNights();
+            if (nights <= 0) {
+                return;
+            }
+            int first = (int) Math.max(0, checkIn - startEpochDay);
+            int last = (int) Math.min(days, checkOut - startEpochDay);
+            if (first >= last) {
+                return;
+            }
+            int nightlyCents = (int) Math.round(booking.getTotalPrice() * 100 / nights);
+            int base = cellOffset(indexFor(booking.getRoomId(), true), 0);
+            for (int day = first; day < last; day++) {
+                bookingIds.putInt(base + day * CELL_BYTES, booking.getId());
+                rates.putInt(base + day * CELL_BYTES, nightlyCents);
+            }
+            spansByBooking.put(booking.getId(), ((long) booking.getRoomId() << 32) | ((long) first << 16) | last);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(int bookingId) {
+        lock.writeLock().lock();
+        try {
+            long span = spansByBooking.remove(bookingId, -1L);
+            if (span < 0) {
+                return;
+            }
+            int base = cellOffset(indexFor((int) (span >>> 32), false), 0);
+            int first = (int) ((span >>> 16) & 0xFFFF);
+            int last = (int) (span & 0xFFFF);
+            for (int day = first; day < last; day++) {
+                int offset = base + day * CELL_BYTES;
+                if (bookingIds.getInt(offset) == bookingId) {
+                    bookingIds.putInt(offset, 0);
+                    rates.putInt(offset, 0);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            spansByBooking.clear();
+            for (int i = 0; i < bookingIds.capacity(); i += CELL_BYTES) {
+                bookingIds.putInt(i, 0);
+                rates.putInt(i, 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(int bookingId) {
+        lock.readLock().lock();
+        try {
+            return spansByBooking.containsKey(bookingId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isAvailable(int roomId, LocalDate checkIn, LocalDate checkOut) {
+        int first = dayIndex(checkIn.toEpochDay());
+        int last = dayIndex(checkOut.toEpochDay() - 1) + 1;
+        lock.readLock().lock();
+        try {
+            int index = indexFor(roomId, false);
+            if (index < 0) {
+                return true;
+            }
+            int base = cellOffset(index, 0);
+            for (int day = first; day < last; day++) {
+                if (bookingIds.getInt(base + day * CELL_BYTES) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int bookingIdAt(int roomId, LocalDate date) {
+        return cell(bookingIds, roomId, date);
+    }
+
+    public int rateCentsAt(int roomId, LocalDate date) {
+        return cell(rates, roomId, date);
+    }
+
+    private int cell(ByteBuffer column, int roomId, LocalDate date) {
+        int day = dayIndex(date.toEpochDay());
+        lock.readLock().lock();
+        try {
+            int index = indexFor(roomId, false);
+            return index < 0 ? 0 : column.getInt(cellOffset(index, day));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int occupiedRooms(LocalDate date) {
+        int day = dayIndex(date.toEpochDay());
+        lock.readLock().lock();
+        try {
+            int occupied = 0;
+            for (int index = 0; index < rooms; index++) {
+                if (bookingIds.getInt(cellOffset(index, day)) != 0) {
+                    occupied++;
+                }
+            }
+            return occupied;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean covers(LocalDate checkIn, LocalDate checkOut) {
+        return checkIn.toEpochDay() >= startEpochDay && checkOut.toEpochDay() <= startEpochDay + days && checkIn.isBefore(checkOut);
+    }
+
+    public Map<String, Object> stats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("from", LocalDate.ofEpochDay(startEpochDay).toString());
+            stats.put("days", days);
+            stats.put("rooms", rooms);
+            stats.put("roomCapacity", roomCapacity);
+            stats.put("bookings", spansByBooking.size());
+            stats.put("offHeapBytes", (long) bookingIds.capacity() + rates.capacity());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int trackedBookings() {
+        lock.readLock().lock();
+        try {
+            return spansByBooking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int dayIndex(long epochDay) {
+        long day = epochDay - startEpochDay;
+        if (day < 0 || day >= days) {
+            throw new IllegalArgumentException("Date " + LocalDate.ofEpochDay(epochDay) + " is outside the occupancy calendar window "
+                    + LocalDate.ofEpochDay(startEpochDay) + " - " + LocalDate.ofEpochDay(startEpochDay + days - 1));
+        }
+        return (int) day;
+    }
+
+    private int indexFor(int roomId, boolean create) {
+        if (roomId >= 0 && roomId < roomIndexById.length && roomIndexById[roomId] >= 0) {
+            return roomIndexById[roomId];
+        }
+        if (!create) {
+            return -1;
+        }
+        if (roomId < 0) {
+            throw new IllegalArgumentException("Invalid room id: " + roomId);
+        }
+        if (roomId >= roomIndexById.length) {
+            int oldLength = roomIndexById.length;
+            roomIndexById = Arrays.copyOf(roomIndexById, Math.max(roomId + 1, oldLength * 2));
+            Arrays.fill(roomIndexById, oldLength, roomIndexById.length, -1);
+        }
+        if (rooms == roomCapacity) {
+            int maxRooms = Integer.MAX_VALUE / (days * CELL_BYTES);
+            if (roomCapacity >= maxRooms) {
+                throw new IllegalStateException("Occupancy calendar is full: " + roomCapacity + " rooms x " + days + " days");
+            }
+            allocate((int) Math.min((long) roomCapacity * 2, maxRooms));
+        }
+        roomIndexById[roomId] = rooms;
+        return rooms++;
+    }
+
+    private int cellOffset(int roomIndex, int day) {
+        return (roomIndex * days + day) * CELL_BYTES;
+    }
+}
@@ -0,0 +1,27 @@
+package collection;
+
+final class IntHashing {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private IntHashing() { }
+
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int capacityFor(int expectedSize) {
+        long needed = Math.max(4, (long) Math.ceil(Math.max(0, expectedSize) / 0.75));
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many entries for an int hash table: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    static int resizeThreshold(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Int hash table is full at capacity " + capacity);
+        }
+        return capacity - (capacity >>> 2);
+    }
+}
@@ -0,0 +1,111 @@
+package controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import model.User;
+import monitoring.FlightRecorderManager;
+import service.RoomAssignmentOptimizer;
+import service.UserService;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+public class AdminController extends BaseController {
+    private static final String BASE_PATH = "/api/admin";
+
+    private final RoomAssignmentOptimizer optimizer;
+
+    public AdminController() {
+        this.optimizer = null;
+    }
+
+    public AdminController(UserService authUserService) {
+        this(authUserService, null);
+    }
+
+    public AdminController(UserService authUserService, RoomAssignmentOptimizer optimizer) {
+        super(authUserService);
+        this.optimizer = optimizer;
+    }
+
+    @Override
+    protected void handleRequest(HttpExchange exchange) throws IOException {
+        User user = authenticateRequest(exchange);
+        if (user == null) {
+            return;
+        }
+
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+
+        logger.info("Received request: " + method + " " + path);
+
+        try {
+            if (!"ADMIN".equals(user.getRole().name())) {
+                sendJsonResponse(exchange, 403, Map.of("error", "Access denied"));
+                return;
+            }
+
+            switch (method) {
+                case "GET":
+                    if (path.matches(BASE_PATH + "/recording/?$")) {
+                        sendJsonResponse(exchange, 200, FlightRecorderManager.status());
+                    } else if (path.matches(BASE_PATH + "/optimizer/?$") && optimizer != null) {
+                        sendJsonResponse(exchange, 200, Map.of("lastRun", optimizer.getLastRun()));
+                    } else {
+                        sendJsonResponse(exchange, 404, Map.of("error", "Endpoint not found"));
+                    }
+                    break;
+
+                case "POST":
+                    if (path.matches(BASE_PATH + "/recording/start/?$")) {
+                        handleStartRecording(exchange);
+                    } else if (path.matches(BASE_PATH + "/recording/stop/?$")) {
+                        handleStopRecording(exchange);
+                    } else if (path.matches(BASE_PATH + "/recording/dump/?$")) {
+                        handleDumpRecording(exchange);
+                    } else if (path.matches(BASE_PATH + "/optimizer/run/?$") && optimizer != null) {
+                        sendJsonResponse(exchange, 200, Map.of("message", "Room assignment optimized", "run", optimizer.run()));
+                    } else {
+                        sendJsonResponse(exchange, 404, Map.of("error", "Endpoint not found"));
+                    }
+                    break;
+
+                default:
+                    sendJsonResponse(exchange, 405, Map.of("error", "Method not allowed"));
+            }
+        } catch (Exception e) {
+            logger.warning("Unexpected error in AdminController: " + e.getMessage());
+            handleException(exchange, e);
+        }
+    }
+
+    private void handleStartRecording(HttpExchange exchange) throws Exception {
+        String query = exchange.getRequestURI().getQuery();
+        String settings = query != null ? parseQueryParams(query).get("settings") : null;
+        try {
+            Map<String, Object> status = FlightRecorderManager.start(settings);
+            sendJsonResponse(exchange, 200, Map.of("message", "Recording started", "recording", status));
+        } catch (IllegalStateException e) {
+            sendJsonResponse(exchange, 409, Map.of("error", e.getMessage()));
+        }
+    }
+
+    private void handleStopRecording(HttpExchange exchange) throws IOException {
+        try {
+            Path file = FlightRecorderManager.stop();
+            sendJsonResponse(exchange, 200, Map.of("message", "Recording stopped", "file", file.toString()));
+        } catch (IllegalStateException e) {
+            sendJsonResponse(exchange, 409, Map.of("error", e.getMessage()));
+        }
+    }
+
+    private void handleDumpRecording(HttpExchange exchange) throws IOException {
+        try {
+            Path file = FlightRecorderManager.dump();
+            sendJsonResponse(exchange, 200, Map.of("message", "Recording dumped", "file", file.toString()));
+        } catch (IllegalStateException e) {
+            sendJsonResponse(exchange, 409, Map.of("error", e.getMessage()));
+        }
+    }
+}
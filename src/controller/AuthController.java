@@ -1,9 +1,11 @@
 package controller;
 
 import com.sun.net.httpserver.HttpExchange;
+import dto.LoginRequest;
 import exception.*;
 import model.User;
 import service.UserService;
+import server.RequestBodies;
 import util.JwtUtil;
 
 import java.io.IOException;
@@ -18,11 +20,12 @@ public class AuthController extends BaseController {
     }
 
     public AuthController(UserService userService) {
+        super(userService);
         this.userService = userService;
     }
 
     @Override
-    public void handle(HttpExchange exchange) throws IOException {
+    protected void handleRequest(HttpExchange exchange) throws IOException {
         String method = exchange.getRequestMethod();
         String path = exchange.getRequestURI().getPath();
 
@@ -52,10 +55,9 @@ public class AuthController extends BaseController {
     }
 
     private void handleLogin(HttpExchange exchange) throws IOException {
-        String body = new String(exchange.getRequestBody().readAllBytes());
-        Map<String, String> data = gson.fromJson(body, Map.class);
-        String email = data.get("email");
-        String password = data.get("password");
+        LoginRequest request = RequestBodies.read(exchange, LoginRequest.class);
+        String email = request == null ? null : request.getEmail();
+        String password = request == null ? null : request.getPassword();
 
         if (email == null || password == null || email.isBlank() || password.isBlank()) {
             logger.warning("Login failed: missing email or password");
@@ -84,8 +86,7 @@ public class AuthController extends BaseController {
     }
 
     private void handleRegister(HttpExchange exchange) throws IOException {
-        String body = new String(exchange.getRequestBody().readAllBytes());
-        User user = gson.fromJson(body, User.class);
+        User user = RequestBodies.read(exchange, User.class);
 
         if (user.getEmail() == null || user.getPasswordHash() == null || user.getEmail().isBlank() || user.getPasswordHash().isBlank()) {
             logger.warning("Registration failed: missing email or password");
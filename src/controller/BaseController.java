@@ -1,34 +1,193 @@
 package controller;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import exception.DAOException;
+import exception.DeadlineExceededException;
 import exception.InvalidStatusException;
 import exception.NotFoundException;
+import exception.PayloadTooLargeException;
+import io.jsonwebtoken.Claims;
+import json.JsonMapper;
 import model.User;
+import monitoring.RequestContext;
+import monitoring.Span;
+import monitoring.Tracer;
+import server.AdmissionController;
+import server.Deadlines;
+import server.IdempotencyStore;
+import server.RateLimiter;
+import server.RequestBodies;
+import server.ResponseCompression;
 import service.UserService;
 import util.JwtUtil;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLTimeoutException;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public abstract class BaseController implements HttpHandler {
+    // HttpExchange attributes are stored on the HttpContext and shared by all of its exchanges, so the token's
+    // claims and the idempotency reservation are held per thread for the duration of handle() instead
+    private static final ThreadLocal<Object> CLAIMS = new ThreadLocal<>();
+    private static final ThreadLocal<IdempotencyStore.Reservation> RESERVATION = new ThreadLocal<>();
+
     protected final Logger logger = Logger.getLogger(getClass().getName());
-    protected final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    protected final Gson gson = JsonMapper.GSON;
+    private final UserService authUserService;
+
+    protected BaseController() {
+        this(new UserService());
+    }
+
+    protected BaseController(UserService authUserService) {
+        this.authUserService = authUserService;
+    }
 
     @Override
-    public abstract void handle(HttpExchange exchange) throws IOException;
+    public void handle(HttpExchange exchange) throws IOException {
+        RequestContext context = RequestContext.begin(exchange.getRequestHeaders().getFirst(RequestContext.REQUEST_ID_HEADER));
+        exchange.getResponseHeaders().set(RequestContext.REQUEST_ID_HEADER, context.getRequestId());
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        context.setTimeoutMillis(Deadlines.timeoutMillis(method, path, exchange.getRequestHeaders().getFirst(Deadlines.TIMEOUT_HEADER)));
+        Span span = Tracer.span(getClass().getSimpleName() + " " + method + " " + path);
+        try {
+            if (!checkRateLimit(exchange, method, path)) {
+                return;
+            }
+            if (!beginIdempotentRequest(exchange, method, path)) {
+                return;
+            }
+            AdmissionController.Priority priority = AdmissionController.classify(method, path);
+            if (priority == null) {
+                handleRequest(exchange);
+                return;
+            }
+            AdmissionController admission = AdmissionController.shared();
+            AdmissionController.Permit permit = admission.tryAcquire(priority);
+            if (permit == null) {
+                logger.warning("Shedding " + priority + " request: " + method + " " + path);
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(admission.getRetryAfterSeconds()));
+                sendJsonResponse(exchange, 503, Map.of("error", "Server is overloaded, retry later"));
+                return;
+            }
+            try (permit) {
+                handleRequest(exchange);
+            }
+        } finally {
+            span.close();
+            IdempotencyStore.Reservation reservation = RESERVATION.get();
+            if (reservation != null) {
+                RESERVATION.remove();
+                IdempotencyStore.shared().finish(reservation);
+            }
+            CLAIMS.remove();
+            RequestContext.end();
+        }
+    }
+
+    protected abstract void handleRequest(HttpExchange exchange) throws IOException;
+
+    // Routes that honour an Idempotency-Key header; their responses are stored and replayed for repeats
+    protected boolean supportsIdempotencyKey(String method, String path) {
+        return false;
+    }
+
+    // Returns false when the response has already been sent (a replay or a rejected key)
+    private boolean beginIdempotentRequest(HttpExchange exchange, String method, String path) throws IOException {
+        String key = exchange.getRequestHeaders().getFirst(IdempotencyStore.KEY_HEADER);
+        IdempotencyStore store = IdempotencyStore.shared();
+        if (key == null || !store.isEnabled() || !supportsIdempotencyKey(method, path)) {
+            return true;
+        }
+        if (!IdempotencyStore.isValidKey(key)) {
+            sendJsonResponse(exchange, 400, Map.of("error", "Idempotency-Key must be 1-" + IdempotencyStore.MAX_KEY_LENGTH + " printable ASCII characters"));
+            return false;
+        }
+        byte[] body;
+        try {
+            body = RequestBodies.readBytes(exchange);
+        } catch (PayloadTooLargeException e) {
+            handleException(exchange, e);
+            return false;
+        }
+        exchange.setStreams(new ByteArrayInputStream(body), null);
+
+        // Keys are scoped to the caller, so two clients picking the same key never see each other's responses
+        Claims claims = tokenClaims(exchange);
+        String owner = claims != null ? "u:" + JwtUtil.userId(claims) : "a:" + RateLimiter.clientAddress(exchange);
+        IdempotencyStore.Lookup lookup = store.begin(owner + "|" + key, IdempotencyStore.requestHash(method, path, body));
+        switch (lookup.getOutcome()) {
+            case RESERVED:
+                RESERVATION.set(lookup.getReservation());
+                return true;
+            case REPLAY:
+                logger.info("Replaying stored response for Idempotency-Key " + key);
+                exchange.getResponseHeaders().set(IdempotencyStore.REPLAYED_HEADER, "true");
+                sendJsonResponse(exchange, lookup.getRecord().getStatusCode(), lookup.getRecord().getResponseBody());
+                return false;
+            case MISMATCH:
+                logger.warning("Idempotency-Key reused with a different request: " + key);
+                sendJsonResponse(exchange, 422, Map.of("error", "Idempotency-Key was already used for a different request"));
+                return false;
+            default:
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendJsonResponse(exchange, 409, Map.of("error", "A request with this Idempotency-Key is still in progress"));
+                return false;
+        }
+    }
+
+    private boolean checkRateLimit(HttpExchange exchange, String method, String path) throws IOException {
+        RateLimiter limiter = RateLimiter.shared();
+        if (!limiter.isEnabled()) {
+            return true;
+        }
+        Claims claims = exchange.getRequestHeaders().containsKey("Authorization") ? tokenClaims(exchange) : null;
+        RateLimiter.Decision decision = limiter.check(method, path, claims == null ? -1 : JwtUtil.userId(claims), RateLimiter.clientAddress(exchange));
+        if (decision == null) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(decision.getLimit()));
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(decision.getResetSeconds()));
+        if (decision.isAllowed()) {
+            return true;
+        }
+        logger.fine("Rate limited: " + method + " " + path);
+        exchange.getResponseHeaders().set("Retry-After", String.valueOf(decision.getRetryAfterSeconds()));
+        sendJsonResponse(exchange, 429, Map.of("error", "Too many requests"));
+        return false;
+    }
 
     protected void sendJsonResponse(HttpExchange exchange, int statusCode, Object body) throws IOException {
-        String json = (body instanceof String) ? (String) body : gson.toJson(body);
+        String json = (body instanceof String) ? (String) body : JsonMapper.toJson(body);
+        IdempotencyStore.Reservation reservation = RESERVATION.get();
+        if (reservation != null) {
+            reservation.capture(statusCode, json);
+        }
         exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
-        byte[] bytes = json.getBytes();
+        Tracer.currentSpan().attribute("http.status", statusCode);
+        String encoding = ResponseCompression.negotiate(exchange, json.length());
+        if (encoding != null) {
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+            exchange.sendResponseHeaders(statusCode, 0);
+            try (Writer writer = new OutputStreamWriter(ResponseCompression.wrap(exchange.getResponseBody(), encoding), StandardCharsets.UTF_8)) {
+                writer.append(json);
+            }
+            return;
+        }
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
         exchange.sendResponseHeaders(statusCode, bytes.length);
         try(OutputStream os = exchange.getResponseBody()) {
             os.write(bytes);
@@ -36,6 +195,21 @@ public abstract class BaseController implements HttpHandler {
     }
 
     protected void handleException(HttpExchange exchange, Exception e) throws IOException {
+        if (e instanceof PayloadTooLargeException) {
+            logger.warning("Rejected request body: " + e.getMessage());
+            sendJsonResponse(exchange, 413, Map.of("error", e.getMessage()));
+            return;
+        }
+        if (e instanceof JsonSyntaxException) {
+            logger.warning("Rejected malformed request body: " + e.getMessage());
+            sendJsonResponse(exchange, 400, Map.of("error", e.getMessage()));
+            return;
+        }
+        if (e instanceof DeadlineExceededException) {
+            logger.warning(e.getMessage());
+            sendJsonResponse(exchange, 504, Map.of("error", e.getMessage()));
+            return;
+        }
         sendJsonResponse(exchange, 500, Map.of("error", "Internal server error: " + e.getMessage()));
     }
 
@@ -45,6 +219,11 @@ public abstract class BaseController implements HttpHandler {
     }
 
     protected void handleDAOException(HttpExchange exchange, DAOException e) throws IOException {
+        if (e.getCause() instanceof SQLTimeoutException) {
+            logger.warning("Query cancelled at the request deadline: " + e.getMessage());
+            sendJsonResponse(exchange, 504, Map.of("error", "Request deadline exceeded: " + e.getMessage()));
+            return;
+        }
         logger.log(Level.SEVERE, "Database error: " + e.getMessage(), e);
         sendJsonResponse(exchange, 500, Map.of("error", "Database error: " + e.getMessage()));
     }
@@ -86,6 +265,15 @@ public abstract class BaseController implements HttpHandler {
     }
 
     protected User authenticateRequest(HttpExchange exchange) throws IOException {
+        Span span = Tracer.span("authenticate");
+        try {
+            return authenticate(exchange);
+        } finally {
+            span.close();
+        }
+    }
+
+    private User authenticate(HttpExchange exchange) throws IOException {
         String authHeader = exchange.getRequestHeaders().getFirst("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             logger.warning("Missing or invalid Authorization header");
@@ -93,18 +281,17 @@ public abstract class BaseController implements HttpHandler {
             return null;
         }
 
-        String token = authHeader.substring(7);
-        if (!JwtUtil.validateToken(token)) {
+        Claims claims = tokenClaims(exchange);
+        if (claims == null) {
             logger.warning("Invalid or expired JWT token");
             sendJsonResponse(exchange, 401, Map.of("error", "Invalid or expired token"));
             return null;
         }
 
-        String email = JwtUtil.extractEmail(token);
-        UserService userService = new UserService();
+        String email = claims.get("email", String.class);
         User user;
         try {
-            user = userService.getUserByEmail(email);
+            user = authUserService.getUserByEmail(email);
         } catch (NotFoundException e) {
             logger.warning("User not found for token: " + email);
             sendJsonResponse(exchange, 401, Map.of("error", "User not found"));
@@ -120,4 +307,16 @@ public abstract class BaseController implements HttpHandler {
         logger.info("Authenticated user: " + user.getEmail());
         return user;
     }
+
+    // The token is verified once per exchange; rate limiting needs its user id before the controller authenticates
+    private Claims tokenClaims(HttpExchange exchange) {
+        Object cached = CLAIMS.get();
+        if (cached != null) {
+            return cached instanceof Claims ? (Claims) cached : null;
+        }
+        String authHeader = exchange.getRequestHeaders().getFirst("Authorization");
+        Claims claims = authHeader != null && authHeader.startsWith("Bearer ") ? JwtUtil.validClaims(authHeader.substring(7)) : null;
+        CLAIMS.set(claims != null ? claims : Boolean.FALSE);
+        return claims;
+    }
 }
@@ -1,16 +1,30 @@
 package controller;
 
+import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
+import dto.BatchOperation;
+import dto.BatchRequest;
+import dto.BatchResult;
+import dto.BlockAllocationRequest;
+import dto.StatusUpdateRequest;
+import io.github.cdimascio.dotenv.Dotenv;
 import exception.*;
 import model.*;
 import service.BookingService;
+import service.UserService;
+import server.RequestBodies;
+import util.LocalDateAdapter;
 
 import java.io.IOException;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public class BookingController extends BaseController {
     private static final String BASE_PATH = "/api/bookings";
+    private static final Dotenv dotenv = Dotenv.load();
+    private static final int MAX_BATCH_OPERATIONS = Integer.parseInt(dotenv.get("BATCH_MAX_OPERATIONS", "100"));
     private final BookingService bookingService;
 
     public BookingController() {
@@ -21,8 +35,19 @@ public class BookingController extends BaseController {
         this.bookingService = bookingService;
     }
 
+    public BookingController(BookingService bookingService, UserService authUserService) {
+        super(authUserService);
+        this.bookingService = bookingService;
+    }
+
+    @Override
+    protected boolean supportsIdempotencyKey(String method, String path) {
+        return ("POST".equals(method) && path.matches(BASE_PATH + "(/batch|/blocks)?/?$"))
+                || ("PATCH".equals(method) && path.matches(BASE_PATH + "/\\d+/(confirm|checkin|checkout|cancel|status)$"));
+    }
+
     @Override
-    public void handle(HttpExchange exchange) throws IOException {
+    protected void handleRequest(HttpExchange exchange) throws IOException {
         User user = authenticateRequest(exchange);
 
         String method = exchange.getRequestMethod();
@@ -34,7 +59,11 @@ public class BookingController extends BaseController {
         try {
             switch (method) {
                 case "POST":
-                    if (path.matches(BASE_PATH + "/?$")) {
+                    if (path.matches(BASE_PATH + "/batch/?$")) {
+                        handleBatch(exchange, user);
+                    } else if (path.matches(BASE_PATH + "/blocks/?$")) {
+                        handleBlockAllocation(exchange, user);
+                    } else if (path.matches(BASE_PATH + "/?$")) {
                         handleCreate(exchange, user);
                     }
                     break;
@@ -124,10 +153,7 @@ public class BookingController extends BaseController {
 
     private void handleCreate(HttpExchange exchange, User user) throws IOException {
         try {
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            logger.fine("Request body: " + requestBody);
-
-            Booking booking = gson.fromJson(requestBody, Booking.class);
+            Booking booking = RequestBodies.read(exchange, Booking.class);
             bookingService.createBooking(booking);
 
             logger.info("Booking created successfully: ID=" + booking.getId());
@@ -143,6 +169,103 @@ public class BookingController extends BaseController {
         }
     }
 
+    private void handleBatch(HttpExchange exchange, User user) throws IOException {
+        try {
+            BatchRequest request = RequestBodies.read(exchange, BatchRequest.class);
+            List<BatchOperation> operations = request == null ? null : request.getOperations();
+            if (operations == null || operations.isEmpty()) {
+                sendJsonResponse(exchange, 400, Map.of("error", "Batch must contain at least one operation"));
+                return;
+            }
+            if (operations.size() > MAX_BATCH_OPERATIONS) {
+                sendJsonResponse(exchange, 400, Map.of("error", "Batch exceeds " + MAX_BATCH_OPERATIONS + " operations"));
+                return;
+            }
+            String mode = request.getMode() == null ? "atomic" : request.getMode().toLowerCase(Locale.ROOT);
+            if (!"atomic".equals(mode) && !"partial".equals(mode)) {
+                sendJsonResponse(exchange, 400, Map.of("error", "Batch mode must be 'atomic' or 'partial'"));
+                return;
+            }
+
+            List<BatchResult> results = bookingService.executeBatch(operations, "atomic".equals(mode), booking -> canAccessBooking(booking, user));
+            long succeeded = results.stream().filter(BatchResult::isSucceeded).count();
+            boolean committed = "atomic".equals(mode) ? succeeded == results.size() : succeeded > 0;
+            // Only a write that lost to a concurrent change reports 409, and then nothing was written
+            boolean conflicted = results.stream().anyMatch(result -> result.getStatus() == 409);
+            int status = conflicted ? 409 : "atomic".equals(mode) && !committed ? 422 : 200;
+
+            logger.info("Booking batch processed: mode=" + mode + ", operations=" + results.size() + ", succeeded=" + succeeded);
+            sendJsonResponse(exchange, status, Map.of(
+                    "mode", mode,
+                    "committed", committed,
+                    "succeeded", succeeded,
+                    "failed", results.size() - succeeded,
+                    "results", results
+            ));
+
+        } catch (DAOException e) {
+            handleDAOException(exchange, e);
+        }
+    }
+
+    private void handleBlockAllocation(HttpExchange exchange, User user) throws IOException {
+        try {
+            BlockAllocationRequest request = RequestBodies.read(exchange, BlockAllocationRequest.class);
+            if (request == null || request.getGuestId() == null || request.getCheckIn() == null || request.getCheckOut() == null) {
+                sendJsonResponse(exchange, 400, Map.of("error", "guestId, checkIn, checkOut and rooms are required"));
+                return;
+            }
+            if (!"ADMIN".equals(user.getRole().name()) && request.getGuestId().intValue() != user.getId()) {
+                sendJsonResponse(exchange, 403, Map.of("error", "Access denied"));
+                return;
+            }
+            int requested = request.getRooms() == null ? 0 : request.getRooms().values().stream().mapToInt(n -> n == null ? 0 : n).sum();
+            if (requested > MAX_BATCH_OPERATIONS) {
+                sendJsonResponse(exchange, 400, Map.of("error", "Block exceeds " + MAX_BATCH_OPERATIONS + " rooms"));
+                return;
+            }
+
+            Map<Room, Booking> allocation = bookingService.allocateBlock(request.getGuestId(),
+                    LocalDateAdapter.parse(request.getCheckIn()), LocalDateAdapter.parse(request.getCheckOut()),
+                    request.getRooms(), request.getGuestsPerRoom());
+
+            List<Map<String, Object>> assignments = new ArrayList<>(allocation.size());
+            double totalPrice = 0;
+            for (Map.Entry<Room, Booking> entry : allocation.entrySet()) {
+                assignments.add(Map.of(
+                        "roomNumber", entry.getKey().getNumber(),
+                        "roomType", entry.getKey().getType(),
+                        "booking", entry.getValue()
+                ));
+                totalPrice += entry.getValue().getTotalPrice();
+            }
+            logger.info("Block allocated successfully: guestId=" + request.getGuestId() + ", rooms=" + assignments.size());
+            sendJsonResponse(exchange, 201, Map.of(
+                    "message", "Block allocated successfully",
+                    "totalPrice", totalPrice,
+                    "assignments", assignments
+            ));
+
+        } catch (JsonSyntaxException e) {
+            sendJsonResponse(exchange, 400, Map.of("error", e.getMessage()));
+        } catch (InsufficientRoomsException e) {
+            logger.warning("Block allocation failed: " + e.getMessage());
+            sendJsonResponse(exchange, 409, Map.of(
+                    "error", e.getMessage(),
+                    "roomType", e.getRoomType(),
+                    "requested", e.getRequested(),
+                    "available", e.getAvailable()
+            ));
+        } catch (BlockConflictException e) {
+            logger.warning("Block allocation failed: " + e.getMessage());
+            sendJsonResponse(exchange, 409, Map.of("error", e.getMessage()));
+        } catch (BookingException e) {
+            handleValidationError(exchange, e);
+        } catch (DAOException e) {
+            handleDAOException(exchange, e);
+        }
+    }
+
     private void handleUpdate(HttpExchange exchange, User user) throws IOException {
         try {
             if (!"ADMIN".equals(user.getRole().name())) {
@@ -156,10 +279,7 @@ public class BookingController extends BaseController {
                 return;
             }
 
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            logger.fine("Request body: " + requestBody);
-
-            Booking updatedBooking = gson.fromJson(requestBody, Booking.class);
+            Booking updatedBooking = RequestBodies.read(exchange, Booking.class);
 
             updatedBooking.setId(id);
             bookingService.updateBooking(updatedBooking);
@@ -185,11 +305,6 @@ public class BookingController extends BaseController {
             return;
         }
 
-        String requestBody = new String(exchange.getRequestBody().readAllBytes());
-        logger.fine("Request body: " + requestBody);
-
-        Map<String, Object> updates = gson.fromJson(requestBody, Map.class);
-
         try {
             Booking current = bookingService.getBookingById(id);
             if (!canAccessBooking(current, user)) {
@@ -197,27 +312,7 @@ public class BookingController extends BaseController {
                 return;
             }
 
-            if (updates.containsKey("roomId")) {
-                current.setRoomId(((Number) updates.get("roomId")).intValue());
-            }
-            if (updates.containsKey("guestId")) {
-                current.setGuestId(((Number) updates.get("guestId")).intValue());
-            }
-            if (updates.containsKey("checkIn")) {
-                current.setCheckIn(gson.fromJson(gson.toJson(updates.get("checkIn")), Date.class));
-            }
-            if (updates.containsKey("checkOut")) {
-                current.setCheckOut(gson.fromJson(gson.toJson(updates.get("checkOut")), Date.class));
-            }
-            if (updates.containsKey("totalPrice")) {
-                current.setTotalPrice(((Number) updates.get("totalPrice")).doubleValue());
-            }
-            if (updates.containsKey("numGuests")) {
-                current.setNumGuests(((Number) updates.get("numGuests")).intValue());
-            }
-            if (updates.containsKey("status")) {
-                current.setStatus(BookingStatus.valueOf((String) updates.get("status")));
-            }
+            RequestBodies.merge(exchange, current);
 
             bookingService.updateBooking(current);
 
@@ -356,9 +451,7 @@ public class BookingController extends BaseController {
                 sendJsonResponse(exchange, 400, Map.of("error", "Invalid ID"));
                 return;
             }
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            Map<String, Object> body = gson.fromJson(requestBody, Map.class);
-            String newStatus = (String) body.get("status");
+            String newStatus = RequestBodies.read(exchange, StatusUpdateRequest.class).getStatus();
 
             bookingService.updateBookingStatus(id, newStatus);
 
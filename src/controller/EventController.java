@@ -0,0 +1,66 @@
+package controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import model.User;
+import server.EventStream;
+import service.UserService;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class EventController extends BaseController {
+    private static final String BASE_PATH = "/api/events";
+
+    private final EventStream stream;
+
+    public EventController(UserService authUserService) {
+        this(authUserService, EventStream.shared());
+    }
+
+    public EventController(UserService authUserService, EventStream stream) {
+        super(authUserService);
+        this.stream = stream;
+    }
+
+    @Override
+    protected void handleRequest(HttpExchange exchange) throws IOException {
+        User user = authenticateRequest(exchange);
+        if (user == null) {
+            return;
+        }
+
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+
+        logger.info("Received request: " + method + " " + path);
+
+        try {
+            if (!"GET".equals(method)) {
+                sendJsonResponse(exchange, 405, Map.of("error", "Method not allowed"));
+                return;
+            }
+            if (!path.matches(BASE_PATH + "/?$")) {
+                sendJsonResponse(exchange, 404, Map.of("error", "Endpoint not found"));
+                return;
+            }
+            if (!"ADMIN".equals(user.getRole().name())) {
+                sendJsonResponse(exchange, 403, Map.of("error", "Access denied"));
+                return;
+            }
+            if (!stream.isEnabled()) {
+                sendJsonResponse(exchange, 503, Map.of("error", "Event stream is disabled"));
+                return;
+            }
+
+            // The response stays open after this returns; the stream's writer threads own it from here
+            if (!stream.open(exchange, exchange.getRequestHeaders().getFirst(EventStream.LAST_EVENT_ID_HEADER))) {
+                logger.warning("Event stream is at capacity, rejecting " + exchange.getRemoteAddress());
+                exchange.getResponseHeaders().set("Retry-After", "5");
+                sendJsonResponse(exchange, 503, Map.of("error", "Too many event stream connections, retry later"));
+            }
+        } catch (Exception e) {
+            logger.warning("Unexpected error in EventController: " + e.getMessage());
+            handleException(exchange, e);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import exception.*;
 import model.Guest;
 import model.User;
 import service.GuestService;
+import service.UserService;
+import server.RequestBodies;
 
 import java.io.IOException;
 import java.util.Map;
@@ -21,8 +23,13 @@ public class GuestController extends BaseController {
         this.guestService = guestService;
     }
 
+    public GuestController(GuestService guestService, UserService authUserService) {
+        super(authUserService);
+        this.guestService = guestService;
+    }
+
     @Override
-    public void handle(HttpExchange exchange) throws IOException {
+    protected void handleRequest(HttpExchange exchange) throws IOException {
         User user = authenticateRequest(exchange);
 
         String method = exchange.getRequestMethod();
@@ -150,10 +157,7 @@ public class GuestController extends BaseController {
                 return;
             }
 
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            logger.fine("Request body: " + requestBody);
-
-            Guest guest = gson.fromJson(requestBody, Guest.class);
+            Guest guest = RequestBodies.read(exchange, Guest.class);
             guestService.createGuest(guest);
 
             logger.info("Guest created successfully: ID=" + guest.getId());
@@ -180,10 +184,7 @@ public class GuestController extends BaseController {
                 return;
             }
 
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            logger.fine("Request body: " + requestBody);
-
-            Guest updatedGuest = gson.fromJson(requestBody, Guest.class);
+            Guest updatedGuest = RequestBodies.read(exchange, Guest.class);
             updatedGuest.setId(id);
             guestService.updateGuest(updatedGuest);
 
@@ -207,11 +208,6 @@ public class GuestController extends BaseController {
             return;
         }
 
-        String requestBody = new String(exchange.getRequestBody().readAllBytes());
-        logger.fine("Request body: " + requestBody);
-
-        Map<String, Object> updates = gson.fromJson(requestBody, Map.class);
-
         try {
             Guest current = guestService.getGuestById(id);
             if (!canAccessGuest(current, user)) {
@@ -219,18 +215,7 @@ public class GuestController extends BaseController {
                 return;
             }
 
-            if (updates.containsKey("firstName")) {
-                current.setFirstName((String) updates.get("firstName"));
-            }
-            if (updates.containsKey("lastName")) {
-                current.setLastName((String) updates.get("lastName"));
-            }
-            if (updates.containsKey("email")) {
-                current.setEmail((String) updates.get("email"));
-            }
-            if (updates.containsKey("phone")) {
-                current.setPhone((String) updates.get("phone"));
-            }
+            RequestBodies.merge(exchange, current);
 
             guestService.updateGuest(current);
 
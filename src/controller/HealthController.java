@@ -0,0 +1,36 @@
+package controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import monitoring.HealthMonitor;
+
+import java.io.IOException;
+import java.util.Map;
+
+public class HealthController extends BaseController {
+    private static final String BASE_PATH = "/health";
+
+    @Override
+    protected void handleRequest(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+
+        try {
+            if (!"GET".equals(method)) {
+                sendJsonResponse(exchange, 405, Map.of("error", "Method not allowed"));
+                return;
+            }
+
+            if (path.matches(BASE_PATH + "/live/?$")) {
+                sendJsonResponse(exchange, 200, HealthMonitor.liveness());
+            } else if (path.matches(BASE_PATH + "/ready/?$")) {
+                Map<String, Object> readiness = HealthMonitor.readiness();
+                sendJsonResponse(exchange, HealthMonitor.isReady(readiness) ? 200 : 503, readiness);
+            } else {
+                sendJsonResponse(exchange, 404, Map.of("error", "Endpoint not found"));
+            }
+        } catch (Exception e) {
+            logger.warning("Unexpected error in HealthController: " + e.getMessage());
+            handleException(exchange, e);
+        }
+    }
+}
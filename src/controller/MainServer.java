@@ -1,23 +1,152 @@
 package controller;
 
+import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
+import dao.DAOFactory;
+import dao.InMemoryBookingDAO;
+import dao.InMemoryGuestDAO;
+import dao.InMemoryRoomDAO;
+import dao.InMemoryUserDAO;
+import dataset.DaoDatasetSink;
+import dataset.DatasetGenerator;
+import io.github.cdimascio.dotenv.Dotenv;
+import journal.BookingJournal;
+import journal.JournalReplayer;
+import monitoring.HealthMonitor;
+import server.AdmissionController;
+import server.Bulkhead;
+import server.EventStream;
+import server.IdempotencyStore;
+import server.RateLimiter;
+import server.ServerOverflow;
+import snapshot.SnapshotManager;
+import service.BookingService;
+import service.GuestService;
+import service.RoomAssignmentOptimizer;
+import service.RoomService;
+import service.UserService;
 import util.LoggingConfig;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
 
 public class MainServer {
+    private static final Logger logger = Logger.getLogger(MainServer.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+    private static final int PORT = Integer.parseInt(dotenv.get("SERVER_PORT", "8000"));
+
     public static void main(String[] args) throws IOException {
         LoggingConfig.setup();
+        if (DAOFactory.isInMemory()) {
+            restoreInMemoryState();
+        }
+
+        RoomService roomService = new RoomService();
+        GuestService guestService = new GuestService();
+        BookingService bookingService = new BookingService(DAOFactory.bookingDAO(), roomService);
+        UserService userService = new UserService(DAOFactory.userDAO(), guestService);
+        RoomAssignmentOptimizer optimizer = new RoomAssignmentOptimizer(
+                DAOFactory.bookingDAO(), roomService, BookingJournal.shared(),
+                Integer.parseInt(dotenv.get("ROOM_OPTIMIZER_HORIZON_DAYS", "90")),
+                Integer.parseInt(dotenv.get("ROOM_OPTIMIZER_SHORT_GAP_NIGHTS", "2")),
+                Long.parseLong(dotenv.get("ROOM_OPTIMIZER_TIME_BUDGET_MS", "2000"))
+        );
+        if (Boolean.parseBoolean(dotenv.get("ROOM_OPTIMIZER_ENABLED", "false"))) {
+            optimizer.schedule(Long.parseLong(dotenv.get("ROOM_OPTIMIZER_INTERVAL_MINUTES", "30")));
+        }
+        HttpServer server = start(PORT, bookingService, roomService, guestService, userService, optimizer);
+
+        System.out.println("Server started at " + server.getAddress());
+    }
+
+    private static void restoreInMemoryState() throws IOException {
+        BookingJournal journal = BookingJournal.shared();
+        InMemoryBookingDAO bookingDAO = (InMemoryBookingDAO) DAOFactory.bookingStore();
+        SnapshotManager snapshots = new SnapshotManager(
+                Paths.get(dotenv.get("SNAPSHOT_FILE", "snapshot/hotel.snapshot")),
+                (InMemoryRoomDAO) DAOFactory.roomDAO(),
+                (InMemoryGuestDAO) DAOFactory.guestDAO(),
+                (InMemoryUserDAO) DAOFactory.userDAO(),
+                bookingDAO,
+                journal
+        );
+        if (!snapshots.restore()) {
+            seedInMemoryData();
+            if (journal.isEnabled()) {
+                JournalReplayer.rebuild(journal, bookingDAO, 1);
+            }
+        }
+        snapshots.schedule(Long.parseLong(dotenv.get("SNAPSHOT_INTERVAL_SECONDS", "0")));
+    }
 
-        HttpServer server = HttpServer.create(new InetSocketAddress(8000), 0);
-        server.createContext("/api/bookings", new BookingController());
-        server.createContext("/api/rooms", new RoomController());
-        server.createContext("/api/guests", new GuestController());
-        server.createContext("/api/users", new UserController());
-        server.setExecutor(null);
+    private static void seedInMemoryData() throws IOException {
+        int rooms = Integer.parseInt(dotenv.get("MEMORY_SEED_ROOMS", "0"));
+        if (rooms <= 0) {
+            return;
+        }
+        DatasetGenerator generator = new DatasetGenerator(
+                rooms,
+                Integer.parseInt(dotenv.get("MEMORY_SEED_GUESTS", "1000")),
+                90, 180, 0.72,
+                Long.parseLong(dotenv.get("MEMORY_SEED", "42")),
+                LocalDate.now(), 1000,
+                dotenv.get("MEMORY_SEED_PASSWORD", "Guest#2024data")
+        );
+        logger.info("Seeded in-memory DAOs: " + generator.generate(new DaoDatasetSink()));
+    }
+
+    public static HttpServer start(int port, BookingService bookingService, RoomService roomService, GuestService guestService, UserService userService) throws IOException {
+        return start(port, bookingService, roomService, guestService, userService, null);
+    }
+
+    public static HttpServer start(int port, BookingService bookingService, RoomService roomService, GuestService guestService, UserService userService,
+                                   RoomAssignmentOptimizer optimizer) throws IOException {
+        int threads = Integer.parseInt(dotenv.get("SERVER_THREADS", "32"));
+        int queueCapacity = Integer.parseInt(dotenv.get("SERVER_QUEUE_CAPACITY", "500"));
+        ServerOverflow overflow = new ServerOverflow(
+                Integer.parseInt(dotenv.get("SERVER_OVERFLOW_THREADS", "2")),
+                Integer.parseInt(dotenv.get("SERVER_OVERFLOW_QUEUE", "200"))
+        );
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                overflow
+        );
+        HealthMonitor.registerExecutor("http", executor);
+        HealthMonitor.registerLimiter("httpOverflow", overflow::stats);
+        HealthMonitor.registerLimiter("admission", AdmissionController.shared()::stats);
+        HealthMonitor.registerLimiter("rateLimit", RateLimiter.shared()::stats);
+        HealthMonitor.registerCache("idempotencyKeys", IdempotencyStore.shared()::size);
+        HealthMonitor.registerLimiter("eventStream", EventStream.shared()::stats);
+        IdempotencyStore.shared().scheduleCleanup(Long.parseLong(dotenv.get("IDEMPOTENCY_CLEANUP_INTERVAL_MINUTES", "60")));
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/auth", overflow.guard(bulkhead("auth", new AuthController(userService), 6, 50)));
+        server.createContext("/api/bookings", overflow.guard(bulkhead("bookings", new BookingController(bookingService, userService), 16, 100)));
+        server.createContext("/api/rooms", overflow.guard(bulkhead("rooms", new RoomController(roomService, userService), 8, 50)));
+        server.createContext("/api/guests", overflow.guard(bulkhead("guests", new GuestController(guestService, userService), 4, 25)));
+        server.createContext("/api/users", overflow.guard(bulkhead("users", new UserController(userService), 4, 25)));
+        server.createContext("/api/events", overflow.guard(bulkhead("events", new EventController(userService), 2, 25)));
+        server.createContext("/api/admin", overflow.guard(new AdminController(userService, optimizer)));
+        // Not guarded: when the server is saturated, health checks are still answered from the overflow pool
+        server.createContext("/health", new HealthController());
+        server.setExecutor(executor);
         server.start();
+        return server;
+    }
 
-        System.out.println("Server started at " + new InetSocketAddress(8000));
+    private static HttpHandler bulkhead(String name, HttpHandler handler, int defaultThreads, int defaultQueue) {
+        if (!Bulkhead.isEnabled()) {
+            return handler;
+        }
+        Bulkhead bulkhead = Bulkhead.configured(name, handler, defaultThreads, defaultQueue);
+        HealthMonitor.registerLimiter("bulkhead." + name, bulkhead::stats);
+        return bulkhead;
     }
 }
@@ -1,15 +1,19 @@
 package controller;
 
 import com.sun.net.httpserver.HttpExchange;
+import dto.StatusUpdateRequest;
 import exception.*;
 import model.Role;
 import model.Room;
-import model.RoomStatus;
 import model.User;
 import service.RoomService;
+import service.UserService;
+import server.RequestBodies;
 import util.SecurityUtil;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 
 public class RoomController extends BaseController {
@@ -24,8 +28,13 @@ public class RoomController extends BaseController {
         this.roomService = roomService;
     }
 
+    public RoomController(RoomService roomService, UserService authUserService) {
+        super(authUserService);
+        this.roomService = roomService;
+    }
+
     @Override
-    public void handle(HttpExchange exchange) throws IOException {
+    protected void handleRequest(HttpExchange exchange) throws IOException {
         User user = authenticateRequest(exchange);
 
         String method = exchange.getRequestMethod();
@@ -48,7 +57,11 @@ public class RoomController extends BaseController {
                     break;
 
                 case "GET":
-                    if (path.matches(BASE_PATH + "/\\d+$")) {
+                    if (path.matches(BASE_PATH + "/availability/?$")) {
+                        handleAvailability(exchange, query);
+                    } else if (path.matches(BASE_PATH + "/\\d+/calendar/?$")) {
+                        handleCalendar(exchange, query);
+                    } else if (path.matches(BASE_PATH + "/\\d+$")) {
                         handleGetById(exchange);
                     } else {
                         handleGetAll(exchange);
@@ -112,12 +125,60 @@ public class RoomController extends BaseController {
         }
     }
 
-    private void handleCreate(HttpExchange exchange) throws IOException {
+    private void handleAvailability(HttpExchange exchange, String query) throws IOException {
+        if (!roomService.isCalendarEnabled()) {
+            sendJsonResponse(exchange, 501, Map.of("error", "Occupancy calendar is disabled"));
+            return;
+        }
         try {
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            logger.fine("Request body: " + requestBody);
+            Map<String, String> params = parseQueryParams(query == null ? "" : query);
+            LocalDate checkIn = LocalDate.parse(params.getOrDefault("checkIn", ""));
+            LocalDate checkOut = LocalDate.parse(params.getOrDefault("checkOut", ""));
+            if (!checkIn.isBefore(checkOut)) {
+                sendJsonResponse(exchange, 400, Map.of("error", "checkOut must be after checkIn"));
+                return;
+            }
+            sendJsonResponse(exchange, 200, roomService.getAvailableRooms(checkIn, checkOut));
 
-            Room room = gson.fromJson(requestBody, Room.class);
+        } catch (DateTimeParseException e) {
+            sendJsonResponse(exchange, 400, Map.of("error", "checkIn and checkOut must be dates in yyyy-MM-dd format"));
+        } catch (IllegalArgumentException e) {
+            sendJsonResponse(exchange, 400, Map.of("error", e.getMessage()));
+        } catch (DAOException e) {
+            handleDAOException(exchange, e);
+        }
+    }
+
+    private void handleCalendar(HttpExchange exchange, String query) throws IOException {
+        if (!roomService.isCalendarEnabled()) {
+            sendJsonResponse(exchange, 501, Map.of("error", "Occupancy calendar is disabled"));
+            return;
+        }
+        try {
+            int id = extractIdFromPath(exchange.getRequestURI().getPath());
+            Map<String, String> params = parseQueryParams(query == null ? "" : query);
+            LocalDate from = LocalDate.parse(params.getOrDefault("from", LocalDate.now().toString()));
+            LocalDate to = params.containsKey("to") ? LocalDate.parse(params.get("to")) : from.plusDays(30);
+            if (!from.isBefore(to)) {
+                sendJsonResponse(exchange, 400, Map.of("error", "to must be after from"));
+                return;
+            }
+            sendJsonResponse(exchange, 200, roomService.getRoomCalendar(id, from, to));
+
+        } catch (DateTimeParseException e) {
+            sendJsonResponse(exchange, 400, Map.of("error", "from and to must be dates in yyyy-MM-dd format"));
+        } catch (IllegalArgumentException e) {
+            sendJsonResponse(exchange, 400, Map.of("error", e.getMessage()));
+        } catch (NotFoundException e) {
+            handleNotFound(exchange, e);
+        } catch (DAOException e) {
+            handleDAOException(exchange, e);
+        }
+    }
+
+    private void handleCreate(HttpExchange exchange) throws IOException {
+        try {
+            Room room = RequestBodies.read(exchange, Room.class);
             roomService.createRoom(room);
 
             logger.info("Room created successfully: ID=" + room.getId());
@@ -139,10 +200,7 @@ public class RoomController extends BaseController {
                 return;
             }
 
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            logger.fine("Request body: " + requestBody);
-
-            Room updatedRoom = gson.fromJson(requestBody, Room.class);
+            Room updatedRoom = RequestBodies.read(exchange, Room.class);
             updatedRoom.setId(id);
             roomService.updateRoom(updatedRoom);
 
@@ -166,9 +224,7 @@ public class RoomController extends BaseController {
                 sendJsonResponse(exchange, 400, Map.of("error", "Invalid ID"));
                 return;
             }
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            Map<String, String> body = gson.fromJson(requestBody, Map.class);
-            String newStatus = body.get("status");
+            String newStatus = RequestBodies.read(exchange, StatusUpdateRequest.class).getStatus();
 
             roomService.updateRoomStatus(id, newStatus);
 
@@ -192,34 +248,9 @@ public class RoomController extends BaseController {
             return;
         }
 
-        String requestBody = new String(exchange.getRequestBody().readAllBytes());
-        logger.fine("Request body: " + requestBody);
-
-        Map<String, Object> updates = gson.fromJson(requestBody, Map.class);
-
         try {
             Room current = roomService.getRoomById(id);
-            if (updates.containsKey("number")) {
-                current.setNumber((String) updates.get("number"));
-            }
-            if (updates.containsKey("type")) {
-                current.setType((String) updates.get("type"));
-            }
-            if (updates.containsKey("pricePerNight")) {
-                current.setPricePerNight(((Number) updates.get("pricePerNight")).doubleValue());
-            }
-            if (updates.containsKey("extraGuestPricePerNight")) {
-                current.setExtraGuestPricePerNight(((Number) updates.get("extraGuestPricePerNight")).doubleValue());
-            }
-            if (updates.containsKey("capacity")) {
-                current.setCapacity(((Number) updates.get("capacity")).intValue());
-            }
-            if (updates.containsKey("allowedExtraGuests")) {
-                current.setAllowedExtraGuests(((Number) updates.get("allowedExtraGuests")).intValue());
-            }
-            if (updates.containsKey("status")) {
-                current.setStatus(RoomStatus.valueOf((String) updates.get("status")));
-            }
+            RequestBodies.merge(exchange, current);
 
             roomService.updateRoom(current);
 
@@ -2,9 +2,9 @@ package controller;
 
 import com.sun.net.httpserver.HttpExchange;
 import exception.*;
-import model.Role;
 import model.User;
 import service.UserService;
+import server.RequestBodies;
 
 import java.io.IOException;
 import java.util.Map;
@@ -18,11 +18,12 @@ public class UserController extends BaseController {
     }
 
     public UserController(UserService userService) {
+        super(userService);
         this.userService = userService;
     }
 
     @Override
-    public void handle(HttpExchange exchange) throws IOException {
+    protected void handleRequest(HttpExchange exchange) throws IOException {
         User authenticatedUser = authenticateRequest(exchange);
 
         String method = exchange.getRequestMethod();
@@ -144,10 +145,7 @@ public class UserController extends BaseController {
 
     private void handleCreate(HttpExchange exchange, User authenticatedUser) throws IOException {
         try {
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            logger.fine("Request body: " + requestBody);
-
-            User user = gson.fromJson(requestBody, User.class);
+            User user = RequestBodies.read(exchange, User.class);
             userService.createUser(user);
 
             logger.info("User created successfully: ID=" + user.getId());
@@ -176,10 +174,7 @@ public class UserController extends BaseController {
                 return;
             }
 
-            String requestBody = new String(exchange.getRequestBody().readAllBytes());
-            logger.fine("Request body: " + requestBody);
-
-            User updatedUser = gson.fromJson(requestBody, User.class);
+            User updatedUser = RequestBodies.read(exchange, User.class);
             updatedUser.setId(id);
             userService.updateUser(updatedUser);
 
@@ -203,11 +198,6 @@ public class UserController extends BaseController {
             return;
         }
 
-        String requestBody = new String(exchange.getRequestBody().readAllBytes());
-        logger.fine("Request body: " + requestBody);
-
-        Map<String, Object> updates = gson.fromJson(requestBody, Map.class);
-
         try {
             User current = userService.getUserById(id);
             if (!canAccessUser(current, authenticatedUser)) {
@@ -215,30 +205,7 @@ public class UserController extends BaseController {
                 return;
             }
 
-            if (updates.containsKey("guestId")) {
-                current.setGuestId((Integer) updates.get("guestId"));
-            }
-            if (updates.containsKey("firstName")) {
-                current.setFirstName((String) updates.get("firstName"));
-            }
-            if (updates.containsKey("lastName")) {
-                current.setLastName((String) updates.get("lastName"));
-            }
-            if (updates.containsKey("email")) {
-                current.setEmail((String) updates.get("email"));
-            }
-            if (updates.containsKey("passwordHash")) {
-                current.setPasswordHash((String) updates.get("passwordHash"));
-            }
-            if (updates.containsKey("phone")) {
-                current.setPhone((String) updates.get("phone"));
-            }
-            if (updates.containsKey("role")) {
-                current.setRole(Role.valueOf((String) updates.get("role")));
-            }
-            if (updates.containsKey("isActive")) {
-                current.setActive(((Boolean) updates.get("isActive")));
-            }
+            RequestBodies.merge(exchange, current);
 
             userService.updateUser(current);
 
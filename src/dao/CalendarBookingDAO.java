@@ -0,0 +1,162 @@
+package dao;
+
+import calendar.OccupancyCalendar;
+import exception.DAOException;
+import exception.NotFoundException;
+import model.Booking;
+import model.BookingStatus;
+import model.RoomMove;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class CalendarBookingDAO implements BookingDAO {
+    private static final Logger logger = Logger.getLogger(CalendarBookingDAO.class.getName());
+
+    private final BookingDAO delegate;
+    private final OccupancyCalendar calendar;
+    private volatile boolean loaded;
+
+    public CalendarBookingDAO(BookingDAO delegate, OccupancyCalendar calendar) {
+        this.delegate = delegate;
+        this.calendar = calendar;
+    }
+
+    public OccupancyCalendar getCalendar() {
+        ensureLoaded();
+        return calendar;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                long started = System.nanoTime();
+                calendar.clear();
+                for (Booking booking : delegate.getAll()) {
+                    occupy(booking);
+                }
+                loaded = true;
+                logger.info("Loaded occupancy calendar: " + calendar.stats() + ", elapsedMillis=" + (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+    }
+
+    private void occupy(Booking booking) {
+        try {
+            calendar.occupy(booking);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            logger.warning("Skipping booking in occupancy calendar: bookingId=" + booking.getId() + ", reason=" + e.getMessage());
+        }
+    }
+
+    @Override
+    public void insert(Booking booking) throws DAOException {
+        ensureLoaded();
+        delegate.insert(booking);
+        occupy(booking);
+    }
+
+    @Override
+    public void insertAll(List<Booking> bookings) throws DAOException {
+        ensureLoaded();
+        delegate.insertAll(bookings);
+        for (Booking booking : bookings) {
+            if (booking.getId() <= 0) {
+                loaded = false;
+                return;
+            }
+            occupy(booking);
+        }
+    }
+
+    @Override
+    public Booking findById(int id) throws DAOException, NotFoundException {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Booking> getAll() throws DAOException {
+        return delegate.getAll();
+    }
+
+    @Override
+    public List<Booking> getOverlappingBookings(int roomId, LocalDate checkIn, LocalDate checkOut, Integer bookingIdToExclude) throws DAOException {
+        return delegate.getOverlappingBookings(roomId, checkIn, checkOut, bookingIdToExclude);
+    }
+
+    @Override
+    public List<Booking> getOverlappingBookings(Collection<Integer> roomIds, LocalDate checkIn, LocalDate checkOut) throws DAOException {
+        return delegate.getOverlappingBookings(roomIds, checkIn, checkOut);
+    }
+
+    @Override
+    public List<Booking> getBookingsByGuestAndStatus(int guestId, List<BookingStatus> statuses) throws DAOException {
+        return delegate.getBookingsByGuestAndStatus(guestId, statuses);
+    }
+
+    @Override
+    public void update(Booking booking) throws DAOException, NotFoundException {
+        ensureLoaded();
+        delegate.update(booking);
+        occupy(booking);
+    }
+
+    @Override
+    public void updateStatus(int bookingId, BookingStatus newStatus) throws DAOException, NotFoundException {
+        ensureLoaded();
+        delegate.updateStatus(bookingId, newStatus);
+        statusChanged(bookingId, newStatus);
+    }
+
+    @Override
+    public boolean applyBatch(List<Booking> inserts, List<Booking> statusChanges) throws DAOException, NotFoundException {
+        ensureLoaded();
+        if (!delegate.applyBatch(inserts, statusChanges)) {
+            return false;
+        }
+        for (Booking booking : inserts) {
+            occupy(booking);
+        }
+        for (Booking change : statusChanges) {
+            statusChanged(change.getId(), change.getStatus());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean reassignRooms(List<RoomMove> moves) throws DAOException {
+        ensureLoaded();
+        if (!delegate.reassignRooms(moves)) {
+            return false;
+        }
+        for (RoomMove move : moves) {
+            calendar.release(move.getBookingId());
+            try {
+                occupy(delegate.findById(move.getBookingId()));
+            } catch (NotFoundException e) {
+                logger.warning("Booking vanished after room reassignment: bookingId=" + move.getBookingId());
+            }
+        }
+        return true;
+    }
+
+    private void statusChanged(int bookingId, BookingStatus newStatus) throws NotFoundException {
+        if (newStatus == BookingStatus.CANCELLED) {
+            calendar.release(bookingId);
+        } else if (!calendar.contains(bookingId)) {
+            occupy(delegate.findById(bookingId));
+        }
+    }
+
+    @Override
+    public void delete(int id) throws DAOException, NotFoundException {
+        ensureLoaded();
+        delegate.delete(id);
+        calendar.release(id);
+    }
+}
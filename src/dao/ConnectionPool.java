@@ -0,0 +1,184 @@
+package dao;
+
+import exception.DAOException;
+import exception.DeadlineExceededException;
+import monitoring.RequestContext;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class ConnectionPool {
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final Semaphore permits;
+    private final BlockingQueue<Connection> idle;
+
+    public ConnectionPool(String url, String user, String password, int maxSize, long acquireTimeoutMillis) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    public Connection acquire() throws SQLException {
+        return acquire(acquireTimeoutMillis);
+    }
+
+    // For callers with a tighter budget than the pool's timeout, such as the readiness probe
+    public Connection acquire(long timeoutMillis) throws SQLException {
+        long remaining = RequestContext.remainingMillis();
+        if (remaining <= 0) {
+            throw new DeadlineExceededException("Request deadline exceeded before acquiring a database connection");
+        }
+        long waitMillis = Math.min(timeoutMillis, remaining);
+        try {
+            if (!permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS)) {
+                if (waitMillis < timeoutMillis) {
+                    throw new DeadlineExceededException("Request deadline exceeded after " + waitMillis + "ms waiting for a database connection");
+                }
+                throw new DAOException("Timed out after " + timeoutMillis + "ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DAOException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            Connection physical = idle.poll();
+            while (physical != null && physical.isClosed()) {
+                physical = idle.poll();
+            }
+            if (physical == null) {
+                physical = DriverManager.getConnection(url, user, password);
+                logger.fine("Opened new database connection, active=" + getActiveConnections());
+            }
+            return wrap(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(Connection physical) {
+        try {
+            if (physical.isClosed()) {
+                return;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            if (!idle.offer(physical)) {
+                physical.close();
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Discarding broken database connection", e);
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection wrap(Connection physical) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            release(physical);
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || physical.isClosed();
+                    case "createStatement":
+                    case "prepareStatement":
+                    case "prepareCall":
+                        if (closed) {
+                            throw new SQLException("Connection has been returned to the pool");
+                        }
+                        try {
+                            return applyQueryTimeout((Statement) method.invoke(physical, args));
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    default:
+                        if (closed) {
+                            throw new SQLException("Connection has been returned to the pool");
+                        }
+                        try {
+                            return method.invoke(physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    // JDBC query timeouts are whole seconds, so the remaining budget is rounded up
+    private static Statement applyQueryTimeout(Statement statement) throws SQLException {
+        long remaining = RequestContext.remainingMillis();
+        if (remaining == Long.MAX_VALUE) {
+            return statement;
+        }
+        if (remaining <= 0) {
+            statement.close();
+            throw new DeadlineExceededException("Request deadline exceeded before executing a query");
+        }
+        statement.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, (remaining + 999) / 1000));
+        return statement;
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getActiveConnections() {
+        return maxSize - permits.availablePermits();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public double getUtilization() {
+        return (double) getActiveConnections() / maxSize;
+    }
+}
@@ -0,0 +1,99 @@
+package dao;
+
+import calendar.OccupancyCalendar;
+import io.github.cdimascio.dotenv.Dotenv;
+import monitoring.HealthMonitor;
+
+import java.time.LocalDate;
+import java.util.logging.Logger;
+
+public class DAOFactory {
+    private static final Logger logger = Logger.getLogger(DAOFactory.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+
+    public static final String MODE_JDBC = "jdbc";
+    public static final String MODE_MEMORY = "memory";
+
+    private static final String MODE = dotenv.get("DAO_MODE", MODE_JDBC).toLowerCase();
+    private static final boolean CALENDAR_ENABLED = Boolean.parseBoolean(dotenv.get("CALENDAR_ENABLED", "false"));
+
+    private static BookingDAO bookingStore;
+    private static BookingDAO bookingDAO;
+    private static RoomDAO roomDAO;
+    private static GuestDAO guestDAO;
+    private static UserDAO userDAO;
+    private static IdempotencyDAO idempotencyDAO;
+
+    static {
+        if (!MODE_JDBC.equals(MODE) && !MODE_MEMORY.equals(MODE)) {
+            throw new IllegalStateException("Unknown DAO_MODE: " + MODE + " (expected " + MODE_JDBC + " or " + MODE_MEMORY + ")");
+        }
+        logger.info("Using " + MODE + " DAO implementations");
+    }
+
+    public static String getMode() {
+        return MODE;
+    }
+
+    public static boolean isInMemory() {
+        return MODE_MEMORY.equals(MODE);
+    }
+
+    public static synchronized BookingDAO bookingStore() {
+        if (bookingStore == null) {
+            bookingStore = isInMemory() ? new InMemoryBookingDAO() : new JdbcBookingDAO();
+        }
+        return bookingStore;
+    }
+
+    public static synchronized BookingDAO bookingDAO() {
+        if (bookingDAO == null) {
+            if (CALENDAR_ENABLED) {
+                OccupancyCalendar calendar = new OccupancyCalendar(
+                        LocalDate.now().minusDays(Integer.parseInt(dotenv.get("CALENDAR_PAST_DAYS", "365"))).toEpochDay(),
+                        Integer.parseInt(dotenv.get("CALENDAR_DAYS", "1096")),
+                        Integer.parseInt(dotenv.get("CALENDAR_INITIAL_ROOMS", "1024"))
+                );
+                HealthMonitor.registerCache("occupancyCalendar", calendar::trackedBookings);
+                bookingDAO = new CalendarBookingDAO(bookingStore(), calendar);
+            } else {
+                bookingDAO = bookingStore();
+            }
+        }
+        return bookingDAO;
+    }
+
+    public static synchronized OccupancyCalendar occupancyCalendar() {
+        BookingDAO dao = bookingDAO();
+        return dao instanceof CalendarBookingDAO ? ((CalendarBookingDAO) dao).getCalendar() : null;
+    }
+
+    public static synchronized RoomDAO roomDAO() {
+        if (roomDAO == null) {
+            roomDAO = isInMemory() ? new InMemoryRoomDAO() : new JdbcRoomDAO();
+        }
+        return roomDAO;
+    }
+
+    public static synchronized GuestDAO guestDAO() {
+        if (guestDAO == null) {
+            guestDAO = isInMemory() ? new InMemoryGuestDAO() : new JdbcGuestDAO();
+        }
+        return guestDAO;
+    }
+
+    public static synchronized UserDAO userDAO() {
+        if (userDAO == null) {
+            userDAO = isInMemory() ? new InMemoryUserDAO() : new JdbcUserDAO();
+        }
+        return userDAO;
+    }
+
+    // In-memory mode keeps idempotency keys only in the server's own bounded cache
+    public static synchronized IdempotencyDAO idempotencyDAO() {
+        if (idempotencyDAO == null && !isInMemory()) {
+            idempotencyDAO = new JdbcIdempotencyDAO();
+        }
+        return idempotencyDAO;
+    }
+}
@@ -1,29 +1,82 @@
 package dao;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
 import io.github.cdimascio.dotenv.Dotenv;
 
 public class DatabaseConnection {
     private static final Dotenv dotenv = Dotenv.load();
 
-    private static final String URL = dotenv.get("DB_URL");
-    private static final String USER = dotenv.get("DB_USER");
-    private static final String PASSWORD = dotenv.get("DB_PASSWORD");
+    private static final String URL = embeddedUrl(dotenv.get("DB_URL"));
+    private static final String USER = dotenv.get("DB_USER", "");
+    private static final String PASSWORD = dotenv.get("DB_PASSWORD", "");
+    private static final boolean EMBEDDED = URL != null && URL.startsWith("jdbc:h2:");
+    private static final boolean INIT_SCHEMA = Boolean.parseBoolean(dotenv.get("DB_INIT_SCHEMA", String.valueOf(EMBEDDED)));
+    private static final int POOL_SIZE = Integer.parseInt(dotenv.get("DB_POOL_SIZE", "10"));
+    private static final long POOL_TIMEOUT_MS = Long.parseLong(dotenv.get("DB_POOL_TIMEOUT_MS", "5000"));
+
+    private static final ConnectionPool pool = new ConnectionPool(URL, USER, PASSWORD, POOL_SIZE, POOL_TIMEOUT_MS);
+
+    static {
+        if (INIT_SCHEMA) {
+            try (Connection conn = pool.acquire()) {
+                SchemaInitializer.createSchema(conn);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("❌ Schema initialization error: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String embeddedUrl(String url) {
+        if (url == null || !url.startsWith("jdbc:h2:")) {
+            return url;
+        }
+        String upper = url.toUpperCase();
+        StringBuilder result = new StringBuilder(url);
+        if (!upper.contains(";MODE=")) {
+            result.append(";MODE=MySQL");
+        }
+        if (!upper.contains(";DATABASE_TO_LOWER=")) {
+            result.append(";DATABASE_TO_LOWER=TRUE");
+        }
+        if (!upper.contains(";NON_KEYWORDS=")) {
+            result.append(";NON_KEYWORDS=USER");
+        }
+        return result.toString();
+    }
 
     public static Connection getConnection() {
         try {
-            Connection conn = DriverManager.getConnection(URL, USER, PASSWORD);
-            System.out.println("✅ Connected successfully!");
-            return conn;
+            return pool.acquire();
         } catch (SQLException e) {
             System.err.println("❌ Connection error: " + e.getMessage());
             return null;
         }
     }
 
+    public static boolean isEmbedded() {
+        return EMBEDDED;
+    }
+
+    public static ConnectionPool getPool() {
+        return pool;
+    }
+
+    // The wait for a pooled connection counts against the timeout too, so an exhausted pool reports unreachable
+    // within it instead of after DB_POOL_TIMEOUT_MS
+    public static boolean isReachable(int timeoutSeconds) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        try (Connection conn = pool.acquire(TimeUnit.SECONDS.toMillis(timeoutSeconds))) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            return conn.isValid((int) Math.max(1, (remainingMillis + 999) / 1000));
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("❌ Connection error: " + e.getMessage());
+            return false;
+        }
+    }
+
     public static void main(String[] args) {
-        getConnection(); // quick test
+        System.out.println(isReachable(2) ? "✅ Connected successfully!" : "❌ Connection failed"); // quick test
     }
 }
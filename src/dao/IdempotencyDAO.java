@@ -0,0 +1,16 @@
+package dao;
+
+import exception.DAOException;
+import model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyDAO {
+    // Returns null when the key is unknown
+    IdempotencyRecord findByKey(String key) throws DAOException;
+
+    // Returns false when another request already stored the key
+    boolean insert(IdempotencyRecord record) throws DAOException;
+
+    int deleteCreatedBefore(LocalDateTime cutoff) throws DAOException;
+}
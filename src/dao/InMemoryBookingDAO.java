@@ -0,0 +1,313 @@
+package dao;
+
+import collection.IntList;
+import collection.IntLongHashMap;
+import collection.IntObjectHashMap;
+import exception.DAOException;
+import exception.NotFoundException;
+import model.Booking;
+import model.BookingStatus;
+import model.RoomMove;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class InMemoryBookingDAO implements BookingDAO {
+    private static final Comparator<Booking> BY_CHECK_IN = Comparator
+            .comparingInt(Booking::getCheckInDay)
+            .thenComparingInt(Booking::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectHashMap<Booking> bookings = new IntObjectHashMap<>();
+    private final IntObjectHashMap<NavigableSet<Booking>> bookingsByRoom = new IntObjectHashMap<>();
+    private final IntLongHashMap longestStayByRoom = new IntLongHashMap();
+    private final IntObjectHashMap<IntList> bookingIdsByGuest = new IntObjectHashMap<>();
+    private int nextId = 1;
+
+    @Override
+    public void insert(Booking booking) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            booking.setId(nextId++);
+            index(copy(booking));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void insertAll(List<Booking> bookings) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            for (Booking booking : bookings) {
+                insert(booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Booking findById(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                throw new NotFoundException("Failed to find booking by ID=" + id);
+            }
+            return copy(booking);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Booking> getAll() throws DAOException {
+        lock.readLock().lock();
+        try {
+            List<Booking> all = new ArrayList<>(bookings.size());
+            for (int id : bookings.sortedKeys()) {
+                all.add(copy(bookings.get(id)));
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Booking> getOverlappingBookings(int roomId, LocalDate checkIn, LocalDate checkOut, Integer bookingIdToExclude) throws DAOException {
+        int checkInDay = Math.toIntExact(checkIn.toEpochDay());
+        int checkOutDay = Math.toIntExact(checkOut.toEpochDay());
+        lock.readLock().lock();
+        try {
+            NavigableSet<Booking> roomBookings = bookingsByRoom.get(roomId);
+            if (roomBookings == null) {
+                return new ArrayList<>();
+            }
+            long earliestRelevantCheckIn = checkInDay - longestStayByRoom.get(roomId, 0);
+            List<Booking> overlapping = new ArrayList<>();
+            Iterator<Booking> candidates = roomBookings.headSet(key(checkOutDay), false).descendingIterator();
+            while (candidates.hasNext()) {
+                Booking booking = candidates.next();
+                if (booking.getCheckInDay() < earliestRelevantCheckIn) {
+                    break;
+                }
+                if (booking.getCheckOutDay() > checkInDay
+                        && (bookingIdToExclude == null || booking.getId() != bookingIdToExclude)) {
+                    overlapping.add(copy(booking));
+                }
+            }
+            Collections.reverse(overlapping);
+            return overlapping;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Booking> getOverlappingBookings(Collection<Integer> roomIds, LocalDate checkIn, LocalDate checkOut) throws DAOException {
+        lock.readLock().lock();
+        try {
+            List<Booking> overlapping = new ArrayList<>();
+            for (int roomId : roomIds) {
+                overlapping.addAll(getOverlappingBookings(roomId, checkIn, checkOut, null));
+            }
+            return overlapping;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Booking> getBookingsByGuestAndStatus(int guestId, List<BookingStatus> statuses) throws DAOException {
+        if (statuses == null || statuses.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            List<Booking> matching = new ArrayList<>();
+            IntList ids = bookingIdsByGuest.get(guestId);
+            for (int i = 0; ids != null && i < ids.size(); i++) {
+                Booking booking = bookings.get(ids.get(i));
+                if (statuses.contains(booking.getStatus())) {
+                    matching.add(copy(booking));
+                }
+            }
+            return matching;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Booking booking) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            Booking existing = bookings.get(booking.getId());
+            if (existing == null) {
+                throw new NotFoundException("Booking not found for update: id=" + booking.getId());
+            }
+            unindex(existing);
+            index(copy(booking));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateStatus(int bookingId, BookingStatus newStatus) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            Booking existing = bookings.get(bookingId);
+            if (existing == null) {
+                throw new NotFoundException("Booking not found to update status: id=" + bookingId);
+            }
+            existing.setStatus(newStatus);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean applyBatch(List<Booking> inserts, List<Booking> statusChanges) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            for (Booking change : statusChanges) {
+                if (bookings.get(change.getId()) == null) {
+                    throw new NotFoundException("Booking not found to update status: id=" + change.getId());
+                }
+            }
+            for (int i = 0; i < inserts.size(); i++) {
+                Booking booking = inserts.get(i);
+                if (!getOverlappingBookings(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut(), null).isEmpty()) {
+                    return false;
+                }
+                for (int j = 0; j < i; j++) {
+                    Booking other = inserts.get(j);
+                    if (other.getRoomId() == booking.getRoomId() && other.getCheckIn().isBefore(booking.getCheckOut())
+                            && booking.getCheckIn().isBefore(other.getCheckOut())) {
+                        return false;
+                    }
+                }
+            }
+            for (Booking booking : inserts) {
+                insert(booking);
+            }
+            for (Booking change : statusChanges) {
+                bookings.get(change.getId()).setStatus(change.getStatus());
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean reassignRooms(List<RoomMove> moves) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            for (RoomMove move : moves) {
+                Booking existing = bookings.get(move.getBookingId());
+                if (existing == null || existing.getRoomId() != move.getFromRoomId() || existing.getStatus() != BookingStatus.PENDING) {
+                    return false;
+                }
+            }
+            for (RoomMove move : moves) {
+                moveRoom(move.getBookingId(), move.getToRoomId());
+            }
+            for (RoomMove move : moves) {
+                Booking moved = bookings.get(move.getBookingId());
+                if (!getOverlappingBookings(move.getToRoomId(), moved.getCheckIn(), moved.getCheckOut(), moved.getId()).isEmpty()) {
+                    for (RoomMove undo : moves) {
+                        moveRoom(undo.getBookingId(), undo.getFromRoomId());
+                    }
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void moveRoom(int bookingId, int roomId) {
+        Booking existing = bookings.get(bookingId);
+        Booking moved = copy(existing);
+        moved.setRoomId(roomId);
+        unindex(existing);
+        index(moved);
+    }
+
+    @Override
+    public void delete(int id) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            Booking existing = bookings.get(id);
+            if (existing == null) {
+                throw new NotFoundException("Booking not found for delete: id=" + id);
+            }
+            unindex(existing);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void restore(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            Booking existing = bookings.get(booking.getId());
+            if (existing != null) {
+                unindex(existing);
+            }
+            index(copy(booking));
+            nextId = Math.max(nextId, booking.getId() + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(Booking booking) {
+        bookings.put(booking.getId(), booking);
+        bookingsByRoom.computeIfAbsent(booking.getRoomId(), k -> new TreeSet<>(BY_CHECK_IN)).add(booking);
+        longestStayByRoom.putMax(booking.getRoomId(), booking.getNights());
+        bookingIdsByGuest.computeIfAbsent(booking.getGuestId(), k -> new IntList(2)).add(booking.getId());
+    }
+
+    private void unindex(Booking booking) {
+        bookings.remove(booking.getId());
+        NavigableSet<Booking> roomBookings = bookingsByRoom.get(booking.getRoomId());
+        roomBookings.remove(booking);
+        if (roomBookings.isEmpty()) {
+            bookingsByRoom.remove(booking.getRoomId());
+            longestStayByRoom.remove(booking.getRoomId(), 0);
+        }
+        IntList guestBookings = bookingIdsByGuest.get(booking.getGuestId());
+        guestBookings.removeValue(booking.getId());
+        if (guestBookings.isEmpty()) {
+            bookingIdsByGuest.remove(booking.getGuestId());
+        }
+    }
+
+    private static Booking key(int checkInDay) {
+        Booking key = new Booking();
+        key.setCheckInDay(checkInDay);
+        key.setId(Integer.MIN_VALUE);
+        return key;
+    }
+
+    private static Booking copy(Booking booking) {
+        return new Booking(booking.getId(), booking.getRoomId(), booking.getGuestId(),
+                booking.getCheckInDay(), booking.getCheckOutDay(),
+                booking.getTotalPrice(), booking.getNumGuests(), booking.getStatus());
+    }
+}
@@ -0,0 +1,228 @@
+package dao;
+
+import collection.IntList;
+import collection.IntObjectHashMap;
+import exception.DAOException;
+import exception.NotFoundException;
+import model.Guest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class InMemoryGuestDAO implements GuestDAO {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectHashMap<Guest> guests = new IntObjectHashMap<>();
+    private final Map<String, Integer> guestIdsByEmail = new HashMap<>();
+    private final Map<String, IntList> guestIdsByName = new HashMap<>();
+    private int nextId = 1;
+
+    @Override
+    public void insert(Guest guest) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            if (guestIdsByEmail.containsKey(normalize(guest.getEmail()))) {
+                throw new DAOException("Failed to insert guest with name=" + guest.getFullName() + ": duplicate email");
+            }
+            guest.setId(nextId++);
+            index(copy(guest));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void insertAll(List<Guest> guests) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            for (Guest guest : guests) {
+                insert(guest);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Guest findById(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return copy(get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Guest findByName(String fullName) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            IntList ids = guestIdsByName.get(normalize(fullName));
+            if (ids == null) {
+                throw new NotFoundException("Guest not found with NAME=" + fullName);
+            }
+            return copy(guests.get(ids.min()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Guest findByEmail(String email) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            Integer id = guestIdsByEmail.get(normalize(email));
+            if (id == null) {
+                throw new NotFoundException("Guest not found with EMAIL=" + email);
+            }
+            return copy(guests.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Guest> getAll() throws DAOException {
+        lock.readLock().lock();
+        try {
+            List<Guest> all = new ArrayList<>(guests.size());
+            for (int id : guests.sortedKeys()) {
+                all.add(copy(guests.get(id)));
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String getGuestFirstName(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return get(id).getFirstName();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String getGuestLastName(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return get(id).getLastName();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String getGuestEmail(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return get(id).getEmail();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String getGuestPhone(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return get(id).getPhone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByEmail(String email, Integer ignoreId) throws DAOException {
+        lock.readLock().lock();
+        try {
+            Integer id = guestIdsByEmail.get(normalize(email));
+            return id != null && (ignoreId == null || !id.equals(ignoreId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Guest guest) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            Guest existing = guests.get(guest.getId());
+            if (existing == null) {
+                throw new NotFoundException("No guest found to update with ID=" + guest.getId());
+            }
+            Integer owner = guestIdsByEmail.get(normalize(guest.getEmail()));
+            if (owner != null && owner != guest.getId()) {
+                throw new DAOException("Failed to update guest with ID=" + guest.getId() + ": duplicate email");
+            }
+            unindex(existing);
+            index(copy(guest));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            unindex(get(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void restore(Guest guest) {
+        lock.writeLock().lock();
+        try {
+            Guest existing = guests.get(guest.getId());
+            if (existing != null) {
+                unindex(existing);
+            }
+            index(copy(guest));
+            nextId = Math.max(nextId, guest.getId() + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Guest get(int id) throws NotFoundException {
+        Guest guest = guests.get(id);
+        if (guest == null) {
+            throw new NotFoundException("Guest not found with ID=" + id);
+        }
+        return guest;
+    }
+
+    private void index(Guest guest) {
+        guests.put(guest.getId(), guest);
+        guestIdsByEmail.put(normalize(guest.getEmail()), guest.getId());
+        guestIdsByName.computeIfAbsent(normalize(guest.getFullName()), k -> new IntList(1)).add(guest.getId());
+    }
+
+    private void unindex(Guest guest) {
+        guests.remove(guest.getId());
+        guestIdsByEmail.remove(normalize(guest.getEmail()));
+        String name = normalize(guest.getFullName());
+        IntList ids = guestIdsByName.get(name);
+        ids.removeValue(guest.getId());
+        if (ids.isEmpty()) {
+            guestIdsByName.remove(name);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Guest copy(Guest guest) {
+        return new Guest(guest.getId(), guest.getFirstName(), guest.getLastName(), guest.getEmail(), guest.getPhone());
+    }
+}
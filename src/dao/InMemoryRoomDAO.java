@@ -0,0 +1,199 @@
+package dao;
+
+import collection.IntObjectHashMap;
+import exception.DAOException;
+import exception.NotFoundException;
+import model.Room;
+import model.RoomStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class InMemoryRoomDAO implements RoomDAO {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectHashMap<Room> rooms = new IntObjectHashMap<>();
+    private final Map<String, Integer> roomIdsByNumber = new HashMap<>();
+    private int nextId = 1;
+
+    @Override
+    public void insert(Room room) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            if (roomIdsByNumber.containsKey(room.getNumber())) {
+                throw new DAOException("Failed to insert room with number=" + room.getNumber() + ": duplicate number");
+            }
+            room.setId(nextId++);
+            index(copy(room));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void insertAll(List<Room> rooms) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            for (Room room : rooms) {
+                insert(room);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Room findById(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return copy(get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Room findByNumber(String number) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            Integer id = roomIdsByNumber.get(number);
+            if (id == null) {
+                throw new NotFoundException("Room not found with number=" + number);
+            }
+            return copy(rooms.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Room> getAll() throws DAOException {
+        lock.readLock().lock();
+        try {
+            List<Room> all = new ArrayList<>(rooms.size());
+            for (int id : rooms.sortedKeys()) {
+                all.add(copy(rooms.get(id)));
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double getRoomPricePerNight(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return get(id).getPricePerNight();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double getRoomExtraGuestPricePerNight(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return get(id).getExtraGuestPricePerNight();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getRoomCapacity(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return get(id).getCapacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int getRoomAllowedExtraGuests(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return get(id).getAllowedExtraGuests();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Room room) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            Room existing = rooms.get(room.getId());
+            if (existing == null) {
+                throw new NotFoundException("No room found to update with ID=" + room.getId());
+            }
+            Integer owner = roomIdsByNumber.get(room.getNumber());
+            if (owner != null && owner != room.getId()) {
+                throw new DAOException("Failed to update room with ID=" + room.getId() + ": duplicate number=" + room.getNumber());
+            }
+            roomIdsByNumber.remove(existing.getNumber());
+            index(copy(room));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateStatus(int roomId, RoomStatus newStatus) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            get(roomId).setStatus(newStatus);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            Room existing = get(id);
+            rooms.remove(id);
+            roomIdsByNumber.remove(existing.getNumber());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void restore(Room room) {
+        lock.writeLock().lock();
+        try {
+            Room existing = rooms.get(room.getId());
+            if (existing != null) {
+                rooms.remove(existing.getId());
+                roomIdsByNumber.remove(existing.getNumber());
+            }
+            index(copy(room));
+            nextId = Math.max(nextId, room.getId() + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Room get(int id) throws NotFoundException {
+        Room room = rooms.get(id);
+        if (room == null) {
+            throw new NotFoundException("Room not found with ID=" + id);
+        }
+        return room;
+    }
+
+    private void index(Room room) {
+        rooms.put(room.getId(), room);
+        roomIdsByNumber.put(room.getNumber(), room.getId());
+    }
+
+    private static Room copy(Room room) {
+        return new Room(room.getId(), room.getNumber(), room.getType(), room.getPricePerNight(),
+                room.getExtraGuestPricePerNight(), room.getCapacity(), room.getAllowedExtraGuests(), room.getStatus());
+    }
+}
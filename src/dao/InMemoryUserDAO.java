@@ -0,0 +1,189 @@
+package dao;
+
+import collection.IntList;
+import collection.IntObjectHashMap;
+import exception.DAOException;
+import exception.NotFoundException;
+import model.User;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class InMemoryUserDAO implements UserDAO {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntObjectHashMap<User> users = new IntObjectHashMap<>();
+    private final Map<String, Integer> userIdsByEmail = new HashMap<>();
+    private final Map<String, IntList> userIdsByName = new HashMap<>();
+    private int nextId = 1;
+
+    @Override
+    public void insert(User user) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            if (userIdsByEmail.containsKey(normalize(user.getEmail()))) {
+                throw new DAOException("Failed to insert user with name=" + user.getFullName() + ": duplicate email");
+            }
+            user.setId(nextId++);
+            index(copy(user));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void insertAll(List<User> users) throws DAOException {
+        lock.writeLock().lock();
+        try {
+            for (User user : users) {
+                insert(user);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public User findById(int id) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            return copy(get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public User findByName(String name) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            IntList ids = userIdsByName.get(normalize(name));
+            if (ids == null) {
+                throw new NotFoundException("User not found with NAME=" + name);
+            }
+            return copy(users.get(ids.min()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public User findByEmail(String email) throws DAOException, NotFoundException {
+        lock.readLock().lock();
+        try {
+            Integer id = userIdsByEmail.get(normalize(email));
+            if (id == null) {
+                throw new NotFoundException("User not found with EMAIL=" + email);
+            }
+            return copy(users.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> getAll() throws DAOException {
+        lock.readLock().lock();
+        try {
+            List<User> all = new ArrayList<>(users.size());
+            for (int id : users.sortedKeys()) {
+                all.add(copy(users.get(id)));
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByEmail(String email, Integer ignoreId) throws DAOException {
+        lock.readLock().lock();
+        try {
+            Integer id = userIdsByEmail.get(normalize(email));
+            return id != null && (ignoreId == null || !id.equals(ignoreId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(User user) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            User existing = users.get(user.getId());
+            if (existing == null) {
+                throw new NotFoundException("No user found to update with ID=" + user.getId());
+            }
+            Integer owner = userIdsByEmail.get(normalize(user.getEmail()));
+            if (owner != null && !owner.equals(user.getId())) {
+                throw new DAOException("Failed to update user with ID=" + user.getId() + ": duplicate email");
+            }
+            unindex(existing);
+            index(copy(user));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(int id) throws DAOException, NotFoundException {
+        lock.writeLock().lock();
+        try {
+            unindex(get(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void restore(User user) {
+        lock.writeLock().lock();
+        try {
+            User existing = users.get(user.getId());
+            if (existing != null) {
+                unindex(existing);
+            }
+            index(copy(user));
+            nextId = Math.max(nextId, user.getId() + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private User get(int id) throws NotFoundException {
+        User user = users.get(id);
+        if (user == null) {
+            throw new NotFoundException("User not found with ID=" + id);
+        }
+        return user;
+    }
+
+    private void index(User user) {
+        users.put(user.getId(), user);
+        userIdsByEmail.put(normalize(user.getEmail()), user.getId());
+        userIdsByName.computeIfAbsent(normalize(user.getFullName()), k -> new IntList(1)).add(user.getId());
+    }
+
+    private void unindex(User user) {
+        users.remove(user.getId());
+        userIdsByEmail.remove(normalize(user.getEmail()));
+        String name = normalize(user.getFullName());
+        IntList ids = userIdsByName.get(name);
+        ids.removeValue(user.getId());
+        if (ids.isEmpty()) {
+            userIdsByName.remove(name);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getGuestId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getPasswordHash(), user.getPhone(), user.getRole(), user.isActive(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
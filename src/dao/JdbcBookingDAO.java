@@ -0,0 +1,486 @@
+package dao;
+
+import exception.DAOException;
+import exception.NotFoundException;
+import model.Booking;
+import model.BookingStatus;
+import model.RoomMove;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+public class JdbcBookingDAO implements BookingDAO {
+    private static final Logger logger = Logger.getLogger(JdbcBookingDAO.class.getName());
+
+    @Override
+    public void insert(Booking booking) throws DAOException {
+        String sql = "INSERT INTO booking (room_id, guest_id, check_in, check_out, total_price, num_guests, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (QueryProbe probe = QueryProbe.start("booking", "insert");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setInt(1, booking.getRoomId());
+            stmt.setInt(2, booking.getGuestId());
+
+            stmt.setObject(3, booking.getCheckIn());
+            stmt.setObject(4, booking.getCheckOut());
+
+            stmt.setDouble(5, booking.getTotalPrice());
+            stmt.setInt(6, booking.getNumGuests());
+            stmt.setString(7, booking.getStatus().name());
+
+            int rows = stmt.executeUpdate();
+            probe.rows(rows);
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    booking.setId(keys.getInt(1));
+                }
+            }
+            logger.info("Inserted booking: bookingId=" + booking.getId() + ", affectedRows=" + rows);
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error inserting booking for guestId=" + booking.getGuestId(), e);
+            throw new DAOException("Failed to insert booking for guestId=" + booking.getGuestId(), e);
+        }
+    }
+
+    @Override
+    public void insertAll(List<Booking> bookings) throws DAOException {
+        String sql = "INSERT INTO booking (room_id, guest_id, check_in, check_out, total_price, num_guests, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (QueryProbe probe = QueryProbe.start("booking", "insertAll");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            conn.setAutoCommit(false);
+            int rows = 0;
+            for (Booking booking : bookings) {
+                stmt.setInt(1, booking.getRoomId());
+                stmt.setInt(2, booking.getGuestId());
+                stmt.setObject(3, booking.getCheckIn());
+                stmt.setObject(4, booking.getCheckOut());
+                stmt.setDouble(5, booking.getTotalPrice());
+                stmt.setInt(6, booking.getNumGuests());
+                stmt.setString(7, booking.getStatus().name());
+                stmt.addBatch();
+            }
+            for (int count : stmt.executeBatch()) {
+                rows += Math.max(count, 0);
+            }
+            conn.commit();
+            probe.rows(rows);
+            logger.info("Inserted booking batch: size=" + bookings.size() + ", affectedRows=" + rows);
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error inserting booking batch: size=" + bookings.size(), e);
+            throw new DAOException("Failed to insert booking batch of size=" + bookings.size(), e);
+        }
+    }
+
+    @Override
+    public Booking findById(int id) throws DAOException, NotFoundException {
+        String sql = "SELECT * FROM booking WHERE id=?";
+        try (QueryProbe probe = QueryProbe.start("booking", "findById");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    probe.rows(1);
+                    Booking booking = mapResultSetToBooking(rs);
+                    logger.fine("Found booking by ID: " + id);
+                    return booking;
+                } else {
+                    probe.rows(0);
+                    logger.fine("No booking found with ID: " + id);
+                    throw new NotFoundException("Failed to find booking by ID=" + id);
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error finding booking by ID=" + id, e);
+            throw new DAOException("Failed to find booking by ID=" + id, e);
+        }
+    }
+
+    @Override
+    public List<Booking> getAll() throws DAOException {
+        List<Booking> bookings = new ArrayList<>();
+        String sql = "SELECT * FROM booking";
+        logger.fine("Fetching all bookings");
+
+        try (QueryProbe probe = QueryProbe.start("booking", "getAll");
+             Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                bookings.add(mapResultSetToBooking(rs));
+            }
+            probe.rows(bookings.size());
+            logger.info("Fetched all bookings, count=" + bookings.size());
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error fetching all bookings", e);
+            throw new DAOException("Failed to fetch all bookings", e);
+        }
+
+        return bookings;
+    }
+
+    @Override
+    public List<Booking> getOverlappingBookings(int roomId, LocalDate checkIn, LocalDate checkOut, Integer bookingIdToExclude) throws DAOException {
+        List<Booking> overlappingBookings = new ArrayList<>();
+        String sql = "SELECT * FROM booking WHERE room_id=? AND (check_in < ? AND check_out > ?)";
+
+        if (bookingIdToExclude != null) {
+            sql += " AND id != ?";
+        }
+        logger.fine("Fetching overlapping bookings: roomId=" + roomId + ", checkIn=" + checkIn + ", checkOut=" + checkOut + ", ignoreId=" + bookingIdToExclude);
+
+        try (QueryProbe probe = QueryProbe.start("booking", "getOverlappingBookings");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, roomId);
+            stmt.setObject(2, checkOut);
+            stmt.setObject(3, checkIn);
+
+            if (bookingIdToExclude != null) {
+                stmt.setInt(4, bookingIdToExclude);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    overlappingBookings.add(mapResultSetToBooking(rs));
+                }
+                probe.rows(overlappingBookings.size());
+            }
+            logger.info("Fetched overlapping bookings, count=" + overlappingBookings.size());
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error fetching overlapping bookings for roomId=" + roomId, e);
+            throw new DAOException("Failed to fetch overlapping bookings for roomId=" + roomId, e);
+        }
+
+        return overlappingBookings;
+    }
+
+    @Override
+    public List<Booking> getOverlappingBookings(Collection<Integer> roomIds, LocalDate checkIn, LocalDate checkOut) throws DAOException {
+        List<Booking> overlappingBookings = new ArrayList<>();
+        if (roomIds.isEmpty()) {
+            return overlappingBookings;
+        }
+        String placeholders = roomIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        String sql = "SELECT * FROM booking WHERE room_id IN (" + placeholders + ") AND (check_in < ? AND check_out > ?)";
+        logger.fine("Fetching overlapping bookings: rooms=" + roomIds.size() + ", checkIn=" + checkIn + ", checkOut=" + checkOut);
+
+        try (QueryProbe probe = QueryProbe.start("booking", "getOverlappingBookingsForRooms");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (int roomId : roomIds) {
+                stmt.setInt(index++, roomId);
+            }
+            stmt.setObject(index++, checkOut);
+            stmt.setObject(index, checkIn);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    overlappingBookings.add(mapResultSetToBooking(rs));
+                }
+                probe.rows(overlappingBookings.size());
+            }
+            logger.info("Fetched overlapping bookings for " + roomIds.size() + " rooms, count=" + overlappingBookings.size());
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error fetching overlapping bookings for " + roomIds.size() + " rooms", e);
+            throw new DAOException("Failed to fetch overlapping bookings for rooms=" + roomIds, e);
+        }
+
+        return overlappingBookings;
+    }
+
+    @Override
+    public List<Booking> getBookingsByGuestAndStatus(int guestId, List<BookingStatus> statuses) throws DAOException {
+        if (statuses == null || statuses.isEmpty()) {
+            logger.fine("No statuses provided for guestId=" + guestId + ", returning empty list");
+            return Collections.emptyList();
+        }
+
+        List<Booking> bookings = new ArrayList<>();
+        String placeholders = statuses.stream().map(s -> "?").collect(Collectors.joining(","));
+        String sql = "SELECT * FROM booking WHERE guest_id=? AND status IN (" + placeholders + ")";
+        logger.fine("Fetching bookings by guestId=" + guestId + ", statuses=" + statuses);
+
+        try (QueryProbe probe = QueryProbe.start("booking", "getBookingsByGuestAndStatus");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, guestId);
+            for (int i = 0; i < statuses.size(); i++) {
+                stmt.setString(i + 2, statuses.get(i).name());
+            }
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                bookings.add(mapResultSetToBooking(rs));
+            }
+            probe.rows(bookings.size());
+            logger.info("Fetched bookings for guestId=" + guestId + ", count=" + bookings.size());
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error fetching bookings for guestId=" + guestId + " with statuses=" + statuses, e);
+            throw new DAOException("Failed to fetch bookings for guestId=" + guestId + " with statuses=" + statuses, e);
+        }
+
+        return bookings;
+    }
+
+    @Override
+    public void update(Booking booking) throws DAOException, NotFoundException {
+        String sql = "UPDATE booking SET room_id=?, guest_id=?, check_in=?, check_out=?, total_price=?, num_guests=?, status=? WHERE id=?";
+        try (QueryProbe probe = QueryProbe.start("booking", "update");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, booking.getRoomId());
+            stmt.setInt(2, booking.getGuestId());
+            stmt.setObject(3, booking.getCheckIn());
+            stmt.setObject(4, booking.getCheckOut());
+            stmt.setDouble(5, booking.getTotalPrice());
+            stmt.setInt(6, booking.getNumGuests());
+            stmt.setString(7, booking.getStatus().name());
+            stmt.setInt(8, booking.getId());
+
+            int rows = stmt.executeUpdate();
+            probe.rows(rows);
+            if (rows == 0) {
+                logger.warning("No booking found to update: bookingId=" + booking.getId());
+                throw new NotFoundException("Booking not found for update: id=" + booking.getId());
+            }
+            logger.info("Updated booking: bookingId=" + booking.getId() + ", affectedRows=" + rows);
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error updating booking: bookingId=" + booking.getId(), e);
+            throw new DAOException("Failed to update booking with ID=" + booking.getId(), e);
+        }
+    }
+
+    @Override
+    public void updateStatus(int bookingId, BookingStatus newStatus) throws DAOException, NotFoundException {
+        String sql = "UPDATE booking SET status=? WHERE id=?";
+        try (QueryProbe probe = QueryProbe.start("booking", "updateStatus");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, newStatus.name());
+            stmt.setInt(2, bookingId);
+
+            int rows = stmt.executeUpdate();
+            probe.rows(rows);
+            if (rows == 0) {
+                logger.warning("No booking found to update status: bookingId=" + bookingId);
+                throw new NotFoundException("Booking not found to update status: id=" + bookingId);
+            }
+            logger.info("Updated booking status: bookingId=" + bookingId + ", newStatus=" + newStatus + ", affectedRows=" + rows);
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error updating booking status: bookingId=" + bookingId, e);
+            throw new DAOException("Failed to update booking status with ID=" + bookingId, e);
+        }
+    }
+
+    @Override
+    public boolean applyBatch(List<Booking> inserts, List<Booking> statusChanges) throws DAOException, NotFoundException {
+        String insertSql = "INSERT INTO booking (room_id, guest_id, check_in, check_out, total_price, num_guests, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String statusSql = "UPDATE booking SET status=? WHERE id=?";
+        List<Integer> roomIds = inserts.stream().map(Booking::getRoomId).distinct().sorted().collect(Collectors.toList());
+        String roomPlaceholders = roomIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        String placeholders = inserts.stream().map(booking -> "?").collect(Collectors.joining(", "));
+        // Locking the rooms, in id order, makes concurrent batches for the same rooms take turns, so the overlap
+        // check below sees the other batch's committed rows
+        String lockSql = "SELECT id FROM room WHERE id IN (" + roomPlaceholders + ") ORDER BY id FOR UPDATE";
+        String conflictSql = "SELECT COUNT(*) FROM booking a JOIN booking b ON a.room_id = b.room_id AND a.id <> b.id"
+                + " AND a.check_in < b.check_out AND b.check_in < a.check_out WHERE a.id IN (" + placeholders + ")";
+        try (QueryProbe probe = QueryProbe.start("booking", "applyBatch");
+             Connection conn = DatabaseConnection.getConnection()) {
+
+            conn.setAutoCommit(false);
+            int rows = 0;
+            if (!inserts.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                    for (int i = 0; i < roomIds.size(); i++) {
+                        stmt.setInt(i + 1, roomIds.get(i));
+                    }
+                    stmt.executeQuery().close();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Booking booking : inserts) {
+                        stmt.setInt(1, booking.getRoomId());
+                        stmt.setInt(2, booking.getGuestId());
+                        stmt.setObject(3, booking.getCheckIn());
+                        stmt.setObject(4, booking.getCheckOut());
+                        stmt.setDouble(5, booking.getTotalPrice());
+                        stmt.setInt(6, booking.getNumGuests());
+                        stmt.setString(7, booking.getStatus().name());
+                        stmt.addBatch();
+                    }
+                    for (int count : stmt.executeBatch()) {
+                        rows += Math.max(count, 0);
+                    }
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        for (int i = 0; i < inserts.size() && keys.next(); i++) {
+                            inserts.get(i).setId(keys.getInt(1));
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(conflictSql)) {
+                    for (int i = 0; i < inserts.size(); i++) {
+                        stmt.setInt(i + 1, inserts.get(i).getId());
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next() && rs.getInt(1) > 0) {
+                            conn.rollback();
+                            logger.info("Booking batch abandoned, an inserted booking would overlap another booking");
+                            return false;
+                        }
+                    }
+                }
+            }
+            if (!statusChanges.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(statusSql)) {
+                    for (Booking change : statusChanges) {
+                        stmt.setString(1, change.getStatus().name());
+                        stmt.setInt(2, change.getId());
+                        stmt.addBatch();
+                    }
+                    int[] counts = stmt.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] == 0) {
+                            conn.rollback();
+                            logger.warning("No booking found to update status in batch: bookingId=" + statusChanges.get(i).getId());
+                            throw new NotFoundException("Booking not found to update status: id=" + statusChanges.get(i).getId());
+                        }
+                        rows += Math.max(counts[i], 0);
+                    }
+                }
+            }
+            conn.commit();
+            probe.rows(rows);
+            logger.info("Applied booking batch: inserts=" + inserts.size() + ", statusChanges=" + statusChanges.size() + ", affectedRows=" + rows);
+            return true;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error applying booking batch: inserts=" + inserts.size() + ", statusChanges=" + statusChanges.size(), e);
+            throw new DAOException("Failed to apply booking batch", e);
+        }
+    }
+
+    @Override
+    public boolean reassignRooms(List<RoomMove> moves) throws DAOException {
+        if (moves.isEmpty()) {
+            return true;
+        }
+        String moveSql = "UPDATE booking SET room_id=? WHERE id=? AND room_id=? AND status=?";
+        List<Integer> roomIds = moves.stream().map(RoomMove::getToRoomId).distinct().sorted().collect(Collectors.toList());
+        String roomPlaceholders = roomIds.stream().map(id -> "?").collect(Collectors.joining(", "));
+        // Takes the same room locks as applyBatch, so a move and a batch insert into one room cannot both commit
+        String lockSql = "SELECT id FROM room WHERE id IN (" + roomPlaceholders + ") ORDER BY id FOR UPDATE";
+        String placeholders = moves.stream().map(move -> "?").collect(Collectors.joining(", "));
+        String conflictSql = "SELECT COUNT(*) FROM booking a JOIN booking b ON a.room_id = b.room_id AND a.id <> b.id"
+                + " AND a.check_in < b.check_out AND b.check_in < a.check_out WHERE a.id IN (" + placeholders + ")";
+        try (QueryProbe probe = QueryProbe.start("booking", "reassignRooms");
+             Connection conn = DatabaseConnection.getConnection()) {
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                for (int i = 0; i < roomIds.size(); i++) {
+                    stmt.setInt(i + 1, roomIds.get(i));
+                }
+                stmt.executeQuery().close();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(moveSql)) {
+                for (RoomMove move : moves) {
+                    stmt.setInt(1, move.getToRoomId());
+                    stmt.setInt(2, move.getBookingId());
+                    stmt.setInt(3, move.getFromRoomId());
+                    stmt.setString(4, BookingStatus.PENDING.name());
+                    stmt.addBatch();
+                }
+                int[] counts = stmt.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        conn.rollback();
+                        logger.info("Room reassignment abandoned, booking changed concurrently: " + moves.get(i));
+                        return false;
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(conflictSql)) {
+                int index = 1;
+                for (RoomMove move : moves) {
+                    stmt.setInt(index++, move.getBookingId());
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next() && rs.getInt(1) > 0) {
+                        conn.rollback();
+                        logger.info("Room reassignment abandoned, a moved booking would overlap another booking");
+                        return false;
+                    }
+                }
+            }
+            conn.commit();
+            probe.rows(moves.size());
+            logger.info("Reassigned rooms: moves=" + moves.size());
+            return true;
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error reassigning rooms: moves=" + moves.size(), e);
+            throw new DAOException("Failed to reassign rooms for " + moves.size() + " bookings", e);
+        }
+    }
+
+    @Override
+    public void delete(int id) throws DAOException, NotFoundException {
+        String sql = "DELETE FROM booking WHERE id=?";
+        try (QueryProbe probe = QueryProbe.start("booking", "delete");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            int rows = stmt.executeUpdate();
+            probe.rows(rows);
+
+            if (rows == 0) {
+                logger.warning("No booking found to delete: bookingId=" + id);
+                throw new NotFoundException("Booking not found for delete: id=" + id);
+            }
+            logger.info("Deleting booking: bookingId=" + id + ", affectedRows=" + rows);
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error deleting booking: bookingId=" + id, e);
+            throw new DAOException("Failed to delete booking with ID=" + id, e);
+        }
+    }
+
+    private Booking mapResultSetToBooking(ResultSet rs) throws SQLException {
+        return new Booking(
+                rs.getInt("id"),
+                rs.getInt("room_id"),
+                rs.getInt("guest_id"),
+                rs.getObject("check_in", LocalDate.class),
+                rs.getObject("check_out", LocalDate.class),
+                rs.getDouble("total_price"),
+                rs.getInt("num_guests"),
+                BookingStatus.valueOf(rs.getString("status"))
+        );
+    }
+}
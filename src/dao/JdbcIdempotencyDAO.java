@@ -0,0 +1,83 @@
+package dao;
+
+import exception.DAOException;
+import model.IdempotencyRecord;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class JdbcIdempotencyDAO implements IdempotencyDAO {
+    private static final Logger logger = Logger.getLogger(JdbcIdempotencyDAO.class.getName());
+
+    @Override
+    public IdempotencyRecord findByKey(String key) throws DAOException {
+        String sql = "SELECT * FROM idempotency_key WHERE idem_key=?";
+        try (QueryProbe probe = QueryProbe.start("idempotency_key", "findByKey");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    probe.rows(0);
+                    return null;
+                }
+                probe.rows(1);
+                return new IdempotencyRecord(
+                        rs.getString("idem_key"),
+                        rs.getString("request_hash"),
+                        rs.getInt("status_code"),
+                        rs.getString("response_body"),
+                        rs.getTimestamp("created_at").toLocalDateTime()
+                );
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error finding idempotency key", e);
+            throw new DAOException("Error finding idempotency key", e);
+        }
+    }
+
+    @Override
+    public boolean insert(IdempotencyRecord record) throws DAOException {
+        String sql = "INSERT INTO idempotency_key (idem_key, request_hash, status_code, response_body, created_at) VALUES (?, ?, ?, ?, ?)";
+        try (QueryProbe probe = QueryProbe.start("idempotency_key", "insert");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, record.getKey());
+            stmt.setString(2, record.getRequestHash());
+            stmt.setInt(3, record.getStatusCode());
+            stmt.setString(4, record.getResponseBody());
+            stmt.setTimestamp(5, Timestamp.valueOf(record.getCreatedAt()));
+
+            int rows = stmt.executeUpdate();
+            probe.rows(rows);
+            return rows > 0;
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return false;
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error storing idempotency key", e);
+            throw new DAOException("Error storing idempotency key", e);
+        }
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime cutoff) throws DAOException {
+        String sql = "DELETE FROM idempotency_key WHERE created_at < ?";
+        try (QueryProbe probe = QueryProbe.start("idempotency_key", "deleteCreatedBefore");
+             Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            int rows = stmt.executeUpdate();
+            probe.rows(rows);
+            logger.fine("Expired idempotency keys removed: " + rows);
+            return rows;
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error expiring idempotency keys", e);
+            throw new DAOException("Error expiring idempotency keys", e);
+        }
+    }
+}
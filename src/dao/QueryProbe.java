@@ -0,0 +1,34 @@
+package dao;
+
+import monitoring.DatabaseQueryEvent;
+import monitoring.Span;
+import monitoring.Tracer;
+
+public class QueryProbe implements AutoCloseable {
+    private final DatabaseQueryEvent event;
+    private final Span span;
+
+    private QueryProbe(String table, String operation) {
+        this.event = new DatabaseQueryEvent();
+        this.event.table = table;
+        this.event.operation = operation;
+        this.event.begin();
+        this.span = Tracer.span("DAO " + table + "." + operation);
+    }
+
+    public static QueryProbe start(String table, String operation) {
+        return new QueryProbe(table, operation);
+    }
+
+    public void rows(int rows) {
+        event.rows = rows;
+        event.succeeded = true;
+        span.attribute("rows", rows);
+    }
+
+    @Override
+    public void close() {
+        span.close();
+        event.commit();
+    }
+}
@@ -0,0 +1,71 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+public class SchemaInitializer {
+    private static final Logger logger = Logger.getLogger(SchemaInitializer.class.getName());
+
+    private static final String[] STATEMENTS = {
+            "CREATE TABLE IF NOT EXISTS room ("
+                    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "number VARCHAR(10) NOT NULL UNIQUE, "
+                    + "type VARCHAR(20) NOT NULL, "
+                    + "price_per_night DECIMAL(10,2) NOT NULL, "
+                    + "extra_guest_price_per_night DECIMAL(10,2) NOT NULL DEFAULT 0, "
+                    + "capacity INT NOT NULL, "
+                    + "allowed_extra_guests INT NOT NULL DEFAULT 0, "
+                    + "status VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE')",
+            "CREATE TABLE IF NOT EXISTS guest ("
+                    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "first_name VARCHAR(50) NOT NULL, "
+                    + "last_name VARCHAR(50) NOT NULL, "
+                    + "email VARCHAR(100) NOT NULL UNIQUE, "
+                    + "phone VARCHAR(20))",
+            "CREATE TABLE IF NOT EXISTS user ("
+                    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "guest_id INT NULL, "
+                    + "first_name VARCHAR(50) NOT NULL, "
+                    + "last_name VARCHAR(50) NOT NULL, "
+                    + "email VARCHAR(100) NOT NULL UNIQUE, "
+                    + "password_hash VARCHAR(100) NOT NULL, "
+                    + "phone VARCHAR(20), "
+                    + "role VARCHAR(10) NOT NULL, "
+                    + "is_active BOOLEAN NOT NULL DEFAULT TRUE, "
+                    + "created_at TIMESTAMP NOT NULL, "
+                    + "updated_at TIMESTAMP NOT NULL, "
+                    + "FOREIGN KEY (guest_id) REFERENCES guest(id) ON DELETE SET NULL)",
+            "CREATE TABLE IF NOT EXISTS booking ("
+                    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "room_id INT NOT NULL, "
+                    + "guest_id INT NOT NULL, "
+                    + "check_in DATE NOT NULL, "
+                    + "check_out DATE NOT NULL, "
+                    + "total_price DECIMAL(10,2) NOT NULL, "
+                    + "num_guests INT NOT NULL, "
+                    + "status VARCHAR(20) NOT NULL, "
+                    + "FOREIGN KEY (room_id) REFERENCES room(id), "
+                    + "FOREIGN KEY (guest_id) REFERENCES guest(id))",
+            "CREATE INDEX IF NOT EXISTS idx_booking_room_dates ON booking (room_id, check_in, check_out)",
+            "CREATE INDEX IF NOT EXISTS idx_booking_guest_status ON booking (guest_id, status)",
+            "CREATE TABLE IF NOT EXISTS idempotency_key ("
+                    + "idem_key VARCHAR(300) PRIMARY KEY, "
+                    + "request_hash CHAR(64) NOT NULL, "
+                    + "status_code INT NOT NULL, "
+                    + "response_body MEDIUMTEXT NOT NULL, "
+                    + "created_at TIMESTAMP NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_idempotency_created ON idempotency_key (created_at)"
+    };
+
+    public static void createSchema(Connection conn) throws SQLException {
+        long started = System.nanoTime();
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : STATEMENTS) {
+                stmt.execute(sql);
+            }
+        }
+        logger.info("Schema ready in " + (System.nanoTime() - started) / 1_000_000 + "ms");
+    }
+}
@@ -2,258 +2,26 @@ package dao;
 
 import exception.DAOException;
 import exception.NotFoundException;
-import model.*;
+import model.User;
 
-import java.sql.*;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
-public class UserDAO {
-    private static final Logger logger = Logger.getLogger(dao.UserDAO.class.getName());
+public interface UserDAO {
+    void insert(User user) throws DAOException;
 
-    public void insert(User user) throws DAOException {
-        String sql = "INSERT INTO user (guest_id, first_name, last_name, email, password_hash, phone, role, is_active, created_at, updated_at ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    void insertAll(List<User> users) throws DAOException;
 
-            stmt.setInt(1, user.getGuestId());
-            stmt.setString(2, user.getFirstName());
-            stmt.setString(3, user.getLastName());
-            stmt.setString(4, user.getEmail());
-            stmt.setString(5, user.getPasswordHash());
-            stmt.setString(6, user.getPhone());
-            stmt.setString(7, user.getRole().name());
-            stmt.setBoolean(8, user.isActive());
-            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
-            stmt.setTimestamp(9, now);
-            stmt.setTimestamp(10, now);
+    User findById(int id) throws DAOException, NotFoundException;
 
-            int rows = stmt.executeUpdate();
-            if (rows == 0) {
-                throw new DAOException("Failed to insert user: no rows affected");
-            }
-            logger.info("Inserted user: userId=" + user.getId() + ", affectedRows=" + rows);
+    User findByName(String name) throws DAOException, NotFoundException;
 
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error inserting user: userEmail=" + user.getEmail(), e);
-            throw new DAOException("Failed to insert user with email=" + user.getEmail(), e);
-        }
-    }
+    User findByEmail(String email) throws DAOException, NotFoundException;
 
-    public User findById(int id) throws DAOException, NotFoundException {
-        String sql = "SELECT * FROM user WHERE id=?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    List<User> getAll() throws DAOException;
 
-            stmt.setInt(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = mapResultSetToUser(rs);
-                    logger.fine("Found user by ID: " + id);
-                    return user;
-                } else {
-                    logger.fine("User not found with ID=" + id);
-                    throw new NotFoundException("User not found with ID=" + id);
-                }
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error finding user by ID=" + id, e);
-            throw new DAOException("Error finding user by ID=" + id, e);
-        }
-    }
+    boolean existsByEmail(String email, Integer ignoreId) throws DAOException;
 
-    public User findByName(String name) throws DAOException, NotFoundException {
-        String sql = "SELECT * FROM user WHERE name=?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    void update(User user) throws DAOException, NotFoundException;
 
-            stmt.setString(1, name);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = mapResultSetToUser(rs);
-                    logger.fine("Found user by NAME: " + name);
-                    return user;
-                } else{
-                    logger.fine("User not found with NAME=" + name);
-                    throw new NotFoundException("User not found with NAME=" + name);
-                }
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error finding user by NAME=" + name, e);
-            throw new DAOException("Error finding user by NAME=" + name, e);
-        }
-    }
-
-    public User findByEmail(String email) throws DAOException, NotFoundException {
-        String sql = "SELECT * FROM user WHERE email=?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, email);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    User user = mapResultSetToUser(rs);
-                    logger.fine("Found user by EMAIL: " + email);
-                    return user;
-                } else{
-                    logger.fine("User not found with EMAIL=" + email);
-                    throw new NotFoundException("User not found with EMAIL=" + email);
-                }
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error finding user by EMAIL=" + email, e);
-            throw new DAOException("Error finding user by EMAIL=" + email, e);
-        }
-    }
-
-    public List<User> getAll() throws DAOException {
-        List<User> users = new ArrayList<>();
-        String sql = "SELECT * FROM user";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                users.add(mapResultSetToUser(rs));
-            }
-            logger.info("Fetched all users, count=" + users.size());
-
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error fetching all users", e);
-            throw new DAOException("Error fetching all users", e);
-        }
-
-        return users;
-    }
-
-    private <T> T getUserField(int id, String fieldName, Class<T> type) throws DAOException, NotFoundException {
-        String sql = "SELECT " + fieldName + " FROM user WHERE id=?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Object value;
-
-                    if (type == Integer.class) {
-                        value = rs.getInt(fieldName);
-                    } else if (type == String.class) {
-                        value = rs.getString(fieldName);
-                    } else if (type == Boolean.class) {
-                        value = rs.getBoolean(fieldName);
-                    } else if (type == LocalDateTime.class) {
-                        Timestamp ts = rs.getTimestamp(fieldName);
-                        value = ts != null ? ts.toLocalDateTime() : null;
-                    } else {
-                        value = rs.getObject(fieldName);
-                    }
-
-                    logger.info("Retrieved field '" + fieldName + "' for userId=" + id);
-                    return type.cast(value);
-                } else {
-                    logger.warning("No user found with ID=" + id);
-                    throw new NotFoundException("User not found with ID=" + id);
-                }
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Database error retrieving field '" + fieldName + "' for userId=" + id, e);
-            throw new DAOException("Error retrieving field '" + fieldName + "' for user ID=" + id, e);
-        }
-    }
-
-    public boolean existsByEmail(String email, Integer ignoreId) throws DAOException {
-        String sql = "SELECT id FROM user WHERE email=?";
-        if (ignoreId != null) {
-            sql += " AND id<>?";
-        }
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, email);
-            if (ignoreId != null) {
-                stmt.setInt(2, ignoreId);
-            }
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                return rs.next();
-            }
-
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Database error checking email existence: " + email, e);
-            throw new DAOException("Error checking email existence for " + email, e);
-        }
-    }
-
-    public void update(User user) throws DAOException, NotFoundException {
-        String sql = "UPDATE user SET guest_id=?, first_name=?, last_name=?, email=?, passwordHash=?, phone=?, role=?, is_active=?, created_at=?, updated_at=? WHERE id=?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, user.getGuestId());
-            stmt.setString(2, user.getFirstName());
-            stmt.setString(3, user.getLastName());
-            stmt.setString(4, user.getEmail());
-            stmt.setString(5, user.getPasswordHash());
-            stmt.setString(6, user.getPhone());
-            stmt.setString(7, user.getRole().name());
-            stmt.setBoolean(8, user.isActive());
-            stmt.setTimestamp(9, Timestamp.valueOf(user.getCreatedAt()));
-            stmt.setTimestamp(10, Timestamp.valueOf(LocalDateTime.now()));
-
-            int rows = stmt.executeUpdate();
-            if (rows == 0) {
-                logger.warning("No user found to update with ID=" + user.getId());
-                throw new NotFoundException("No user found to update with ID=" + user.getId());
-            }
-            logger.info("Updated user successfully: ID=" + user.getId());
-
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error updating user ID=" + user.getId(), e);
-            throw new DAOException("Error updating user ID=" + user.getId(), e);
-        }
-    }
-
-    public void delete(int id) throws DAOException, NotFoundException {
-        String sql = "DELETE FROM user WHERE id=?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            int rows = stmt.executeUpdate();
-
-            if (rows == 0) {
-                logger.warning("No user found to delete with ID=" + id);
-                throw new NotFoundException("User not found with ID=" + id);
-            }
-            logger.info("Deleted user successfully: ID=" + id);
-
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error deleting user ID=" + id, e);
-            throw new DAOException("Error deleting user ID=" + id, e);
-        }
-    }
-
-    private User mapResultSetToUser(ResultSet rs) throws SQLException {
-        Timestamp createdTs = rs.getTimestamp("created_at");
-        Timestamp updatedTs = rs.getTimestamp("updated_at");
-        return new User(
-                rs.getInt("id"),
-                rs.getInt("guest_id"),
-                rs.getString("first_name"),
-                rs.getString("last_name"),
-                rs.getString("email"),
-                rs.getString("password_hash"),
-                rs.getString("phone"),
-                Role.valueOf(rs.getString("role")),
-                rs.getBoolean("is_active"),
-                createdTs != null ? createdTs.toLocalDateTime() : null,
-                updatedTs != null ? updatedTs.toLocalDateTime() : null
-        );
-    }
-}
\ No newline at end of file
+    void delete(int id) throws DAOException, NotFoundException;
+}
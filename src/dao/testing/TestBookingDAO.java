@@ -1,24 +1,21 @@
 package dao.testing;
 
 import dao.BookingDAO;
+import dao.JdbcBookingDAO;
 import model.Booking;
 import service.BookingService;
 
-import java.util.Calendar;
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.List;
 
 public class TestBookingDAO {
     public static void main(String[] args) throws Exception {
-        BookingDAO dao = new BookingDAO();
+        BookingDAO dao = new JdbcBookingDAO();
         BookingService service = new BookingService();
-        Calendar cal = Calendar.getInstance();
 
-        cal.set(2025, Calendar.NOVEMBER, 5);
-        Date checkIn = cal.getTime();
+        LocalDate checkIn = LocalDate.of(2025, 11, 5);
 
-        cal.set(2025, Calendar.NOVEMBER, 7);
-        Date checkOut = cal.getTime();
+        LocalDate checkOut = LocalDate.of(2025, 11, 7);
 
         /*
         Booking b1 = new Booking(2, 2, checkIn, checkOut, 0.0, 2, "pending");
@@ -1,12 +1,13 @@
 package dao.testing;
 
 import dao.GuestDAO;
+import dao.JdbcGuestDAO;
 import model.Guest;
 import java.util.List;
 
 public class TestGuestDAO {
     public static void main(String[] args) {
-        GuestDAO dao = new GuestDAO();
+        GuestDAO dao = new JdbcGuestDAO();
 
         /*
         Guest g1 = new Guest("José Franco", "Rámirez Córdoba", "josefranco@gmail.com", "0000000001");
@@ -1,12 +1,13 @@
 package dao.testing;
 
 import dao.RoomDAO;
+import dao.JdbcRoomDAO;
 import model.Room;
 import java.util.List;
 
 public class TestRoomDAO {
     public static void main(String[] args) {
-        RoomDAO dao = new RoomDAO();
+        RoomDAO dao = new JdbcRoomDAO();
 
         /*
         Room r1 = new Room("101", "suite", 150.0, 50.0, 2, 2, "available");
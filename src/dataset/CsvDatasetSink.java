@@ -0,0 +1,120 @@
+package dataset;
+
+import model.Booking;
+import model.Guest;
+import model.Room;
+import model.User;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+
+public class CsvDatasetSink implements DatasetSink {
+    private final Path directory;
+    private final BufferedWriter roomWriter;
+    private final BufferedWriter guestWriter;
+    private final BufferedWriter userWriter;
+    private final BufferedWriter bookingWriter;
+    private int nextRoomId = 1;
+    private int nextGuestId = 1;
+    private int nextUserId = 1;
+    private long nextBookingId = 1;
+
+    public CsvDatasetSink(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        roomWriter = open("rooms.csv", "id,number,type,price_per_night,extra_guest_price_per_night,capacity,allowed_extra_guests,status");
+        guestWriter = open("guests.csv", "id,first_name,last_name,email,phone");
+        userWriter = open("users.csv", "id,guest_id,first_name,last_name,email,password_hash,phone,role,is_active,created_at,updated_at");
+        bookingWriter = open("bookings.csv", "id,room_id,guest_id,check_in,check_out,total_price,num_guests,status");
+    }
+
+    private BufferedWriter open(String name, String header) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(directory.resolve(name), StandardCharsets.UTF_8);
+        writer.write(header);
+        writer.newLine();
+        return writer;
+    }
+
+    @Override
+    public void rooms(List<Room> rooms) throws IOException {
+        for (Room room : rooms) {
+            writeRow(roomWriter, nextRoomId++, room.getNumber(), room.getType(), room.getPricePerNight(),
+                    room.getExtraGuestPricePerNight(), room.getCapacity(), room.getAllowedExtraGuests(), room.getStatus().name());
+        }
+    }
+
+    @Override
+    public void guests(List<Guest> guests) throws IOException {
+        for (Guest guest : guests) {
+            writeRow(guestWriter, nextGuestId++, guest.getFirstName(), guest.getLastName(), guest.getEmail(), guest.getPhone());
+        }
+    }
+
+    @Override
+    public void users(List<User> users) throws IOException {
+        for (User user : users) {
+            writeRow(userWriter, nextUserId++, user.getGuestId() == null ? "\\N" : user.getGuestId(), user.getFirstName(),
+                    user.getLastName(), user.getEmail(), user.getPasswordHash(), user.getPhone(), user.getRole().name(),
+                    user.isActive() ? 1 : 0, Timestamp.valueOf(user.getCreatedAt()), Timestamp.valueOf(user.getUpdatedAt()));
+        }
+    }
+
+    @Override
+    public void bookings(List<Booking> bookings) throws IOException {
+        for (Booking booking : bookings) {
+            writeRow(bookingWriter, nextBookingId++, booking.getRoomId(), booking.getGuestId(),
+                    booking.getCheckIn(), booking.getCheckOut(),
+                    String.format(Locale.ROOT, "%.2f", booking.getTotalPrice()), booking.getNumGuests(), booking.getStatus().name());
+        }
+    }
+
+    private void writeRow(BufferedWriter writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(String.valueOf(values[i])));
+        }
+        writer.newLine();
+    }
+
+    private String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public void close() throws IOException {
+        roomWriter.close();
+        guestWriter.close();
+        userWriter.close();
+        bookingWriter.close();
+        writeLoadScript();
+    }
+
+    private void writeLoadScript() throws IOException {
+        StringBuilder sql = new StringBuilder();
+        sql.append("SET FOREIGN_KEY_CHECKS=0;\n");
+        appendLoad(sql, "rooms.csv", "room", "id,number,type,price_per_night,extra_guest_price_per_night,capacity,allowed_extra_guests,status");
+        appendLoad(sql, "guests.csv", "guest", "id,first_name,last_name,email,phone");
+        appendLoad(sql, "users.csv", "user", "id,guest_id,first_name,last_name,email,password_hash,phone,role,is_active,created_at,updated_at");
+        appendLoad(sql, "bookings.csv", "booking", "id,room_id,guest_id,check_in,check_out,total_price,num_guests,status");
+        sql.append("SET FOREIGN_KEY_CHECKS=1;\n");
+        Files.writeString(directory.resolve("load.sql"), sql.toString(), StandardCharsets.UTF_8);
+    }
+
+    private void appendLoad(StringBuilder sql, String file, String table, String columns) {
+        sql.append("LOAD DATA LOCAL INFILE '").append(directory.toAbsolutePath().resolve(file).toString().replace("\\", "/"))
+                .append("' INTO TABLE ").append(table)
+                .append(" FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' LINES TERMINATED BY '\\n' IGNORE 1 LINES (")
+                .append(columns).append(");\n");
+    }
+}
@@ -0,0 +1,56 @@
+package dataset;
+
+import dao.BookingDAO;
+import dao.DAOFactory;
+import dao.GuestDAO;
+import dao.RoomDAO;
+import dao.UserDAO;
+import model.Booking;
+import model.Guest;
+import model.Room;
+import model.User;
+
+import java.util.List;
+
+public class DaoDatasetSink implements DatasetSink {
+    private final RoomDAO roomDAO;
+    private final GuestDAO guestDAO;
+    private final UserDAO userDAO;
+    private final BookingDAO bookingDAO;
+
+    public DaoDatasetSink() {
+        this(DAOFactory.roomDAO(), DAOFactory.guestDAO(), DAOFactory.userDAO(), DAOFactory.bookingDAO());
+    }
+
+    public DaoDatasetSink(RoomDAO roomDAO, GuestDAO guestDAO, UserDAO userDAO, BookingDAO bookingDAO) {
+        this.roomDAO = roomDAO;
+        this.guestDAO = guestDAO;
+        this.userDAO = userDAO;
+        this.bookingDAO = bookingDAO;
+    }
+
+    @Override
+    public void rooms(List<Room> rooms) {
+        roomDAO.insertAll(rooms);
+    }
+
+    @Override
+    public void guests(List<Guest> guests) {
+        guestDAO.insertAll(guests);
+    }
+
+    @Override
+    public void users(List<User> users) {
+        userDAO.insertAll(users);
+    }
+
+    @Override
+    public void bookings(List<Booking> bookings) {
+        bookingDAO.insertAll(bookings);
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
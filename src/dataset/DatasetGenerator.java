@@ -0,0 +1,353 @@
+package dataset;
+
+import model.*;
+import util.SecurityUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class DatasetGenerator {
+    private static final Logger logger = Logger.getLogger(DatasetGenerator.class.getName());
+
+    private static final String[] ROOM_TYPES = {"SINGLE", "DOUBLE", "TWIN", "SUITE", "FAMILY"};
+    private static final int[] ROOM_TYPE_WEIGHTS = {20, 40, 20, 8, 12};
+    private static final int[] ROOM_CAPACITIES = {1, 2, 2, 3, 4};
+    private static final double[] ROOM_BASE_PRICES = {70, 110, 105, 260, 180};
+
+    private static final int[] STAY_NIGHTS = {1, 2, 3, 4, 5, 6, 7, 10, 14};
+    private static final int[] STAY_WEIGHTS = {22, 26, 18, 10, 7, 4, 8, 3, 2};
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda",
+            "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos",
+            "Karen", "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sofia", "Mark", "Emma", "Luis", "Olivia", "Kenji", "Aiko",
+            "Ahmed", "Fatima", "Ivan", "Elena", "Pierre", "Camille", "Lukas", "Hannah"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis",
+            "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore",
+            "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Clark", "Lewis", "Walker", "Young", "Allen",
+            "Tanaka", "Sato", "Haddad", "Petrov", "Dubois", "Muller", "Rossi", "Silva", "Kowalski", "Novak"};
+
+    private final int rooms;
+    private final int guests;
+    private final int historyDays;
+    private final int horizonDays;
+    private final double occupancy;
+    private final long seed;
+    private final LocalDate today;
+    private final int batchSize;
+    private final String password;
+
+    public DatasetGenerator(int rooms, int guests, int historyDays, int horizonDays, double occupancy, long seed,
+                            LocalDate today, int batchSize, String password) {
+        this.rooms = rooms;
+        this.guests = guests;
+        this.historyDays = historyDays;
+        this.horizonDays = horizonDays;
+        this.occupancy = occupancy;
+        this.seed = seed;
+        this.today = today;
+        this.batchSize = batchSize;
+        this.password = password;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rooms = 2000;
+        int guests = 200000;
+        int historyDays = 730;
+        int horizonDays = 365;
+        double occupancy = 0.72;
+        double scale = 1;
+        long seed = 42;
+        LocalDate today = LocalDate.of(2026, 1, 1);
+        int batchSize = 1000;
+        String password = "Guest#2024data";
+        String mode = "csv";
+        String out = "dataset";
+
+        for (String arg : args) {
+            String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            String value = parts.length > 1 ? parts[1] : "";
+            switch (parts[0]) {
+                case "rooms":
+                    rooms = Integer.parseInt(value);
+                    break;
+                case "guests":
+                    guests = Integer.parseInt(value);
+                    break;
+                case "history":
+                    historyDays = Integer.parseInt(value);
+                    break;
+                case "horizon":
+                    horizonDays = Integer.parseInt(value);
+                    break;
+                case "occupancy":
+                    occupancy = Double.parseDouble(value);
+                    break;
+                case "scale":
+                    scale = Double.parseDouble(value);
+                    break;
+                case "seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "today":
+                    today = LocalDate.parse(value);
+                    break;
+                case "batch":
+                    batchSize = Integer.parseInt(value);
+                    break;
+                case "password":
+                    password = value;
+                    break;
+                case "mode":
+                    mode = value;
+                    break;
+                case "out":
+                    out = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        DatasetGenerator generator = new DatasetGenerator((int) Math.round(rooms * scale), (int) Math.round(guests * scale),
+                historyDays, horizonDays, occupancy, seed, today, batchSize, password);
+        try (DatasetSink sink = "dao".equals(mode) ? new DaoDatasetSink() : new CsvDatasetSink(Path.of(out))) {
+            Summary summary = generator.generate(sink);
+            System.out.println(summary);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Dataset generation failed", e);
+            throw e;
+        }
+    }
+
+    public Summary generate(DatasetSink sink) throws IOException {
+        long started = System.nanoTime();
+        Summary summary = new Summary();
+
+        List<Room> roomBatch = new ArrayList<>(batchSize);
+        for (int roomId = 1; roomId <= rooms; roomId++) {
+            Room room = room(roomId);
+            if (currentlyOccupied(room, roomId)) {
+                room.setStatus(RoomStatus.OCCUPIED);
+            }
+            roomBatch.add(room);
+            summary.rooms++;
+            if (roomBatch.size() == batchSize) {
+                sink.rooms(roomBatch);
+                roomBatch.clear();
+            }
+        }
+        if (!roomBatch.isEmpty()) {
+            sink.rooms(roomBatch);
+        }
+
+        String passwordHash = SecurityUtil.hashPassword(password);
+        LocalDateTime created = today.atStartOfDay().minusDays(historyDays);
+        List<User> users = new ArrayList<>(batchSize);
+        users.add(new User(null, "Hotel", "Admin", "admin@hotel.example", passwordHash, "+1-555-0100000",
+                Role.ADMIN, true, created, created));
+        summary.users++;
+
+        List<Guest> guestBatch = new ArrayList<>(batchSize);
+        for (int guestId = 1; guestId <= guests; guestId++) {
+            Guest guest = guest(guestId);
+            guestBatch.add(guest);
+            summary.guests++;
+            LocalDateTime registered = created.plusMinutes(mix(seed, guestId) % ((long) historyDays * 24 * 60 + 1));
+            users.add(new User(guestId, guest.getFirstName(), guest.getLastName(), guest.getEmail(), passwordHash,
+                    guest.getPhone(), Role.GUEST, true, registered, registered));
+            summary.users++;
+            if (guestBatch.size() == batchSize) {
+                sink.guests(guestBatch);
+                guestBatch.clear();
+                sink.users(users);
+                users.clear();
+            }
+        }
+        if (!guestBatch.isEmpty()) {
+            sink.guests(guestBatch);
+        }
+        if (!users.isEmpty()) {
+            sink.users(users);
+        }
+
+        List<Booking> bookingBatch = new ArrayList<>(batchSize);
+        for (int roomId = 1; roomId <= rooms; roomId++) {
+            Room room = room(roomId);
+            for (Booking booking : timeline(room, roomId)) {
+                bookingBatch.add(booking);
+                summary.count(booking.getStatus());
+                if (bookingBatch.size() == batchSize) {
+                    sink.bookings(bookingBatch);
+                    bookingBatch.clear();
+                }
+            }
+        }
+        if (!bookingBatch.isEmpty()) {
+            sink.bookings(bookingBatch);
+        }
+
+        summary.elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return summary;
+    }
+
+    Room room(int roomId) {
+        SplittableRandom random = new SplittableRandom(mix(seed, -roomId));
+        int type = weighted(random, ROOM_TYPE_WEIGHTS);
+        int floor = (roomId - 1) / 40 + 1;
+        String number = floor + String.format("%02d", (roomId - 1) % 40 + 1);
+        double price = Math.round(ROOM_BASE_PRICES[type] * (0.85 + random.nextDouble() * 0.35) + floor * 0.5);
+        double extraPrice = Math.round(price * 0.2);
+        int allowedExtra = ROOM_CAPACITIES[type] >= 3 ? 2 : (random.nextInt(3) == 0 ? 0 : 1);
+        RoomStatus status = random.nextInt(100) == 0 ? RoomStatus.MAINTENANCE : RoomStatus.AVAILABLE;
+        return new Room(number, ROOM_TYPES[type], price, extraPrice, ROOM_CAPACITIES[type], allowedExtra, status);
+    }
+
+    Guest guest(int guestId) {
+        SplittableRandom random = new SplittableRandom(mix(seed, guestId));
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String email = first.toLowerCase() + "." + last.toLowerCase() + guestId + "@guest.example";
+        String phone = String.format("+1-555-%07d", random.nextInt(10_000_000));
+        return new Guest(first, last, email, phone);
+    }
+
+    private boolean currentlyOccupied(Room room, int roomId) {
+        for (Booking booking : timeline(room, roomId)) {
+            if (booking.getStatus() == BookingStatus.CHECKED_IN) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    List<Booking> timeline(Room room, int roomId) {
+        SplittableRandom random = new SplittableRandom(mix(seed, roomId));
+        List<Booking> bookings = new ArrayList<>();
+        if (room.getStatus() == RoomStatus.MAINTENANCE && random.nextBoolean()) {
+            return bookings;
+        }
+
+        double meanStay = 0;
+        int totalWeight = 0;
+        for (int i = 0; i < STAY_NIGHTS.length; i++) {
+            meanStay += STAY_NIGHTS[i] * STAY_WEIGHTS[i];
+            totalWeight += STAY_WEIGHTS[i];
+        }
+        meanStay /= totalWeight;
+        double meanGap = meanStay * (1 - occupancy) / occupancy;
+
+        LocalDate day = today.minusDays(historyDays).plusDays(random.nextInt(7));
+        LocalDate end = today.plusDays(horizonDays);
+        while (day.isBefore(end)) {
+            double season = season(day);
+            int gap = (int) Math.floor(-Math.log(1 - random.nextDouble()) * meanGap / season);
+            LocalDate checkIn = day.plusDays(gap);
+            int nights = STAY_NIGHTS[weighted(random, STAY_WEIGHTS)];
+            if (checkIn.getDayOfWeek().getValue() >= 5 && nights > 3 && random.nextInt(3) == 0) {
+                nights = 2;
+            }
+            LocalDate checkOut = checkIn.plusDays(nights);
+            if (!checkOut.isBefore(end)) {
+                break;
+            }
+
+            int leadDays = (int) Math.min(365, Math.exp(2.8 + random.nextGaussian() * 1.1));
+            if (checkIn.minusDays(leadDays).isAfter(today)) {
+                day = checkOut;
+                continue;
+            }
+
+            int maxGuests = room.getCapacity() + room.getAllowedExtraGuests();
+            int numGuests = Math.min(maxGuests, 1 + (int) (Math.pow(random.nextDouble(), 1.6) * maxGuests));
+            int extraGuests = Math.max(0, numGuests - room.getCapacity());
+            double nightly = room.getPricePerNight() * season + extraGuests * room.getExtraGuestPricePerNight();
+            double totalPrice = Math.round(nightly * nights * 100) / 100.0;
+
+            BookingStatus status = status(random, checkIn, checkOut, leadDays);
+            int guestId = guests == 0 ? 1 : 1 + (int) (Math.pow(random.nextDouble(), 1.4) * guests);
+            bookings.add(new Booking(roomId, guestId, checkIn, checkOut, totalPrice, numGuests, status));
+
+            if (status != BookingStatus.CANCELLED) {
+                day = checkOut;
+            }
+        }
+        return bookings;
+    }
+
+    private BookingStatus status(SplittableRandom random, LocalDate checkIn, LocalDate checkOut, int leadDays) {
+        double cancelProbability = 0.04 + 0.14 * Math.min(leadDays, 180) / 180.0;
+        if (checkIn.isAfter(today)) {
+            if (random.nextDouble() < cancelProbability * 0.5) {
+                return BookingStatus.CANCELLED;
+            }
+            return leadDays < 3 && random.nextInt(3) > 0 ? BookingStatus.PENDING
+                    : random.nextInt(10) < 8 ? BookingStatus.CONFIRMED : BookingStatus.PENDING;
+        }
+        if (random.nextDouble() < cancelProbability) {
+            return BookingStatus.CANCELLED;
+        }
+        return checkOut.isAfter(today) ? BookingStatus.CHECKED_IN : BookingStatus.CHECKED_OUT;
+    }
+
+    private double season(LocalDate day) {
+        double yearly = 1 + 0.3 * Math.sin(2 * Math.PI * (day.getDayOfYear() - 100) / 365.0);
+        double december = day.getMonthValue() == 12 && day.getDayOfMonth() >= 20 ? 1.25 : 1;
+        double weekend = day.getDayOfWeek().getValue() >= 5 ? 1.15 : 1;
+        return yearly * december * weekend;
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static long mix(long seed, long value) {
+        long z = seed * 0x9E3779B97F4A7C15L + value * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (z ^ (z >>> 31)) & Long.MAX_VALUE;
+    }
+
+
+    public static class Summary {
+        long rooms;
+        long guests;
+        long users;
+        long bookings;
+        long elapsedMillis;
+        final long[] byStatus = new long[BookingStatus.values().length];
+
+        void count(BookingStatus status) {
+            bookings++;
+            byStatus[status.ordinal()]++;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append("rooms=").append(rooms).append(", guests=").append(guests).append(", users=").append(users)
+                    .append(", bookings=").append(bookings);
+            for (BookingStatus status : BookingStatus.values()) {
+                text.append(", ").append(status.name()).append('=').append(byStatus[status.ordinal()]);
+            }
+            return text.append(", elapsedMillis=").append(elapsedMillis).toString();
+        }
+    }
+}
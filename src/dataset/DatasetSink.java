@@ -0,0 +1,22 @@
+package dataset;
+
+import model.Booking;
+import model.Guest;
+import model.Room;
+import model.User;
+
+import java.io.IOException;
+import java.util.List;
+
+public interface DatasetSink extends AutoCloseable {
+    void rooms(List<Room> rooms) throws IOException;
+
+    void guests(List<Guest> guests) throws IOException;
+
+    void users(List<User> users) throws IOException;
+
+    void bookings(List<Booking> bookings) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
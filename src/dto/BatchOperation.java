@@ -0,0 +1,38 @@
+package dto;
+
+import model.Booking;
+
+public class BatchOperation {
+    private String op;
+    private Integer bookingId;
+    private Booking booking;
+
+    public BatchOperation() {}
+
+    public BatchOperation(String op, Integer bookingId, Booking booking) {
+        this.op = op;
+        this.bookingId = bookingId;
+        this.booking = booking;
+    }
+
+    public String getOp() {
+        return op;
+    }
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public Integer getBookingId() {
+        return bookingId;
+    }
+    public void setBookingId(Integer bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+}
@@ -0,0 +1,29 @@
+package dto;
+
+import java.util.List;
+
+public class BatchRequest {
+    private String mode;
+    private List<BatchOperation> operations;
+
+    public BatchRequest() {}
+
+    public BatchRequest(String mode, List<BatchOperation> operations) {
+        this.mode = mode;
+        this.operations = operations;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public List<BatchOperation> getOperations() {
+        return operations;
+    }
+    public void setOperations(List<BatchOperation> operations) {
+        this.operations = operations;
+    }
+}
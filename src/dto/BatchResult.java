@@ -0,0 +1,63 @@
+package dto;
+
+import model.Booking;
+
+public class BatchResult {
+    private final int index;
+    private final String op;
+    private int status;
+    private Booking booking;
+    private String error;
+
+    public BatchResult(int index, String op) {
+        this.index = index;
+        this.op = op;
+    }
+
+    public static BatchResult succeeded(int index, String op, int status, Booking booking) {
+        BatchResult result = new BatchResult(index, op);
+        result.status = status;
+        result.booking = booking;
+        return result;
+    }
+
+    public static BatchResult failed(int index, String op, int status, String error) {
+        BatchResult result = new BatchResult(index, op);
+        result.status = status;
+        result.error = error;
+        return result;
+    }
+
+    public boolean isSucceeded() {
+        return status >= 200 && status < 300;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+    public void setBooking(Booking booking) {
+        this.booking = booking;
+    }
+
+    public String getError() {
+        return error;
+    }
+    public void setError(String error) {
+        this.error = error;
+    }
+}
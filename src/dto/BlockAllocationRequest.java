@@ -0,0 +1,48 @@
+package dto;
+
+import java.util.Map;
+
+public class BlockAllocationRequest {
+    private Integer guestId;
+    private String checkIn;
+    private String checkOut;
+    private Map<String, Integer> rooms;
+    private Integer guestsPerRoom;
+
+    public BlockAllocationRequest() {}
+
+    public Integer getGuestId() {
+        return guestId;
+    }
+    public void setGuestId(Integer guestId) {
+        this.guestId = guestId;
+    }
+
+    public String getCheckIn() {
+        return checkIn;
+    }
+    public void setCheckIn(String checkIn) {
+        this.checkIn = checkIn;
+    }
+
+    public String getCheckOut() {
+        return checkOut;
+    }
+    public void setCheckOut(String checkOut) {
+        this.checkOut = checkOut;
+    }
+
+    public Map<String, Integer> getRooms() {
+        return rooms;
+    }
+    public void setRooms(Map<String, Integer> rooms) {
+        this.rooms = rooms;
+    }
+
+    public Integer getGuestsPerRoom() {
+        return guestsPerRoom;
+    }
+    public void setGuestsPerRoom(Integer guestsPerRoom) {
+        this.guestsPerRoom = guestsPerRoom;
+    }
+}
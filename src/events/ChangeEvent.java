@@ -0,0 +1,35 @@
+package events;
+
+import java.nio.charset.StandardCharsets;
+
+// One published change, kept pre-encoded as an SSE frame so fan-out only copies bytes
+public final class ChangeEvent {
+    private final long sequence;
+    private final String id;
+    private final String name;
+    private final byte[] frame;
+
+    ChangeEvent(long sequence, String id, String name, String json) {
+        this.sequence = sequence;
+        this.id = id;
+        this.name = name;
+        this.frame = ("id: " + id + "\nevent: " + name + "\ndata: " + json.replace("\n", "\ndata: ") + "\n\n")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public byte[] getFrame() {
+        return frame;
+    }
+}
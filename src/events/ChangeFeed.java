@@ -0,0 +1,179 @@
+package events;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import journal.BookingEventType;
+import json.JsonMapper;
+import model.Booking;
+import model.BookingStatus;
+import model.Room;
+import model.RoomStatus;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/*
+ * Fans booking and room changes out to live listeners (the SSE stream). Each change gets an id of the form
+ * <streamId>-<sequence>, and the last EVENTS_HISTORY_SIZE changes are kept so a listener that reconnects with
+ * the last id it saw is sent what it missed. The stream id is new on every start, so an id from an earlier
+ * process is reported as a gap instead of silently resuming from the wrong place. Listeners are called under
+ * the feed's lock and must only enqueue.
+ */
+public final class ChangeFeed {
+    private static final Dotenv dotenv = Dotenv.load();
+
+    public interface Listener {
+        void onEvent(ChangeEvent event);
+    }
+
+    private static final ChangeFeed SHARED = new ChangeFeed(
+            Boolean.parseBoolean(dotenv.get("EVENTS_ENABLED", "true")),
+            Integer.parseInt(dotenv.get("EVENTS_HISTORY_SIZE", "2048"))
+    );
+
+    private final boolean enabled;
+    private final int historySize;
+    private final String streamId = Long.toString(System.currentTimeMillis(), 36);
+    private final ArrayDeque<ChangeEvent> history = new ArrayDeque<>();
+    private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+    private long sequence;
+
+    public ChangeFeed(boolean enabled, int historySize) {
+        this.enabled = enabled;
+        this.historySize = historySize;
+    }
+
+    public static ChangeFeed shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void bookingChanged(BookingEventType type, Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        // The lifecycle methods journal the booking as it was read; the event carries the status it now has
+        Booking changed = new Booking(booking.getId(), booking.getRoomId(), booking.getGuestId(), booking.getCheckInDay(),
+                booking.getCheckOutDay(), booking.getTotalPrice(), booking.getNumGuests(), statusAfter(type, booking.getStatus()));
+        publish("booking", data("action", type.name().toLowerCase(Locale.ROOT), "booking", changed));
+    }
+
+    public void bookingStatusChanged(int bookingId, BookingStatus status) {
+        if (enabled) {
+            publish("booking", data("action", "status_changed", "bookingId", bookingId, "status", status.name()));
+        }
+    }
+
+    public void bookingDeleted(int bookingId) {
+        if (enabled) {
+            publish("booking", data("action", "deleted", "bookingId", bookingId));
+        }
+    }
+
+    public void roomChanged(String action, Room room) {
+        if (enabled) {
+            publish("room", data("action", action, "room", room));
+        }
+    }
+
+    public void roomStatusChanged(int roomId, RoomStatus status) {
+        if (enabled) {
+            publish("room", data("action", "status_changed", "roomId", roomId, "status", status.name()));
+        }
+    }
+
+    public void roomDeleted(int roomId) {
+        if (enabled) {
+            publish("room", data("action", "deleted", "roomId", roomId));
+        }
+    }
+
+    /*
+     * Registers the listener and returns the events after lastEventId, which the caller sends before anything
+     * delivered live. No id means no replay. Returns null when the missed events are not all in the history any
+     * more (or the id is from another process); the client then has to reload its lists.
+     */
+    public synchronized List<ChangeEvent> subscribe(Listener listener, String lastEventId) {
+        listeners.add(listener);
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long last;
+        String id = lastEventId.trim();
+        int separator = id.lastIndexOf('-');
+        try {
+            if (separator < 0 || !streamId.equals(id.substring(0, separator))) {
+                return null;
+            }
+            last = Long.parseLong(id.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = history.isEmpty() ? sequence + 1 : history.peekFirst().getSequence();
+        if (last > sequence || last < oldest - 1) {
+            return null;
+        }
+        List<ChangeEvent> missed = new ArrayList<>();
+        for (ChangeEvent event : history) {
+            if (event.getSequence() > last) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+    public void unsubscribe(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized String lastEventId() {
+        return sequence == 0 ? null : streamId + "-" + sequence;
+    }
+
+    private void publish(String name, Map<String, Object> data) {
+        String json = JsonMapper.toJson(data);
+        synchronized (this) {
+            sequence++;
+            ChangeEvent event = new ChangeEvent(sequence, streamId + "-" + sequence, name, json);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Listener listener : listeners) {
+                listener.onEvent(event);
+            }
+        }
+    }
+
+    // Keeps the payload's keys in the order given, with "action" first
+    private static Map<String, Object> data(Object... keysAndValues) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            data.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return data;
+    }
+
+    private static BookingStatus statusAfter(BookingEventType type, BookingStatus current) {
+        switch (type) {
+            case CONFIRMED:
+                return BookingStatus.CONFIRMED;
+            case CHECKED_IN:
+                return BookingStatus.CHECKED_IN;
+            case CHECKED_OUT:
+                return BookingStatus.CHECKED_OUT;
+            case CANCELLED:
+                return BookingStatus.CANCELLED;
+            default:
+                return current;
+        }
+    }
+}
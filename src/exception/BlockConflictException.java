@@ -0,0 +1,7 @@
+package exception;
+
+public class BlockConflictException extends BookingException {
+    public BlockConflictException() {
+        super("Rooms in the block were booked by another request, retry the allocation");
+    }
+}
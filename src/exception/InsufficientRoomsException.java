@@ -0,0 +1,26 @@
+package exception;
+
+public class InsufficientRoomsException extends BookingException {
+    private final String roomType;
+    private final int requested;
+    private final int available;
+
+    public InsufficientRoomsException(String roomType, int requested, int available) {
+        super("Only " + available + " of the " + requested + " requested " + roomType + " rooms are available for the selected dates");
+        this.roomType = roomType;
+        this.requested = requested;
+        this.available = available;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,14 @@
+package exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+    private final long limit;
+
+    public PayloadTooLargeException(long limit) {
+        super("Request body exceeds " + limit + " bytes");
+        this.limit = limit;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,97 @@
+package journal;
+
+import model.Booking;
+import model.BookingStatus;
+
+public class BookingEvent {
+    private final long sequence;
+    private final long timestampMillis;
+    private final BookingEventType type;
+    private final int bookingId;
+    private final int roomId;
+    private final int guestId;
+    private final int checkInDay;
+    private final int checkOutDay;
+    private final double totalPrice;
+    private final int numGuests;
+    private final BookingStatus status;
+    private final String requestId;
+
+    public BookingEvent(long sequence, long timestampMillis, BookingEventType type, int bookingId, int roomId, int guestId,
+                        int checkInDay, int checkOutDay, double totalPrice, int numGuests, BookingStatus status, String requestId) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.bookingId = bookingId;
+        this.roomId = roomId;
+        this.guestId = guestId;
+        this.checkInDay = checkInDay;
+        this.checkOutDay = checkOutDay;
+        this.totalPrice = totalPrice;
+        this.numGuests = numGuests;
+        this.status = status;
+        this.requestId = requestId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public BookingEventType getType() {
+        return type;
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public int getRoomId() {
+        return roomId;
+    }
+
+    public int getGuestId() {
+        return guestId;
+    }
+
+    public int getCheckInDay() {
+        return checkInDay;
+    }
+
+    public int getCheckOutDay() {
+        return checkOutDay;
+    }
+
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+
+    public int getNumGuests() {
+        return numGuests;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public boolean hasBookingState() {
+        return type != BookingEventType.STATUS_CHANGED && type != BookingEventType.DELETED;
+    }
+
+    public Booking toBooking() {
+        return new Booking(bookingId, roomId, guestId, checkInDay, checkOutDay, totalPrice, numGuests, status);
+    }
+
+    @Override
+    public String toString() {
+        return "BookingEvent{seq=" + sequence + ", type=" + type + ", bookingId=" + bookingId + ", status=" + status
+                + ", timestamp=" + timestampMillis + (requestId != null ? ", requestId=" + requestId : "") + "}";
+    }
+}
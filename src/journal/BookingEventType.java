@@ -0,0 +1,13 @@
+package journal;
+
+public enum BookingEventType {
+    CREATED,
+    REPRICED,
+    CONFIRMED,
+    CHECKED_IN,
+    CHECKED_OUT,
+    CANCELLED,
+    STATUS_CHANGED,
+    DELETED,
+    ROOM_REASSIGNED
+}
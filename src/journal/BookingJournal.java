@@ -0,0 +1,434 @@
+package journal;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import model.Booking;
+import model.BookingStatus;
+import monitoring.RequestContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+public class BookingJournal implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(BookingJournal.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+
+    private static final int MAGIC = 0x424B4A31;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int FIXED_PAYLOAD_BYTES = 52;
+    private static final int MAX_REQUEST_ID_BYTES = 128;
+    private static final String SEGMENT_PREFIX = "booking-journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final BookingJournal DISABLED = new BookingJournal();
+    private static BookingJournal shared;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean syncCommit;
+    private final long flushIntervalMillis;
+    private final Object flushSignal = new Object();
+    private final Object durableLock = new Object();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextSequence = 1;
+    private long writtenSequence;
+    private long durableSequence;
+    private boolean flushRequested;
+    private volatile boolean running;
+    private Thread flusher;
+
+    private BookingJournal() {
+        this.directory = null;
+        this.segmentBytes = 0;
+        this.syncCommit = false;
+        this.flushIntervalMillis = 0;
+    }
+
+    public BookingJournal(Path directory, int segmentBytes, boolean syncCommit, long flushIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncCommit = syncCommit;
+        this.flushIntervalMillis = flushIntervalMillis;
+        Files.createDirectories(directory);
+        recover();
+        running = true;
+        flusher = new Thread(this::flushLoop, "booking-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static synchronized BookingJournal shared() {
+        if (shared == null) {
+            if (!Boolean.parseBoolean(dotenv.get("JOURNAL_ENABLED", "false"))) {
+                shared = DISABLED;
+            } else {
+                try {
+                    shared = new BookingJournal(
+                            Paths.get(dotenv.get("JOURNAL_DIR", "journal")),
+                            Integer.parseInt(dotenv.get("JOURNAL_SEGMENT_BYTES", "67108864")),
+                            Boolean.parseBoolean(dotenv.get("JOURNAL_SYNC", "true")),
+                            Long.parseLong(dotenv.get("JOURNAL_FLUSH_INTERVAL_MS", "10"))
+                    );
+                    BookingJournal journal = shared;
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        try {
+                            journal.close();
+                        } catch (IOException e) {
+                            logger.log(Level.WARNING, "Failed to close booking journal", e);
+                        }
+                    }, "booking-journal-shutdown"));
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "Failed to open booking journal, continuing without it", e);
+                    shared = DISABLED;
+                }
+            }
+        }
+        return shared;
+    }
+
+    public static BookingJournal disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public long record(BookingEventType type, Booking booking) {
+        BookingStatus status = booking.getStatus();
+        switch (type) {
+            case CONFIRMED:
+                status = BookingStatus.CONFIRMED;
+                break;
+            case CHECKED_IN:
+                status = BookingStatus.CHECKED_IN;
+                break;
+            case CHECKED_OUT:
+                status = BookingStatus.CHECKED_OUT;
+                break;
+            case CANCELLED:
+                status = BookingStatus.CANCELLED;
+                break;
+            default:
+                break;
+        }
+        return append(type, booking.getId(), booking.getRoomId(), booking.getGuestId(),
+                booking.getCheckInDay(), booking.getCheckOutDay(),
+                booking.getTotalPrice(), booking.getNumGuests(), status);
+    }
+
+    public long recordStatusChange(int bookingId, BookingStatus status) {
+        return append(BookingEventType.STATUS_CHANGED, bookingId, 0, 0, 0, 0, 0, 0, status);
+    }
+
+    public long recordDeletion(int bookingId) {
+        return append(BookingEventType.DELETED, bookingId, 0, 0, 0, 0, 0, 0, null);
+    }
+
+    private long append(BookingEventType type, int bookingId, int roomId, int guestId, int checkInDay, int checkOutDay,
+                        double totalPrice, int numGuests, BookingStatus status) {
+        if (!isEnabled()) {
+            return -1;
+        }
+        byte[] requestId = requestIdBytes();
+        int payloadBytes = FIXED_PAYLOAD_BYTES + requestId.length;
+        long sequence;
+        try {
+            synchronized (this) {
+                if (buffer.remaining() < RECORD_HEADER_BYTES + payloadBytes + 4) {
+                    roll();
+                }
+                sequence = nextSequence++;
+                int recordStart = buffer.position();
+                buffer.position(recordStart + RECORD_HEADER_BYTES);
+                int payloadStart = buffer.position();
+                buffer.putLong(sequence);
+                buffer.putLong(System.currentTimeMillis());
+                buffer.put((byte) type.ordinal());
+                buffer.putInt(bookingId);
+                buffer.putInt(roomId);
+                buffer.putInt(guestId);
+                buffer.putInt(checkInDay);
+                buffer.putInt(checkOutDay);
+                buffer.putDouble(totalPrice);
+                buffer.putInt(numGuests);
+                buffer.put(status == null ? -1 : (byte) status.ordinal());
+                buffer.putShort((short) requestId.length);
+                buffer.put(requestId);
+
+                CRC32C crc = new CRC32C();
+                crc.update(buffer.duplicate().position(payloadStart).limit(payloadStart + payloadBytes));
+                buffer.putInt(recordStart + 4, (int) crc.getValue());
+                buffer.putInt(recordStart, payloadBytes);
+                writtenSequence = sequence;
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to append booking event: type=" + type + ", bookingId=" + bookingId, e);
+            return -1;
+        }
+
+        if (syncCommit) {
+            awaitDurable(sequence);
+        }
+        return sequence;
+    }
+
+    private byte[] requestIdBytes() {
+        String requestId = RequestContext.currentRequestId();
+        if (requestId == null) {
+            return new byte[0];
+        }
+        byte[] bytes = requestId.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_REQUEST_ID_BYTES) {
+            byte[] truncated = new byte[MAX_REQUEST_ID_BYTES];
+            System.arraycopy(bytes, 0, truncated, 0, MAX_REQUEST_ID_BYTES);
+            return truncated;
+        }
+        return bytes;
+    }
+
+    public void awaitDurable(long sequence) {
+        synchronized (durableLock) {
+            if (durableSequence >= sequence) {
+                return;
+            }
+        }
+        synchronized (flushSignal) {
+            flushRequested = true;
+            flushSignal.notify();
+        }
+        synchronized (durableLock) {
+            while (durableSequence < sequence && running) {
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            synchronized (flushSignal) {
+                if (!flushRequested) {
+                    try {
+                        flushSignal.wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                flushRequested = false;
+            }
+            flush();
+        }
+    }
+
+    private void flush() {
+        long target;
+        MappedByteBuffer current;
+        synchronized (this) {
+            target = writtenSequence;
+            current = buffer;
+        }
+        synchronized (durableLock) {
+            if (target <= durableSequence) {
+                return;
+            }
+        }
+        current.force();
+        synchronized (durableLock) {
+            durableSequence = Math.max(durableSequence, target);
+            durableLock.notifyAll();
+        }
+    }
+
+    private void roll() throws IOException {
+        buffer.force();
+        channel.close();
+        openSegment(segmentPath(nextSequence), true);
+        logger.info("Rolled booking journal to segment starting at sequence " + nextSequence);
+    }
+
+    private void openSegment(Path path, boolean create) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        if (create) {
+            buffer.putInt(MAGIC);
+            buffer.putInt(VERSION);
+        } else {
+            buffer.position(HEADER_BYTES);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            openSegment(segmentPath(nextSequence), true);
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        nextSequence = firstSequence(last);
+        openSegment(last, false);
+        checkHeader(buffer, last);
+
+        int position = HEADER_BYTES;
+        while (true) {
+            ByteBuffer payload = readRecord(buffer, position);
+            if (payload == null) {
+                break;
+            }
+            nextSequence = payload.getLong(payload.position()) + 1;
+            position += RECORD_HEADER_BYTES + payload.remaining();
+        }
+        if (position + 4 <= buffer.capacity() && buffer.getInt(position) != 0) {
+            logger.warning("Discarding torn booking journal tail in " + last.getFileName() + " at offset " + position);
+            for (int i = position; i < buffer.capacity() && i < position + RECORD_HEADER_BYTES + FIXED_PAYLOAD_BYTES + MAX_REQUEST_ID_BYTES; i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        buffer.position(position);
+        writtenSequence = nextSequence - 1;
+        durableSequence = writtenSequence;
+        logger.info("Opened booking journal " + directory + ": segments=" + segments.size() + ", nextSequence=" + nextSequence);
+    }
+
+    public long replay(long fromSequence, Consumer<BookingEvent> consumer) throws IOException {
+        if (!isEnabled()) {
+            return 0;
+        }
+        List<Path> segments = segments();
+        long replayed = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= fromSequence) {
+                continue;
+            }
+            try (FileChannel readChannel = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                MappedByteBuffer segment = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+                checkHeader(segment, segments.get(i));
+                int position = HEADER_BYTES;
+                ByteBuffer payload;
+                while ((payload = readRecord(segment, position)) != null) {
+                    position += RECORD_HEADER_BYTES + payload.remaining();
+                    BookingEvent event = decode(payload);
+                    if (event.getSequence() >= fromSequence) {
+                        consumer.accept(event);
+                        replayed++;
+                    }
+                }
+            }
+        }
+        return replayed;
+    }
+
+    private static ByteBuffer readRecord(ByteBuffer segment, int position) {
+        if (position + RECORD_HEADER_BYTES > segment.capacity()) {
+            return null;
+        }
+        int length = segment.getInt(position);
+        if (length < FIXED_PAYLOAD_BYTES || position + RECORD_HEADER_BYTES + length > segment.capacity()) {
+            return null;
+        }
+        ByteBuffer payload = segment.duplicate();
+        payload.limit(position + RECORD_HEADER_BYTES + length).position(position + RECORD_HEADER_BYTES);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != segment.getInt(position + 4)) {
+            return null;
+        }
+        return payload.slice();
+    }
+
+    private static BookingEvent decode(ByteBuffer payload) {
+        long sequence = payload.getLong();
+        long timestamp = payload.getLong();
+        BookingEventType type = BookingEventType.values()[payload.get()];
+        int bookingId = payload.getInt();
+        int roomId = payload.getInt();
+        int guestId = payload.getInt();
+        int checkInDay = payload.getInt();
+        int checkOutDay = payload.getInt();
+        double totalPrice = payload.getDouble();
+        int numGuests = payload.getInt();
+        byte status = payload.get();
+        byte[] requestId = new byte[payload.getShort()];
+        payload.get(requestId);
+        return new BookingEvent(sequence, timestamp, type, bookingId, roomId, guestId, checkInDay, checkOutDay, totalPrice, numGuests,
+                status < 0 ? null : BookingStatus.values()[status],
+                requestId.length == 0 ? null : new String(requestId, StandardCharsets.UTF_8));
+    }
+
+    private static void checkHeader(ByteBuffer segment, Path path) throws IOException {
+        if (segment.capacity() < HEADER_BYTES || segment.getInt(0) != MAGIC) {
+            throw new IOException("Not a booking journal segment: " + path);
+        }
+        if (segment.getInt(4) != VERSION) {
+            throw new IOException("Unsupported booking journal version " + segment.getInt(4) + " in " + path);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX) && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    public synchronized long getLastSequence() {
+        return nextSequence - 1;
+    }
+
+    public long getDurableSequence() {
+        synchronized (durableLock) {
+            return durableSequence;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!isEnabled() || !running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        synchronized (this) {
+            buffer.force();
+            channel.close();
+        }
+        synchronized (durableLock) {
+            durableSequence = writtenSequence;
+            durableLock.notifyAll();
+        }
+    }
+}
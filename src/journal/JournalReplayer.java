@@ -0,0 +1,36 @@
+package journal;
+
+import dao.InMemoryBookingDAO;
+import exception.NotFoundException;
+
+import java.io.IOException;
+import java.util.logging.Logger;
+
+public class JournalReplayer {
+    private static final Logger logger = Logger.getLogger(JournalReplayer.class.getName());
+
+    public static long rebuild(BookingJournal journal, InMemoryBookingDAO bookingDAO, long fromSequence) throws IOException {
+        long started = System.nanoTime();
+        long[] skipped = new long[1];
+        long replayed = journal.replay(fromSequence, event -> {
+            try {
+                switch (event.getType()) {
+                    case DELETED:
+                        bookingDAO.delete(event.getBookingId());
+                        break;
+                    case STATUS_CHANGED:
+                        bookingDAO.updateStatus(event.getBookingId(), event.getStatus());
+                        break;
+                    default:
+                        bookingDAO.restore(event.toBooking());
+                        break;
+                }
+            } catch (NotFoundException e) {
+                skipped[0]++;
+            }
+        });
+        logger.info("Replayed booking journal: events=" + replayed + ", skipped=" + skipped[0]
+                + ", elapsedMillis=" + (System.nanoTime() - started) / 1_000_000);
+        return replayed;
+    }
+}
@@ -0,0 +1,41 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import dto.BatchOperation;
+
+import java.io.IOException;
+
+public class BatchOperationAdapter extends ModelAdapter<BatchOperation> {
+    private final BookingAdapter bookings = new BookingAdapter();
+
+    @Override
+    protected BatchOperation create() {
+        return new BatchOperation();
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, BatchOperation operation) throws IOException {
+        out.name("op").value(operation.getOp());
+        out.name("bookingId").value(operation.getBookingId());
+        out.name("booking");
+        bookings.write(out, operation.getBooking());
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, BatchOperation operation) throws IOException {
+        switch (name) {
+            case "op":
+                operation.setOp(readString(in));
+                return true;
+            case "bookingId":
+                operation.setBookingId(readInteger(in));
+                return true;
+            case "booking":
+                operation.setBooking(bookings.read(in));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dto.BatchOperation;
+import dto.BatchRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchRequestAdapter extends ModelAdapter<BatchRequest> {
+    private final BatchOperationAdapter operations = new BatchOperationAdapter();
+
+    @Override
+    protected BatchRequest create() {
+        return new BatchRequest();
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, BatchRequest request) throws IOException {
+        out.name("mode").value(request.getMode());
+        out.name("operations");
+        if (request.getOperations() == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (BatchOperation operation : request.getOperations()) {
+            operations.write(out, operation);
+        }
+        out.endArray();
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, BatchRequest request) throws IOException {
+        switch (name) {
+            case "mode":
+                request.setMode(readString(in));
+                return true;
+            case "operations":
+                request.setOperations(readOperations(in));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private List<BatchOperation> readOperations(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<BatchOperation> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(operations.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+}
@@ -0,0 +1,51 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import dto.BatchResult;
+
+import java.io.IOException;
+
+// Results are only ever written; reading one back keeps just the index and op
+public class BatchResultAdapter extends ModelAdapter<BatchResult> {
+    private final BookingAdapter bookings = new BookingAdapter();
+
+    @Override
+    protected BatchResult create() {
+        return new BatchResult(0, null);
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, BatchResult result) throws IOException {
+        out.name("index").value(result.getIndex());
+        out.name("op").value(result.getOp());
+        out.name("status").value(result.getStatus());
+        if (result.getBooking() != null) {
+            out.name("booking");
+            bookings.write(out, result.getBooking());
+        }
+        if (result.getError() != null) {
+            out.name("error").value(result.getError());
+        }
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, BatchResult result) throws IOException {
+        switch (name) {
+            case "status":
+                Integer status = readInteger(in);
+                if (status != null) {
+                    result.setStatus(status);
+                }
+                return true;
+            case "error":
+                result.setError(readString(in));
+                return true;
+            case "booking":
+                result.setBooking(bookings.read(in));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import dto.BlockAllocationRequest;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BlockAllocationRequestAdapter extends ModelAdapter<BlockAllocationRequest> {
+    @Override
+    protected BlockAllocationRequest create() {
+        return new BlockAllocationRequest();
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, BlockAllocationRequest request) throws IOException {
+        out.name("guestId").value(request.getGuestId());
+        out.name("checkIn").value(request.getCheckIn());
+        out.name("checkOut").value(request.getCheckOut());
+        out.name("rooms");
+        if (request.getRooms() == null) {
+            out.nullValue();
+        } else {
+            out.beginObject();
+            for (Map.Entry<String, Integer> entry : request.getRooms().entrySet()) {
+                out.name(entry.getKey()).value(entry.getValue());
+            }
+            out.endObject();
+        }
+        out.name("guestsPerRoom").value(request.getGuestsPerRoom());
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, BlockAllocationRequest request) throws IOException {
+        switch (name) {
+            case "guestId":
+                request.setGuestId(readInteger(in));
+                return true;
+            case "checkIn":
+                request.setCheckIn(readString(in));
+                return true;
+            case "checkOut":
+                request.setCheckOut(readString(in));
+                return true;
+            case "rooms":
+                request.setRooms(readCounts(in));
+                return true;
+            case "guestsPerRoom":
+                request.setGuestsPerRoom(readInteger(in));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // Room type -> number of rooms, in request order
+    private static Map<String, Integer> readCounts(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String type = in.nextName();
+            counts.put(type, readInteger(in));
+        }
+        in.endObject();
+        return counts;
+    }
+}
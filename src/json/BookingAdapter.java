@@ -0,0 +1,94 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.Booking;
+import model.BookingStatus;
+import util.LocalDateAdapter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+public class BookingAdapter extends ModelAdapter<Booking> {
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    @Override
+    protected Booking create() {
+        return new Booking();
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, Booking booking) throws IOException {
+        out.name("id").value(booking.getId());
+        out.name("roomId").value(booking.getRoomId());
+        out.name("guestId").value(booking.getGuestId());
+        out.name("checkIn").value(LocalDate.ofEpochDay(booking.getCheckInDay()).toString());
+        out.name("checkOut").value(LocalDate.ofEpochDay(booking.getCheckOutDay()).toString());
+        out.name("totalPrice").value(booking.getTotalPrice());
+        out.name("numGuests").value(booking.getNumGuests());
+        out.name("status");
+        writeEnum(out, booking.getStatus());
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, Booking booking) throws IOException {
+        switch (name) {
+            case "id":
+                Integer id = readInteger(in);
+                if (id != null) {
+                    booking.setId(id);
+                }
+                return true;
+            case "roomId":
+                Integer roomId = readInteger(in);
+                if (roomId != null) {
+                    booking.setRoomId(roomId);
+                }
+                return true;
+            case "guestId":
+                Integer guestId = readInteger(in);
+                if (guestId != null) {
+                    booking.setGuestId(guestId);
+                }
+                return true;
+            case "checkIn":
+                Integer checkIn = readEpochDay(in);
+                if (checkIn != null) {
+                    booking.setCheckInDay(checkIn);
+                }
+                return true;
+            case "checkOut":
+                Integer checkOut = readEpochDay(in);
+                if (checkOut != null) {
+                    booking.setCheckOutDay(checkOut);
+                }
+                return true;
+            case "totalPrice":
+                Double totalPrice = readDouble(in);
+                if (totalPrice != null) {
+                    booking.setTotalPrice(totalPrice);
+                }
+                return true;
+            case "numGuests":
+                Integer numGuests = readInteger(in);
+                if (numGuests != null) {
+                    booking.setNumGuests(numGuests);
+                }
+                return true;
+            case "status":
+                booking.setStatus(readEnum(in, STATUSES));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Integer readEpochDay(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return Math.toIntExact(LocalDateAdapter.parse(in.nextString()).toEpochDay());
+    }
+}
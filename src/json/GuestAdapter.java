@@ -0,0 +1,49 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import model.Guest;
+
+import java.io.IOException;
+
+public class GuestAdapter extends ModelAdapter<Guest> {
+    @Override
+    protected Guest create() {
+        return new Guest();
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, Guest guest) throws IOException {
+        out.name("id").value(guest.getId());
+        out.name("firstName").value(guest.getFirstName());
+        out.name("lastName").value(guest.getLastName());
+        out.name("email").value(guest.getEmail());
+        out.name("phone").value(guest.getPhone());
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, Guest guest) throws IOException {
+        switch (name) {
+            case "id":
+                Integer id = readInteger(in);
+                if (id != null) {
+                    guest.setId(id);
+                }
+                return true;
+            case "firstName":
+                guest.setFirstName(readString(in));
+                return true;
+            case "lastName":
+                guest.setLastName(readString(in));
+                return true;
+            case "email":
+                guest.setEmail(readString(in));
+                return true;
+            case "phone":
+                guest.setPhone(readString(in));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
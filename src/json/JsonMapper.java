@@ -0,0 +1,102 @@
+package json;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import io.github.cdimascio.dotenv.Dotenv;
+import dto.BatchOperation;
+import dto.BatchRequest;
+import dto.BatchResult;
+import dto.BlockAllocationRequest;
+import dto.LoginRequest;
+import dto.StatusUpdateRequest;
+import model.Booking;
+import model.Guest;
+import model.Room;
+import model.User;
+import util.LocalDateAdapter;
+import util.LocalDateTimeAdapter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public final class JsonMapper {
+    private static final Map<Class<?>, ModelAdapter<?>> ADAPTERS = Map.of(
+            Booking.class, new BookingAdapter(),
+            Room.class, new RoomAdapter(),
+            Guest.class, new GuestAdapter(),
+            User.class, new UserAdapter(),
+            LoginRequest.class, new LoginRequestAdapter(),
+            StatusUpdateRequest.class, new StatusUpdateRequestAdapter(),
+            BatchRequest.class, new BatchRequestAdapter(),
+            BatchOperation.class, new BatchOperationAdapter(),
+            BatchResult.class, new BatchResultAdapter(),
+            BlockAllocationRequest.class, new BlockAllocationRequestAdapter()
+    );
+
+    private static final Dotenv dotenv = Dotenv.load();
+
+    public static final Gson GSON = create(Boolean.parseBoolean(dotenv.get("JSON_PRETTY_PRINT", "false")));
+
+    private JsonMapper() { }
+
+    public static Gson create(boolean prettyPrinting) {
+        GsonBuilder builder = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(LocalDate.class, new LocalDateAdapter());
+        for (Map.Entry<Class<?>, ModelAdapter<?>> entry : ADAPTERS.entrySet()) {
+            builder.registerTypeAdapter(entry.getKey(), entry.getValue());
+        }
+        if (prettyPrinting) {
+            builder.setPrettyPrinting();
+        }
+        return builder.create();
+    }
+
+    // Gson.toJson(Object) goes through a StringWriter, whose synchronized StringBuffer dominates large list responses
+    public static String toJson(Object value) {
+        StringBuilder json = new StringBuilder(256);
+        GSON.toJson(value, json);
+        return json.toString();
+    }
+
+    // Applies the fields present in json onto target, leaving the others (and its id) untouched
+    public static <T> T merge(String json, T target) {
+        if (json == null || json.isBlank()) {
+            adapterFor(target);
+            return target;
+        }
+        JsonReader reader = new JsonReader(new StringReader(json));
+        reader.setLenient(true);
+        return merge(reader, target);
+    }
+
+    // An empty document leaves target as it is
+    public static <T> T merge(JsonReader reader, T target) {
+        ModelAdapter<T> adapter = adapterFor(target);
+        try {
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                return target;
+            }
+            return adapter.merge(reader, target);
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ModelAdapter<T> adapterFor(T target) {
+        ModelAdapter<T> adapter = (ModelAdapter<T>) ADAPTERS.get(target.getClass());
+        if (adapter == null) {
+            throw new IllegalArgumentException("No JSON adapter registered for " + target.getClass().getName());
+        }
+        return adapter;
+    }
+}
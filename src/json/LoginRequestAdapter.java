@@ -0,0 +1,34 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import dto.LoginRequest;
+
+import java.io.IOException;
+
+public class LoginRequestAdapter extends ModelAdapter<LoginRequest> {
+    @Override
+    protected LoginRequest create() {
+        return new LoginRequest();
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, LoginRequest request) throws IOException {
+        out.name("email").value(request.getEmail());
+        out.name("password").value(request.getPassword());
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, LoginRequest request) throws IOException {
+        switch (name) {
+            case "email":
+                request.setEmail(readString(in));
+                return true;
+            case "password":
+                request.setPassword(readString(in));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
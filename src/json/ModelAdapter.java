@@ -0,0 +1,150 @@
+package json;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/*
+ * Streaming adapter for a model class. Fields are written in declaration order and nulls are left to the
+ * writer, so the output matches what reflective Gson produced. read() fills a fresh instance; merge() applies a
+ * partial document onto an existing one and ignores read-only fields such as the id. An unknown enum constant
+ * reads as null, as reflective Gson did, but fails a merge so a PATCH cannot null the field by mistake.
+ */
+public abstract class ModelAdapter<T> extends TypeAdapter<T> {
+
+    protected abstract T create();
+
+    protected abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+    protected abstract boolean readField(String name, JsonReader in, T target) throws IOException;
+
+    protected boolean isReadOnly(String name) {
+        return "id".equals(name);
+    }
+
+    @Override
+    public final void write(JsonWriter out, T value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        writeFields(out, value);
+        out.endObject();
+    }
+
+    @Override
+    public final T read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return readInto(in, create(), false);
+    }
+
+    public T merge(JsonReader in, T target) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return target;
+        }
+        return readInto(in, target, true);
+    }
+
+    private T readInto(JsonReader in, T target, boolean partial) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            try {
+                if ((partial && isReadOnly(name)) || !readField(name, in, target)) {
+                    in.skipValue();
+                }
+            } catch (UnknownConstantException e) {
+                if (partial) {
+                    throw new JsonSyntaxException(e.getMessage(), e);
+                }
+            }
+        }
+        in.endObject();
+        return target;
+    }
+
+    protected static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    protected static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static Double readDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static Boolean readBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    // The value has been consumed when an unknown constant is thrown, so read() can leave the field unset
+    protected static <E extends Enum<E>> E readEnum(JsonReader in, E[] constants) throws IOException {
+        String name = readString(in);
+        if (name == null) {
+            return null;
+        }
+        for (E constant : constants) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new UnknownConstantException("Unknown value '" + name + "' for " + constants[0].getDeclaringClass().getSimpleName());
+    }
+
+    protected static void writeEnum(JsonWriter out, Enum<?> value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.name());
+        }
+    }
+
+    private static final class UnknownConstantException extends IllegalArgumentException {
+        UnknownConstantException(String message) {
+            super(message);
+        }
+    }
+}
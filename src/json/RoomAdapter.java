@@ -0,0 +1,77 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import model.Room;
+import model.RoomStatus;
+
+import java.io.IOException;
+
+public class RoomAdapter extends ModelAdapter<Room> {
+    private static final RoomStatus[] STATUSES = RoomStatus.values();
+
+    @Override
+    protected Room create() {
+        return new Room();
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, Room room) throws IOException {
+        out.name("id").value(room.getId());
+        out.name("number").value(room.getNumber());
+        out.name("type").value(room.getType());
+        out.name("pricePerNight").value(room.getPricePerNight());
+        out.name("extraGuestPricePerNight").value(room.getExtraGuestPricePerNight());
+        out.name("capacity").value(room.getCapacity());
+        out.name("allowedExtraGuests").value(room.getAllowedExtraGuests());
+        out.name("status");
+        writeEnum(out, room.getStatus());
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, Room room) throws IOException {
+        switch (name) {
+            case "id":
+                Integer id = readInteger(in);
+                if (id != null) {
+                    room.setId(id);
+                }
+                return true;
+            case "number":
+                room.setNumber(readString(in));
+                return true;
+            case "type":
+                room.setType(readString(in));
+                return true;
+            case "pricePerNight":
+                Double pricePerNight = readDouble(in);
+                if (pricePerNight != null) {
+                    room.setPricePerNight(pricePerNight);
+                }
+                return true;
+            case "extraGuestPricePerNight":
+                Double extraGuestPricePerNight = readDouble(in);
+                if (extraGuestPricePerNight != null) {
+                    room.setExtraGuestPricePerNight(extraGuestPricePerNight);
+                }
+                return true;
+            case "capacity":
+                Integer capacity = readInteger(in);
+                if (capacity != null) {
+                    room.setCapacity(capacity);
+                }
+                return true;
+            case "allowedExtraGuests":
+                Integer allowedExtraGuests = readInteger(in);
+                if (allowedExtraGuests != null) {
+                    room.setAllowedExtraGuests(allowedExtraGuests);
+                }
+                return true;
+            case "status":
+                room.setStatus(readEnum(in, STATUSES));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import dto.StatusUpdateRequest;
+
+import java.io.IOException;
+
+public class StatusUpdateRequestAdapter extends ModelAdapter<StatusUpdateRequest> {
+    @Override
+    protected StatusUpdateRequest create() {
+        return new StatusUpdateRequest();
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, StatusUpdateRequest request) throws IOException {
+        out.name("status").value(request.getStatus());
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, StatusUpdateRequest request) throws IOException {
+        if ("status".equals(name)) {
+            request.setStatus(readString(in));
+            return true;
+        }
+        return false;
+    }
+}
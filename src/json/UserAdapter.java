@@ -0,0 +1,92 @@
+package json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import model.Role;
+import model.User;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+public class UserAdapter extends ModelAdapter<User> {
+    private static final Role[] ROLES = Role.values();
+
+    @Override
+    protected User create() {
+        return new User();
+    }
+
+    @Override
+    protected boolean isReadOnly(String name) {
+        return super.isReadOnly(name) || "createdAt".equals(name) || "updatedAt".equals(name);
+    }
+
+    @Override
+    protected void writeFields(JsonWriter out, User user) throws IOException {
+        out.name("id").value(user.getId());
+        out.name("guestId").value(user.getGuestId());
+        out.name("firstName").value(user.getFirstName());
+        out.name("lastName").value(user.getLastName());
+        out.name("email").value(user.getEmail());
+        out.name("passwordHash").value(user.getPasswordHash());
+        out.name("phone").value(user.getPhone());
+        out.name("role");
+        writeEnum(out, user.getRole());
+        out.name("isActive").value(user.isActive());
+        out.name("createdAt").value(user.getCreatedAt() == null ? null : user.getCreatedAt().toString());
+        out.name("updatedAt").value(user.getUpdatedAt() == null ? null : user.getUpdatedAt().toString());
+    }
+
+    @Override
+    protected boolean readField(String name, JsonReader in, User user) throws IOException {
+        switch (name) {
+            case "id":
+                user.setId(readInteger(in));
+                return true;
+            case "guestId":
+                user.setGuestId(readInteger(in));
+                return true;
+            case "firstName":
+                user.setFirstName(readString(in));
+                return true;
+            case "lastName":
+                user.setLastName(readString(in));
+                return true;
+            case "email":
+                user.setEmail(readString(in));
+                return true;
+            case "passwordHash":
+                user.setPasswordHash(readString(in));
+                return true;
+            case "phone":
+                user.setPhone(readString(in));
+                return true;
+            case "role":
+                user.setRole(readEnum(in, ROLES));
+                return true;
+            case "isActive":
+                Boolean active = readBoolean(in);
+                if (active != null) {
+                    user.setActive(active);
+                }
+                return true;
+            case "createdAt":
+                user.setCreatedAt(readDateTime(in));
+                return true;
+            case "updatedAt":
+                user.setUpdatedAt(readDateTime(in));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static LocalDateTime readDateTime(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return LocalDateTime.parse(in.nextString());
+    }
+}
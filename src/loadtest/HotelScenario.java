@@ -0,0 +1,124 @@
+package loadtest;
+
+import com.google.gson.Gson;
+import json.JsonMapper;
+import model.Booking;
+import model.BookingStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HotelScenario {
+    static final String GUEST_PASSWORD = "Guest#2024load";
+
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final Gson gson = JsonMapper.create(false);
+    private final AtomicInteger createCounter = new AtomicInteger();
+    private final Queue<Integer> pendingConfirmation = new ConcurrentLinkedQueue<>();
+    private final Queue<Integer> arrivalsToday;
+    private String adminToken;
+
+    public HotelScenario(String baseUrl, LoadTestConfig config, Queue<Integer> arrivalsToday) {
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.arrivalsToday = arrivalsToday;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public void loginAdmin(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = login(email, password);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed: HTTP " + response.statusCode() + " " + response.body());
+        }
+        adminToken = (String) gson.fromJson(response.body(), Map.class).get("token");
+    }
+
+    public LoadTestConfig.Operation execute(LoadTestConfig.Operation operation, boolean[] succeeded) throws IOException, InterruptedException {
+        HttpResponse<String> response;
+        switch (operation) {
+            case LOGIN:
+                int guest = 1 + ThreadLocalRandom.current().nextInt(config.guests);
+                response = login("guest" + guest + "@load.test", GUEST_PASSWORD);
+                break;
+            case ROOM_SEARCH:
+                response = send("GET", "/api/rooms", null);
+                break;
+            case CONFIRM:
+                Integer pendingId = pendingConfirmation.poll();
+                if (pendingId == null) {
+                    return execute(LoadTestConfig.Operation.CREATE_BOOKING, succeeded);
+                }
+                response = send("PATCH", "/api/bookings/" + pendingId + "/confirm", null);
+                break;
+            case CHECK_IN:
+                Integer arrivalId = arrivalsToday.poll();
+                if (arrivalId == null) {
+                    return execute(LoadTestConfig.Operation.LIST_BOOKINGS, succeeded);
+                }
+                response = send("PATCH", "/api/bookings/" + arrivalId + "/checkin", null);
+                break;
+            case LIST_BOOKINGS:
+                response = send("GET", "/api/bookings", null);
+                break;
+            case CREATE_BOOKING:
+            default:
+                response = send("POST", "/api/bookings", gson.toJson(nextBooking()));
+                if (response.statusCode() == 201) {
+                    Map<?, ?> booking = (Map<?, ?>) gson.fromJson(response.body(), Map.class).get("booking");
+                    pendingConfirmation.offer(((Number) booking.get("id")).intValue());
+                }
+                operation = LoadTestConfig.Operation.CREATE_BOOKING;
+                break;
+        }
+        succeeded[0] = response.statusCode() >= 200 && response.statusCode() < 300;
+        return operation;
+    }
+
+    private Booking nextBooking() {
+        int sequence = createCounter.getAndIncrement();
+        int roomId = 1 + sequence % config.rooms;
+        int window = sequence / config.rooms;
+        LocalDate checkIn = daysFromToday(30 + window * 4);
+        LocalDate checkOut = daysFromToday(33 + window * 4);
+        return new Booking(roomId, config.guests + config.arrivalsToday + 1 + sequence, checkIn, checkOut, 0, 2, BookingStatus.PENDING);
+    }
+
+    private HttpResponse<String> login(String email, String password) throws IOException, InterruptedException {
+        String body = gson.toJson(Map.of("email", email, "password", password));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Content-Type", "application/json")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    static LocalDate daysFromToday(int days) {
+        return LocalDate.now().plusDays(days);
+    }
+}
@@ -0,0 +1,72 @@
+package loadtest;
+
+import java.util.Arrays;
+
+public class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+    private long requests;
+    private long errors;
+
+    public synchronized void record(long latencyMicros, long expectedIntervalMicros) {
+        requests++;
+        add(latencyMicros);
+        if (expectedIntervalMicros <= 0) {
+            return;
+        }
+        // Coordinated omission: a stalled request hides the requests that would have been sent meanwhile.
+        // The back-filled samples only shape the percentiles; they are not counted as requests.
+        for (long missing = latencyMicros - expectedIntervalMicros; missing >= expectedIntervalMicros; missing -= expectedIntervalMicros) {
+            add(missing);
+        }
+    }
+
+    public synchronized void recordError() {
+        errors++;
+    }
+
+    private void add(long value) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = value;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Snapshot(sorted, requests, errors);
+    }
+
+    public static class Snapshot {
+        private final long[] sorted;
+        private final long requests;
+        private final long errors;
+
+        Snapshot(long[] sorted, long requests, long errors) {
+            this.sorted = sorted;
+            this.requests = requests;
+            this.errors = errors;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long percentile(double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        public long max() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import controller.MainServer;
+import dao.InMemoryBookingDAO;
+import dao.InMemoryGuestDAO;
+import dao.InMemoryRoomDAO;
+import dao.InMemoryUserDAO;
+import model.*;
+import server.RateLimiter;
+import service.BookingService;
+import service.GuestService;
+import service.RoomService;
+import service.UserService;
+import util.SecurityUtil;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class LoadTest {
+    private static final String ADMIN_EMAIL = "admin@load.test";
+    private static final String ADMIN_PASSWORD = "Admin#2024load";
+
+    private final LoadTestConfig config;
+    private final HotelScenario scenario;
+    private final Map<LoadTestConfig.Operation, LatencyRecorder> recorders = new EnumMap<>(LoadTestConfig.Operation.class);
+    private final LatencyRecorder overall = new LatencyRecorder();
+    private final LoadTestConfig.Operation[] weightedOperations;
+
+    public LoadTest(LoadTestConfig config, HotelScenario scenario) {
+        this.config = config;
+        this.scenario = scenario;
+        List<LoadTestConfig.Operation> weighted = new ArrayList<>();
+        for (Map.Entry<LoadTestConfig.Operation, Integer> entry : config.mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                weighted.add(entry.getKey());
+            }
+        }
+        this.weightedOperations = weighted.toArray(new LoadTestConfig.Operation[0]);
+        for (LoadTestConfig.Operation operation : LoadTestConfig.Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        HttpServer server = null;
+        Queue<Integer> arrivals = new ConcurrentLinkedQueue<>();
+        String baseUrl = config.target;
+        if (baseUrl == null) {
+            // Every request comes from this process, so the limiter would cap the run instead of the server
+            RateLimiter.setShared(RateLimiter.disabled());
+            server = startInProcessServer(config, arrivals);
+            baseUrl = "http://localhost:" + server.getAddress().getPort();
+            System.out.println("Started in-process server at " + baseUrl + " (rate limiting off)");
+        }
+
+        try {
+            HotelScenario scenario = new HotelScenario(baseUrl, config, arrivals);
+            scenario.loginAdmin(ADMIN_EMAIL, ADMIN_PASSWORD);
+
+            LoadTest loadTest = new LoadTest(config, scenario);
+            loadTest.run();
+            loadTest.report();
+        } finally {
+            if (server != null) {
+                server.stop(0);
+                System.exit(0);
+            }
+        }
+    }
+
+    private static HttpServer startInProcessServer(LoadTestConfig config, Queue<Integer> arrivals) throws Exception {
+        InMemoryRoomDAO roomDAO = new InMemoryRoomDAO();
+        InMemoryBookingDAO bookingDAO = new InMemoryBookingDAO();
+        InMemoryUserDAO userDAO = new InMemoryUserDAO();
+
+        for (int i = 1; i <= config.rooms; i++) {
+            String type = i % 10 == 0 ? "SUITE" : (i % 3 == 0 ? "SINGLE" : "DOUBLE");
+            roomDAO.insert(new Room(String.valueOf(100 + i), type, 90.0 + (i % 7) * 15, 20.0, 3, 1, RoomStatus.AVAILABLE));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        userDAO.insert(new User(null, "Load", "Admin", ADMIN_EMAIL, SecurityUtil.hashPassword(ADMIN_PASSWORD), "5550000000", Role.ADMIN, true, now, now));
+        String guestHash = SecurityUtil.hashPassword(HotelScenario.GUEST_PASSWORD);
+        for (int i = 1; i <= config.guests; i++) {
+            userDAO.insert(new User(i, "Guest", String.valueOf(i), "guest" + i + "@load.test", guestHash, "5550000000", Role.GUEST, true, now, now));
+        }
+
+        for (int i = 0; i < config.arrivalsToday; i++) {
+            Booking arrival = new Booking(1 + i % config.rooms, i + 1, HotelScenario.daysFromToday(0), HotelScenario.daysFromToday(2), 0, 2, BookingStatus.CONFIRMED);
+            bookingDAO.insert(arrival);
+            arrivals.offer(arrival.getId());
+        }
+
+        RoomService roomService = new RoomService(roomDAO);
+        GuestService guestService = new GuestService(new InMemoryGuestDAO());
+        UserService userService = new UserService(userDAO, guestService);
+        BookingService bookingService = new BookingService(bookingDAO, roomService);
+        return MainServer.start(0, bookingService, roomService, guestService, userService);
+    }
+
+    public void run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        long periodNanos = (long) (1_000_000_000L / config.ratePerSecond);
+        AtomicLong sequence = new AtomicLong();
+
+        System.out.printf(Locale.ROOT, "Running %s loop: concurrency=%d%s, warmup=%ds, duration=%ds, mix=%s%n",
+                config.mode.name().toLowerCase(), config.concurrency,
+                config.mode == LoadTestConfig.Mode.OPEN ? ", rate=" + config.ratePerSecond + "/s" : "",
+                config.warmupSeconds, config.durationSeconds, config.mix);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < config.concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                if (config.mode == LoadTestConfig.Mode.OPEN) {
+                    runOpenLoop(startNanos, periodNanos, measureFromNanos, endNanos, sequence);
+                } else {
+                    runClosedLoop(measureFromNanos, endNanos);
+                }
+            }, "load-worker-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private void runClosedLoop(long measureFromNanos, long endNanos) {
+        long expectedIntervalMicros = TimeUnit.MILLISECONDS.toMicros(config.thinkTimeMillis);
+        while (System.nanoTime() < endNanos) {
+            long start = System.nanoTime();
+            executeAndRecord(start, start >= measureFromNanos, expectedIntervalMicros);
+            if (config.thinkTimeMillis > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(config.thinkTimeMillis));
+            }
+        }
+    }
+
+    private void runOpenLoop(long startNanos, long periodNanos, long measureFromNanos, long endNanos, AtomicLong sequence) {
+        while (true) {
+            long intendedStart = startNanos + sequence.getAndIncrement() * periodNanos;
+            if (intendedStart >= endNanos) {
+                return;
+            }
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Latency is measured from the intended start, so queueing behind slow requests is not hidden.
+            executeAndRecord(intendedStart, intendedStart >= measureFromNanos, 0);
+        }
+    }
+
+    private void executeAndRecord(long startNanos, boolean measure, long expectedIntervalMicros) {
+        LoadTestConfig.Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        boolean[] succeeded = new boolean[1];
+        try {
+            operation = scenario.execute(operation, succeeded);
+        } catch (Exception e) {
+            succeeded[0] = false;
+        }
+        if (!measure) {
+            return;
+        }
+        long latencyMicros = (System.nanoTime() - startNanos) / 1000;
+        LatencyRecorder recorder = recorders.get(operation);
+        recorder.record(latencyMicros, expectedIntervalMicros);
+        overall.record(latencyMicros, expectedIntervalMicros);
+        if (!succeeded[0]) {
+            recorder.recordError();
+            overall.recordError();
+        }
+    }
+
+    public void report() {
+        System.out.printf(Locale.ROOT, "%n%-14s %9s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<LoadTestConfig.Operation, LatencyRecorder> entry : recorders.entrySet()) {
+            printRow(entry.getKey().getKey(), entry.getValue().snapshot());
+        }
+        printRow("TOTAL", overall.snapshot());
+    }
+
+    private void printRow(String name, LatencyRecorder.Snapshot snapshot) {
+        if (snapshot.getRequests() == 0) {
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%-14s %9d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, snapshot.getRequests(), snapshot.getErrors(), (double) snapshot.getRequests() / config.durationSeconds,
+                snapshot.percentile(50) / 1000.0, snapshot.percentile(90) / 1000.0,
+                snapshot.percentile(99) / 1000.0, snapshot.percentile(99.9) / 1000.0, snapshot.max() / 1000.0);
+    }
+}
@@ -0,0 +1,105 @@
+package loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class LoadTestConfig {
+    public enum Mode { CLOSED, OPEN }
+
+    Mode mode = Mode.CLOSED;
+    int concurrency = 32;
+    double ratePerSecond = 200;
+    int durationSeconds = 60;
+    int warmupSeconds = 10;
+    long thinkTimeMillis = 0;
+    String target;
+    int rooms = 300;
+    int guests = 2000;
+    int arrivalsToday = 400;
+    final Map<Operation, Integer> mix = new LinkedHashMap<>();
+
+    public static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        config.mix.put(Operation.LOGIN, 5);
+        config.mix.put(Operation.ROOM_SEARCH, 15);
+        config.mix.put(Operation.CREATE_BOOKING, 20);
+        config.mix.put(Operation.CONFIRM, 15);
+        config.mix.put(Operation.CHECK_IN, 30);
+        config.mix.put(Operation.LIST_BOOKINGS, 15);
+
+        for (String arg : args) {
+            String[] parts = arg.replaceFirst("^--", "").split("=", 2);
+            String value = parts.length > 1 ? parts[1] : "";
+            switch (parts[0]) {
+                case "mode":
+                    config.mode = Mode.valueOf(value.toUpperCase());
+                    break;
+                case "concurrency":
+                    config.concurrency = Integer.parseInt(value);
+                    break;
+                case "rate":
+                    config.ratePerSecond = Double.parseDouble(value);
+                    break;
+                case "duration":
+                    config.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    config.warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "think":
+                    config.thinkTimeMillis = Long.parseLong(value);
+                    break;
+                case "target":
+                    config.target = value;
+                    break;
+                case "rooms":
+                    config.rooms = Integer.parseInt(value);
+                    break;
+                case "guests":
+                    config.guests = Integer.parseInt(value);
+                    break;
+                case "arrivals":
+                    config.arrivalsToday = Integer.parseInt(value);
+                    break;
+                case "mix":
+                    config.mix.clear();
+                    for (String entry : value.split(",")) {
+                        String[] weight = entry.split(":");
+                        config.mix.put(Operation.fromKey(weight[0]), Integer.parseInt(weight[1]));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return config;
+    }
+
+    public enum Operation {
+        LOGIN("login"),
+        ROOM_SEARCH("rooms"),
+        CREATE_BOOKING("create"),
+        CONFIRM("confirm"),
+        CHECK_IN("checkin"),
+        LIST_BOOKINGS("list");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equalsIgnoreCase(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in mix: " + key);
+        }
+    }
+}
@@ -1,35 +1,48 @@
 package model;
 
-import java.util.Date;
+import com.google.gson.annotations.JsonAdapter;
+import util.EpochDayAdapter;
+
+import java.time.LocalDate;
 
 public class Booking {
     private int id;
     private int roomId;
     private int guestId;
-    private Date checkIn;
-    private Date checkOut;
+    @JsonAdapter(EpochDayAdapter.class)
+    private int checkIn;
+    @JsonAdapter(EpochDayAdapter.class)
+    private int checkOut;
     private double totalPrice;
     private int numGuests;
     private BookingStatus status;
 
     public Booking() {}
 
-    public Booking(int roomId, int guestId, Date checkIn, Date checkOut, double totalPrice, int numGuests, BookingStatus status) {
+    public Booking(int roomId, int guestId, LocalDate checkIn, LocalDate checkOut, double totalPrice, int numGuests, BookingStatus status) {
+        this(roomId, guestId, toEpochDay(checkIn), toEpochDay(checkOut), totalPrice, numGuests, status);
+    }
+
+    public Booking(int roomId, int guestId, int checkInDay, int checkOutDay, double totalPrice, int numGuests, BookingStatus status) {
         this.roomId = roomId;
         this.guestId = guestId;
-        this.checkIn = checkIn;
-        this.checkOut = checkOut;
+        this.checkIn = checkInDay;
+        this.checkOut = checkOutDay;
         this.totalPrice = totalPrice;
         this.numGuests = numGuests;
         this.status = status;
     }
 
-    public Booking(int id, int roomId, int guestId, Date checkIn, Date checkOut, double totalPrice, int numGuests, BookingStatus status) {
+    public Booking(int id, int roomId, int guestId, LocalDate checkIn, LocalDate checkOut, double totalPrice, int numGuests, BookingStatus status) {
+        this(id, roomId, guestId, toEpochDay(checkIn), toEpochDay(checkOut), totalPrice, numGuests, status);
+    }
+
+    public Booking(int id, int roomId, int guestId, int checkInDay, int checkOutDay, double totalPrice, int numGuests, BookingStatus status) {
         this.id = id;
         this.roomId = roomId;
         this.guestId = guestId;
-        this.checkIn = checkIn;
-        this.checkOut = checkOut;
+        this.checkIn = checkInDay;
+        this.checkOut = checkOutDay;
         this.totalPrice = totalPrice;
         this.numGuests = numGuests;
         this.status = status;
@@ -57,18 +70,36 @@ public class Booking {
         this.guestId = guestId;
     }
 
-    public Date getCheckIn() {
+    public LocalDate getCheckIn() {
+        return LocalDate.ofEpochDay(checkIn);
+    }
+    public void setCheckIn(LocalDate checkIn) {
+        this.checkIn = toEpochDay(checkIn);
+    }
+
+    public int getCheckInDay() {
         return checkIn;
     }
-    public void setCheckIn(Date checkIn) {
-        this.checkIn = checkIn;
+    public void setCheckInDay(int checkInDay) {
+        this.checkIn = checkInDay;
     }
 
-    public Date getCheckOut() {
+    public LocalDate getCheckOut() {
+        return LocalDate.ofEpochDay(checkOut);
+    }
+    public void setCheckOut(LocalDate checkOut) {
+        this.checkOut = toEpochDay(checkOut);
+    }
+
+    public int getCheckOutDay() {
         return checkOut;
     }
-    public void setCheckOut(Date checkOut) {
-        this.checkOut = checkOut;
+    public void setCheckOutDay(int checkOutDay) {
+        this.checkOut = checkOutDay;
+    }
+
+    public int getNights() {
+        return checkOut - checkIn;
     }
 
     public double getTotalPrice() {
@@ -97,11 +128,15 @@ public class Booking {
         return "Booking with ID " + this.id
                 + "\nRoom ID: " + this.roomId
                 + "\nGuest ID: " + this.guestId
-                + "\nCheck In: " + this.checkIn
-                + "\nCheck Out: " + this.checkOut
+                + "\nCheck In: " + getCheckIn()
+                + "\nCheck Out: " + getCheckOut()
                 + "\nTotal Price: " + this.totalPrice
                 + "\nNumber of Guests: " + this.numGuests
                 + "\nStatus: " + this.status
                 + "\n";
     }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? 0 : Math.toIntExact(date.toEpochDay());
+    }
 }
@@ -0,0 +1,39 @@
+package model;
+
+import java.time.LocalDateTime;
+
+public class IdempotencyRecord {
+    private String key;
+    private String requestHash;
+    private int statusCode;
+    private String responseBody;
+    private LocalDateTime createdAt;
+
+    public IdempotencyRecord(String key, String requestHash, int statusCode, String responseBody, LocalDateTime createdAt) {
+        this.key = key;
+        this.requestHash = requestHash;
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+public class RoomMove {
+    private final int bookingId;
+    private final int fromRoomId;
+    private final int toRoomId;
+
+    public RoomMove(int bookingId, int fromRoomId, int toRoomId) {
+        this.bookingId = bookingId;
+        this.fromRoomId = fromRoomId;
+        this.toRoomId = toRoomId;
+    }
+
+    public int getBookingId() {
+        return bookingId;
+    }
+
+    public int getFromRoomId() {
+        return fromRoomId;
+    }
+
+    public int getToRoomId() {
+        return toRoomId;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomMove{bookingId=" + bookingId + ", fromRoomId=" + fromRoomId + ", toRoomId=" + toRoomId + "}";
+    }
+}
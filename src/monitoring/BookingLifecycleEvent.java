@@ -0,0 +1,57 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import model.Booking;
+
+@Name("hotel.BookingLifecycle")
+@Label("Booking Lifecycle")
+@Category({"Hotel", "Booking"})
+@Description("Create, update and status transitions executed by BookingService")
+public class BookingLifecycleEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Booking ID")
+    public int bookingId;
+
+    @Label("Room ID")
+    public int roomId;
+
+    @Label("Guest ID")
+    public int guestId;
+
+    @Label("Nights")
+    public long nights;
+
+    @Label("Status")
+    public String status;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    public static BookingLifecycleEvent start(String operation, Booking booking) {
+        BookingLifecycleEvent event = new BookingLifecycleEvent();
+        event.operation = operation;
+        event.begin();
+        if (event.isEnabled()) {
+            event.roomId = booking.getRoomId();
+            event.guestId = booking.getGuestId();
+        }
+        return event;
+    }
+
+    public void finish(Booking booking, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.succeeded = succeeded;
+            this.bookingId = booking.getId();
+            this.status = booking.getStatus() != null ? booking.getStatus().name() : null;
+            this.nights = booking.getNights();
+            commit();
+        }
+    }
+}
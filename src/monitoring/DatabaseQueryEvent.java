@@ -0,0 +1,26 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("hotel.DatabaseQuery")
+@Label("Database Query")
+@Category({"Hotel", "Database"})
+@Description("A single DAO statement, including connection acquisition")
+public class DatabaseQueryEvent extends Event {
+    @Label("Table")
+    public String table;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Rows")
+    @Description("Rows returned by a query or affected by an update")
+    public int rows;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
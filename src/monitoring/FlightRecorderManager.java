@@ -0,0 +1,85 @@
+package monitoring;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+public class FlightRecorderManager {
+    private static final Logger logger = Logger.getLogger(FlightRecorderManager.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+
+    private static final Path DUMP_DIR = Paths.get(dotenv.get("JFR_DUMP_DIR", "recordings"));
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static Recording recording;
+
+    private FlightRecorderManager() { }
+
+    public static synchronized Map<String, Object> start(String settings) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running: " + recording.getName());
+        }
+
+        Configuration configuration = Configuration.getConfiguration(settings == null || settings.isBlank() ? "profile" : settings);
+        recording = new Recording(configuration);
+        recording.setName("hotel-" + LocalDateTime.now().format(FILE_TIMESTAMP));
+        recording.setToDisk(true);
+        recording.start();
+
+        logger.info("Flight recording started: name=" + recording.getName() + ", settings=" + configuration.getName());
+        return status();
+    }
+
+    public static synchronized Path stop() throws IOException {
+        Recording current = requireRecording();
+        Path path = dump();
+        current.stop();
+        current.close();
+        recording = null;
+
+        logger.info("Flight recording stopped: name=" + current.getName() + ", file=" + path);
+        return path;
+    }
+
+    public static synchronized Path dump() throws IOException {
+        Recording current = requireRecording();
+        Files.createDirectories(DUMP_DIR);
+        Path path = DUMP_DIR.resolve(current.getName() + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        current.dump(path);
+
+        logger.info("Flight recording dumped: name=" + current.getName() + ", file=" + path);
+        return path;
+    }
+
+    public static synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "STOPPED");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    private static Recording requireRecording() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        return recording;
+    }
+}
@@ -0,0 +1,129 @@
+package monitoring;
+
+import dao.ConnectionPool;
+import dao.DAOFactory;
+import dao.DatabaseConnection;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+public class HealthMonitor {
+    private static final Logger logger = Logger.getLogger(HealthMonitor.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+
+    private static final long DB_PROBE_INTERVAL_MS = Long.parseLong(dotenv.get("HEALTH_DB_PROBE_INTERVAL_MS", "5000"));
+    private static final int DB_PROBE_TIMEOUT_SECONDS = Integer.parseInt(dotenv.get("HEALTH_DB_PROBE_TIMEOUT_SECONDS", "2"));
+    private static final double MAX_POOL_UTILIZATION = Double.parseDouble(dotenv.get("HEALTH_MAX_POOL_UTILIZATION", "0.9"));
+    private static final int MAX_EXECUTOR_QUEUE_DEPTH = Integer.parseInt(dotenv.get("HEALTH_MAX_EXECUTOR_QUEUE_DEPTH", "100"));
+
+    private static final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> caches = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<Map<String, Object>>> limiters = new ConcurrentHashMap<>();
+    private static final AtomicBoolean probing = new AtomicBoolean();
+
+    private static volatile boolean databaseReachable;
+    private static volatile long lastProbeMillis;
+
+    private HealthMonitor() { }
+
+    public static void registerExecutor(String name, ThreadPoolExecutor executor) {
+        executors.put(name, executor);
+    }
+
+    public static void registerCache(String name, LongSupplier size) {
+        caches.put(name, size);
+    }
+
+    public static void registerLimiter(String name, Supplier<Map<String, Object>> stats) {
+        limiters.put(name, stats);
+    }
+
+    public static Map<String, Object> liveness() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "UP");
+        return body;
+    }
+
+    public static Map<String, Object> readiness() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        boolean ready = true;
+
+        if (DAOFactory.isInMemory()) {
+            body.put("database", Map.of("status", "UP", "mode", DAOFactory.getMode()));
+        } else {
+            boolean dbUp = isDatabaseReachable();
+            body.put("database", Map.of("status", dbUp ? "UP" : "DOWN", "checkedAt", lastProbeMillis));
+            ready &= dbUp;
+
+            ConnectionPool pool = DatabaseConnection.getPool();
+            Map<String, Object> poolStats = new LinkedHashMap<>();
+            poolStats.put("active", pool.getActiveConnections());
+            poolStats.put("idle", pool.getIdleConnections());
+            poolStats.put("max", pool.getMaxSize());
+            poolStats.put("waiting", pool.getWaitingThreads());
+            poolStats.put("utilization", pool.getUtilization());
+            boolean poolSaturated = pool.getUtilization() >= MAX_POOL_UTILIZATION && pool.getWaitingThreads() > 0;
+            poolStats.put("saturated", poolSaturated);
+            body.put("connectionPool", poolStats);
+            ready &= !poolSaturated;
+        }
+
+        Map<String, Object> executorStats = new LinkedHashMap<>();
+        for (Map.Entry<String, ThreadPoolExecutor> entry : executors.entrySet()) {
+            ThreadPoolExecutor executor = entry.getValue();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("active", executor.getActiveCount());
+            stats.put("poolSize", executor.getPoolSize());
+            stats.put("maxPoolSize", executor.getMaximumPoolSize());
+            stats.put("queueDepth", executor.getQueue().size());
+            boolean saturated = executor.getQueue().size() > MAX_EXECUTOR_QUEUE_DEPTH;
+            stats.put("saturated", saturated);
+            executorStats.put(entry.getKey(), stats);
+            ready &= !saturated;
+        }
+        body.put("executors", executorStats);
+
+        Map<String, Object> cacheStats = new LinkedHashMap<>();
+        for (Map.Entry<String, LongSupplier> entry : caches.entrySet()) {
+            cacheStats.put(entry.getKey(), entry.getValue().getAsLong());
+        }
+        body.put("caches", cacheStats);
+
+        Map<String, Object> limiterStats = new LinkedHashMap<>();
+        for (Map.Entry<String, Supplier<Map<String, Object>>> entry : limiters.entrySet()) {
+            limiterStats.put(entry.getKey(), entry.getValue().get());
+        }
+        body.put("limiters", limiterStats);
+
+        body.put("status", ready ? "UP" : "DOWN");
+        return body;
+    }
+
+    public static boolean isReady(Map<String, Object> readiness) {
+        return "UP".equals(readiness.get("status"));
+    }
+
+    private static boolean isDatabaseReachable() {
+        long now = System.currentTimeMillis();
+        if (now - lastProbeMillis >= DB_PROBE_INTERVAL_MS && probing.compareAndSet(false, true)) {
+            try {
+                boolean reachable = DatabaseConnection.isReachable(DB_PROBE_TIMEOUT_SECONDS);
+                if (reachable != databaseReachable) {
+                    logger.info("Database reachability changed: reachable=" + reachable);
+                }
+                databaseReachable = reachable;
+                lastProbeMillis = System.currentTimeMillis();
+            } finally {
+                probing.set(false);
+            }
+        }
+        return databaseReachable;
+    }
+}
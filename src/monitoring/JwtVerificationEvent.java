@@ -0,0 +1,17 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("hotel.JwtVerification")
+@Label("JWT Verification")
+@Category({"Hotel", "Security"})
+public class JwtVerificationEvent extends Event {
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Failure")
+    public String failure;
+}
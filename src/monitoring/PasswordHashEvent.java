@@ -0,0 +1,20 @@
+package monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("hotel.PasswordHash")
+@Label("Password Hash")
+@Category({"Hotel", "Security"})
+public class PasswordHashEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Cost")
+    public int cost;
+
+    @Label("Matched")
+    public boolean matched;
+}
@@ -0,0 +1,129 @@
+package monitoring;
+
+import exception.DeadlineExceededException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class RequestContext {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private static final int MAX_SPANS_PER_REQUEST = 512;
+    private static final ThreadLocal<RequestContext> CURRENT = new ThreadLocal<>();
+
+    private final String requestId;
+    private final long startNanos = System.nanoTime();
+    private long deadlineNanos;
+    private boolean hasDeadline;
+    private final Deque<Span> active = new ArrayDeque<>();
+    private final List<Span> finished = new ArrayList<>();
+    private int nextSpanId = 1;
+    private int droppedSpans;
+
+    private RequestContext(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public static RequestContext begin(String incomingRequestId) {
+        String requestId = isValidRequestId(incomingRequestId) ? incomingRequestId : generateRequestId();
+        RequestContext context = new RequestContext(requestId);
+        CURRENT.set(context);
+        return context;
+    }
+
+    public static RequestContext current() {
+        return CURRENT.get();
+    }
+
+    public static String currentRequestId() {
+        RequestContext context = CURRENT.get();
+        return context != null ? context.requestId : null;
+    }
+
+    // Remaining budget of the current request; Long.MAX_VALUE outside a request or when it has no deadline
+    public static long remainingMillis() {
+        RequestContext context = CURRENT.get();
+        return context != null ? context.getRemainingMillis() : Long.MAX_VALUE;
+    }
+
+    public static void checkDeadline(String step) {
+        RequestContext context = CURRENT.get();
+        if (context != null && context.isExpired()) {
+            throw new DeadlineExceededException("Request deadline of " + context.getTimeoutMillis() + " ms exceeded before " + step);
+        }
+    }
+
+    public static void end() {
+        RequestContext context = CURRENT.get();
+        CURRENT.remove();
+        if (context != null) {
+            Tracer.finish(context);
+        }
+    }
+
+    Span startSpan(String name) {
+        Span parent = active.peek();
+        Span span = new Span(this, nextSpanId++, parent != null ? parent.getSpanId() : 0, name);
+        active.push(span);
+        return span;
+    }
+
+    void endSpan(Span span) {
+        active.remove(span);
+        if (finished.size() < MAX_SPANS_PER_REQUEST) {
+            finished.add(span);
+        } else {
+            droppedSpans++;
+        }
+    }
+
+    public Span currentSpan() {
+        Span span = active.peek();
+        return span != null ? span : Span.NOOP;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        hasDeadline = timeoutMillis > 0;
+        deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    public long getTimeoutMillis() {
+        return hasDeadline ? TimeUnit.NANOSECONDS.toMillis(deadlineNanos - startNanos) : 0;
+    }
+
+    public long getRemainingMillis() {
+        return hasDeadline ? TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    public boolean isExpired() {
+        return hasDeadline && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    List<Span> getFinishedSpans() {
+        return finished;
+    }
+
+    int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    private static boolean isValidRequestId(String value) {
+        return value != null && value.matches("[A-Za-z0-9._-]{1,64}");
+    }
+
+    private static String generateRequestId() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,70 @@
+package monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class Span implements AutoCloseable {
+    static final Span NOOP = new Span(null, 0, 0, null);
+
+    private final RequestContext context;
+    private final int spanId;
+    private final int parentId;
+    private final String name;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private long durationMicros = -1;
+    private Map<String, Object> attributes;
+
+    Span(RequestContext context, int spanId, int parentId, String name) {
+        this.context = context;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.startEpochMicros = context != null ? System.currentTimeMillis() * 1000 : 0;
+        this.startNanos = context != null ? System.nanoTime() : 0;
+    }
+
+    public Span attribute(String key, Object value) {
+        if (context == null) {
+            return this;
+        }
+        if (attributes == null) {
+            attributes = new LinkedHashMap<>();
+        }
+        attributes.put(key, value);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (context == null || durationMicros >= 0) {
+            return;
+        }
+        durationMicros = (System.nanoTime() - startNanos) / 1000;
+        context.endSpan(this);
+    }
+
+    public int getSpanId() {
+        return spanId;
+    }
+
+    public int getParentId() {
+        return parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartEpochMicros() {
+        return startEpochMicros;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+}
@@ -0,0 +1,93 @@
+package monitoring;
+
+import com.google.gson.Gson;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+class SpanExporter {
+    private static final Logger logger = Logger.getLogger(SpanExporter.class.getName());
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private final Path file;
+    private final Gson gson = new Gson();
+    private final BlockingQueue<List<Map<String, Object>>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong exportedSpans = new AtomicLong();
+    private final AtomicLong droppedExports = new AtomicLong();
+
+    SpanExporter(String file) {
+        this.file = Paths.get(file);
+        Thread writer = new Thread(this::drain, "span-exporter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    void export(String requestId, List<Span> spans, int droppedSpans) {
+        List<Map<String, Object>> records = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("requestId", requestId);
+            record.put("spanId", span.getSpanId());
+            record.put("parentId", span.getParentId());
+            record.put("name", span.getName());
+            record.put("startEpochMicros", span.getStartEpochMicros());
+            record.put("durationMicros", span.getDurationMicros());
+            if (span.getAttributes() != null) {
+                record.put("attributes", span.getAttributes());
+            }
+            if (droppedSpans > 0 && span.getParentId() == 0) {
+                record.put("droppedSpans", droppedSpans);
+            }
+            records.add(record);
+        }
+        if (!queue.offer(records)) {
+            droppedExports.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            try {
+                List<Map<String, Object>> records = queue.take();
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    do {
+                        for (Map<String, Object> record : records) {
+                            writer.write(gson.toJson(record));
+                            writer.newLine();
+                        }
+                        exportedSpans.addAndGet(records.size());
+                        records = queue.poll();
+                    } while (records != null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to write spans to " + file, e);
+            }
+        }
+    }
+
+    long getExportedSpans() {
+        return exportedSpans.get();
+    }
+
+    long getDroppedExports() {
+        return droppedExports.get();
+    }
+}
@@ -0,0 +1,50 @@
+package monitoring;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Tracer {
+    private static final Dotenv dotenv = Dotenv.load();
+
+    private static final double SAMPLE_RATE = Double.parseDouble(dotenv.get("TRACE_SAMPLE_RATE", "0.01"));
+    private static final long SLOW_THRESHOLD_MS = Long.parseLong(dotenv.get("TRACE_SLOW_THRESHOLD_MS", "1000"));
+    private static final SpanExporter exporter = new SpanExporter(dotenv.get("TRACE_FILE", "traces.jsonl"));
+
+    private Tracer() { }
+
+    // Close the span in a finally block; a try-with-resources whose body never reads the span trips -Xlint:try
+    public static Span span(String name) {
+        RequestContext context = RequestContext.current();
+        if (context == null) {
+            return Span.NOOP;
+        }
+        return context.startSpan(name);
+    }
+
+    public static Span currentSpan() {
+        RequestContext context = RequestContext.current();
+        return context != null ? context.currentSpan() : Span.NOOP;
+    }
+
+    static void finish(RequestContext context) {
+        boolean slow = SLOW_THRESHOLD_MS > 0 && context.getElapsedMillis() >= SLOW_THRESHOLD_MS;
+        boolean sampled = SAMPLE_RATE > 0 && ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE;
+        if (!slow && !sampled) {
+            return;
+        }
+        List<Span> spans = context.getFinishedSpans();
+        if (!spans.isEmpty()) {
+            exporter.export(context.getRequestId(), spans, context.getDroppedSpans());
+        }
+    }
+
+    public static long getExportedSpans() {
+        return exporter.getExportedSpans();
+    }
+
+    public static long getDroppedExports() {
+        return exporter.getDroppedExports();
+    }
+}
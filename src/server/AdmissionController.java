@@ -0,0 +1,265 @@
+package server;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import monitoring.RequestContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/*
+ * Caps the number of requests executing at once. Requests over the limit wait in a bounded queue ordered by
+ * priority and are shed (503) when the queue is full or their wait times out. In adaptive mode the limit
+ * follows AIMD on observed latency: it grows by one while requests finish under the target and the limit is
+ * actually in use, and shrinks by BACKOFF_RATIO whenever one finishes over it.
+ */
+public final class AdmissionController {
+    private static final Logger logger = Logger.getLogger(AdmissionController.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+    private static final double BACKOFF_RATIO = 0.9;
+
+    public enum Priority {
+        CRITICAL, NORMAL, LOW
+    }
+
+    private enum WaiterState {
+        WAITING, GRANTED, REJECTED
+    }
+
+    private static final class Waiter {
+        private final Condition condition;
+        private WaiterState state = WaiterState.WAITING;
+
+        Waiter(Condition condition) {
+            this.condition = condition;
+        }
+    }
+
+    public final class Permit implements AutoCloseable {
+        private final long startNanos = System.nanoTime();
+        private boolean released;
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private static final AdmissionController SHARED = new AdmissionController(
+            Boolean.parseBoolean(dotenv.get("ADMISSION_ENABLED", "true")),
+            "aimd".equalsIgnoreCase(dotenv.get("ADMISSION_LIMIT_MODE", "static")),
+            Integer.parseInt(dotenv.get("ADMISSION_MIN_CONCURRENCY", "4")),
+            Integer.parseInt(dotenv.get("ADMISSION_MAX_CONCURRENCY", "24")),
+            Integer.parseInt(dotenv.get("ADMISSION_QUEUE_CAPACITY", "8")),
+            Long.parseLong(dotenv.get("ADMISSION_QUEUE_TIMEOUT_MS", "500")),
+            Long.parseLong(dotenv.get("ADMISSION_LATENCY_TARGET_MS", "250")),
+            Integer.parseInt(dotenv.get("ADMISSION_RETRY_AFTER_SECONDS", "1"))
+    );
+
+    private final boolean enabled;
+    private final boolean adaptive;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueCapacity;
+    private final long queueTimeoutNanos;
+    private final long latencyTargetNanos;
+    private final int retryAfterSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<ArrayDeque<Waiter>> queues;
+    private int limit;
+    private int inFlight;
+    private int queued;
+    private long admitted;
+    private long rejected;
+
+    public AdmissionController(boolean enabled, boolean adaptive, int minLimit, int maxLimit, int queueCapacity,
+                               long queueTimeoutMillis, long latencyTargetMillis, int retryAfterSeconds) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.enabled = enabled;
+        this.adaptive = adaptive;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.queueCapacity = queueCapacity;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.limit = maxLimit;
+        // One FIFO per priority, indexed by ordinal, most important first
+        this.queues = new ArrayList<>(Priority.values().length);
+        for (int i = 0; i < Priority.values().length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    public static AdmissionController shared() {
+        return SHARED;
+    }
+
+    // Health probes are never queued or shed; null means the request bypasses admission
+    public static Priority classify(String method, String path) {
+        if (path.startsWith("/health")) {
+            return null;
+        }
+        if (path.matches("/api/bookings/\\d+/(checkin|checkout)/?$")) {
+            return Priority.CRITICAL;
+        }
+        if (path.startsWith("/api/admin") || ("GET".equals(method) && path.matches("/api/(bookings|guests|users|rooms)/?$"))) {
+            return Priority.LOW;
+        }
+        return Priority.NORMAL;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    // Returns null when the request is shed
+    public Permit tryAcquire(Priority priority) {
+        if (!enabled) {
+            return new Permit();
+        }
+        lock.lock();
+        try {
+            if (inFlight < limit) {
+                inFlight++;
+                admitted++;
+                return new Permit();
+            }
+            if (queued >= queueCapacity && !evictBelow(priority)) {
+                rejected++;
+                return null;
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            queues.get(priority.ordinal()).addLast(waiter);
+            queued++;
+            long remaining = Math.min(queueTimeoutNanos, TimeUnit.MILLISECONDS.toNanos(RequestContext.remainingMillis()));
+            try {
+                while (waiter.state == WaiterState.WAITING && remaining > 0) {
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (waiter.state == WaiterState.GRANTED) {
+                    inFlight--;
+                    grantWaiters();
+                } else if (waiter.state == WaiterState.WAITING) {
+                    queues.get(priority.ordinal()).remove(waiter);
+                    queued--;
+                }
+                waiter.state = WaiterState.REJECTED;
+            }
+            switch (waiter.state) {
+                case GRANTED:
+                    admitted++;
+                    return new Permit();
+                case WAITING:
+                    queues.get(priority.ordinal()).remove(waiter);
+                    queued--;
+                    rejected++;
+                    return null;
+                default:
+                    rejected++;
+                    return null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("enabled", enabled);
+            stats.put("mode", adaptive ? "aimd" : "static");
+            stats.put("limit", limit);
+            stats.put("inFlight", inFlight);
+            stats.put("queued", queued);
+            stats.put("admitted", admitted);
+            stats.put("rejected", rejected);
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(long elapsedNanos) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            inFlight--;
+            if (adaptive) {
+                adjustLimit(elapsedNanos);
+            }
+            grantWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjustLimit(long elapsedNanos) {
+        int previous = limit;
+        if (elapsedNanos > latencyTargetNanos) {
+            limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+        } else if ((inFlight + 1) * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        if (limit < previous) {
+            logger.fine("Admission limit lowered to " + limit + " after a " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms request");
+        }
+    }
+
+    private void grantWaiters() {
+        while (inFlight < limit) {
+            Waiter next = null;
+            for (ArrayDeque<Waiter> queue : queues) {
+                next = queue.pollFirst();
+                if (next != null) {
+                    break;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+            queued--;
+            inFlight++;
+            next.state = WaiterState.GRANTED;
+            next.condition.signal();
+        }
+    }
+
+    // Makes room for a more important request by shedding the newest waiter of the lowest priority below it
+    private boolean evictBelow(Priority priority) {
+        for (int i = queues.size() - 1; i > priority.ordinal(); i--) {
+            Iterator<Waiter> it = queues.get(i).descendingIterator();
+            if (it.hasNext()) {
+                Waiter victim = it.next();
+                it.remove();
+                queued--;
+                victim.state = WaiterState.REJECTED;
+                victim.condition.signal();
+                return true;
+            }
+        }
+        return false;
+    }
+}
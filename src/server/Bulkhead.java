@@ -0,0 +1,120 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Runs one context's handler on its own bounded pool. The server's executor only hands the exchange over, so a
+ * burst of slow requests on one resource fills that resource's threads and queue and is refused with 503 there,
+ * while the other contexts keep their capacity.
+ */
+public final class Bulkhead implements HttpHandler {
+    private static final Logger logger = Logger.getLogger(Bulkhead.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+    private static final boolean ENABLED = Boolean.parseBoolean(dotenv.get("BULKHEADS_ENABLED", "true"));
+    private static final byte[] REJECTED_BODY = "{\"error\":\"Server is busy, retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final String name;
+    private final HttpHandler delegate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, HttpHandler delegate, int threads, int queueCapacity) {
+        this.name = name;
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                r -> {
+                    Thread thread = new Thread(r, "bulkhead-" + name + "-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    // Sized from BULKHEAD_<NAME>_THREADS and BULKHEAD_<NAME>_QUEUE
+    public static Bulkhead configured(String name, HttpHandler delegate, int defaultThreads, int defaultQueue) {
+        String prefix = "BULKHEAD_" + name.toUpperCase(Locale.ROOT);
+        return new Bulkhead(name, delegate,
+                Integer.parseInt(dotenv.get(prefix + "_THREADS", String.valueOf(defaultThreads))),
+                Integer.parseInt(dotenv.get(prefix + "_QUEUE", String.valueOf(defaultQueue))));
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            executor.execute(() -> run(exchange));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.warning("Bulkhead " + name + " is full, rejecting " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+            reject(exchange);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        int active = executor.getActiveCount();
+        int queued = executor.getQueue().size();
+        stats.put("threads", executor.getMaximumPoolSize());
+        stats.put("active", active);
+        stats.put("queued", queued);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("utilization", (double) (active + queued) / (executor.getMaximumPoolSize() + queueCapacity));
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.sum());
+        stats.put("saturated", active >= executor.getMaximumPoolSize() && queued >= queueCapacity);
+        return stats;
+    }
+
+    private void run(HttpExchange exchange) {
+        try {
+            delegate.handle(exchange);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Unhandled error in bulkhead " + name, e);
+            exchange.close();
+        }
+    }
+
+    private static void reject(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        exchange.sendResponseHeaders(503, REJECTED_BODY.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(REJECTED_BODY);
+        }
+    }
+}
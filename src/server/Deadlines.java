@@ -0,0 +1,45 @@
+package server;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/*
+ * Per-request time budgets. Each route class has a default, and a client may ask for a different budget with
+ * X-Request-Timeout-Ms, capped at DEADLINE_MAX_MS. The budget is stored on the RequestContext, where the
+ * services check it between steps and the connection pool turns the remainder into JDBC query timeouts.
+ */
+public final class Deadlines {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private static final Dotenv dotenv = Dotenv.load();
+    private static final boolean ENABLED = Boolean.parseBoolean(dotenv.get("DEADLINES_ENABLED", "true"));
+    private static final long DEFAULT_MS = Long.parseLong(dotenv.get("DEADLINE_DEFAULT_MS", "5000"));
+    private static final long LIST_MS = Long.parseLong(dotenv.get("DEADLINE_LIST_MS", "15000"));
+    private static final long ADMIN_MS = Long.parseLong(dotenv.get("DEADLINE_ADMIN_MS", "60000"));
+    private static final long MAX_MS = Long.parseLong(dotenv.get("DEADLINE_MAX_MS", "60000"));
+
+    private Deadlines() { }
+
+    // 0 means no deadline
+    public static long timeoutMillis(String method, String path, String requestedTimeout) {
+        if (!ENABLED || path.startsWith("/health")) {
+            return 0;
+        }
+        if (requestedTimeout != null) {
+            try {
+                long requested = Long.parseLong(requestedTimeout.trim());
+                if (requested > 0) {
+                    return Math.min(requested, MAX_MS);
+                }
+            } catch (NumberFormatException ignored) {
+
+            }
+        }
+        if (path.startsWith("/api/admin")) {
+            return ADMIN_MS;
+        }
+        if ("GET".equals(method) && path.matches("/api/(bookings|guests|users|rooms)/?$")) {
+            return LIST_MS;
+        }
+        return DEFAULT_MS;
+    }
+}
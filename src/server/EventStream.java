@@ -0,0 +1,312 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import events.ChangeEvent;
+import events.ChangeFeed;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Server-Sent Events delivery for the ChangeFeed. The request thread only sends the headers and registers the
+ * connection, and frames are written by a small writer pool, so an open stream holds no request thread. Each
+ * connection buffers at most EVENTS_CONNECTION_BUFFER frames: a client that falls further behind is
+ * disconnected and catches up from the feed's history when it reconnects with Last-Event-ID. A connection
+ * that has been quiet for EVENTS_HEARTBEAT_SECONDS gets a comment frame, which keeps proxies from closing it
+ * and shows up clients that are gone. Socket writes block, so a writer stuck on a client that stopped reading
+ * for EVENTS_WRITE_TIMEOUT_SECONDS is interrupted, which closes the channel under it; disconnecting a client
+ * does the same, so a few stalled clients cannot hold every writer thread.
+ */
+public final class EventStream {
+    private static final Logger logger = Logger.getLogger(EventStream.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESET = "event: reset\ndata: {\"reason\":\"Missed events are no longer available, reload the current state\"}\n\n"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final EventStream SHARED = new EventStream(
+            ChangeFeed.shared(),
+            Integer.parseInt(dotenv.get("EVENTS_MAX_CONNECTIONS", "200")),
+            Integer.parseInt(dotenv.get("EVENTS_CONNECTION_BUFFER", "512")),
+            Long.parseLong(dotenv.get("EVENTS_HEARTBEAT_SECONDS", "15")),
+            Long.parseLong(dotenv.get("EVENTS_RETRY_MS", "3000")),
+            Integer.parseInt(dotenv.get("EVENTS_WRITER_THREADS", "4")),
+            Long.parseLong(dotenv.get("EVENTS_WRITE_TIMEOUT_SECONDS", "30"))
+    );
+
+    private final ChangeFeed feed;
+    private final int maxConnections;
+    private final int bufferCapacity;
+    private final long heartbeatNanos;
+    private final long writeTimeoutNanos;
+    private final byte[] retryFrame;
+    private final ThreadPoolExecutor writers;
+    private final ExecutorService closers;
+    private final ScheduledExecutorService heartbeats;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public EventStream(ChangeFeed feed, int maxConnections, int bufferCapacity, long heartbeatSeconds, long retryMillis, int writerThreads,
+                       long writeTimeoutSeconds) {
+        this.feed = feed;
+        this.maxConnections = maxConnections;
+        this.bufferCapacity = bufferCapacity;
+        this.heartbeatNanos = TimeUnit.SECONDS.toNanos(heartbeatSeconds);
+        this.writeTimeoutNanos = TimeUnit.SECONDS.toNanos(writeTimeoutSeconds);
+        this.retryFrame = ("retry: " + retryMillis + "\n\n").getBytes(StandardCharsets.UTF_8);
+        AtomicInteger threadIds = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "event-stream-writer-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Closing writes the final chunk and can block too, so it never waits behind the writers
+        AtomicInteger closerIds = new AtomicInteger();
+        this.closers = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "event-stream-closer-" + closerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (heartbeatSeconds > 0 || writeTimeoutSeconds > 0) {
+            heartbeats.scheduleWithFixedDelay(this::sweep, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    public static EventStream shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return feed.isEnabled();
+    }
+
+    // Returns false without responding when the stream is at capacity; the caller answers 503
+    public boolean open(HttpExchange exchange, String lastEventId) throws IOException {
+        Connection connection = new Connection(exchange);
+        synchronized (this) {
+            if (connections.size() >= maxConnections) {
+                return false;
+            }
+            connections.add(connection);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.getResponseHeaders().set("X-Accel-Buffering", "no");
+        try {
+            exchange.sendResponseHeaders(200, 0);
+        } catch (IOException e) {
+            connections.remove(connection);
+            throw e;
+        }
+        opened.increment();
+
+        List<ChangeEvent> missed = feed.subscribe(connection, lastEventId);
+        List<byte[]> preface = new ArrayList<>();
+        preface.add(retryFrame);
+        if (missed == null) {
+            logger.info("Event stream resume from " + lastEventId + " is not possible, sending reset");
+            preface.add(RESET);
+        } else {
+            for (ChangeEvent event : missed) {
+                preface.add(event.getFrame());
+            }
+        }
+        connection.start(preface);
+        return true;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", feed.isEnabled());
+        stats.put("connections", connections.size());
+        stats.put("maxConnections", maxConnections);
+        stats.put("opened", opened.sum());
+        stats.put("overflowDisconnects", overflowed.sum());
+        stats.put("writeTimeoutDisconnects", timedOut.sum());
+        stats.put("lastEventId", feed.lastEventId());
+        return stats;
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        for (Connection connection : connections) {
+            if (writeTimeoutNanos > 0 && connection.isStalled(now)) {
+                timedOut.increment();
+                logger.warning("Event stream write made no progress for " + TimeUnit.NANOSECONDS.toSeconds(writeTimeoutNanos)
+                        + "s, disconnecting " + connection.exchange.getRemoteAddress());
+                connection.close();
+            } else if (heartbeatNanos > 0 && now - connection.lastWriteNanos >= heartbeatNanos) {
+                connection.enqueue(HEARTBEAT);
+            }
+        }
+    }
+
+    private final class Connection implements ChangeFeed.Listener {
+        private final HttpExchange exchange;
+        private final ArrayBlockingQueue<byte[]> buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private OutputStream out;
+        private volatile List<byte[]> preface;
+        private volatile boolean started;
+        private volatile long lastWriteNanos = System.nanoTime();
+        // The thread doing I/O on this connection, if any, and since when
+        private Thread ioThread;
+        private long ioStartedNanos;
+
+        Connection(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        @Override
+        public void onEvent(ChangeEvent event) {
+            enqueue(event.getFrame());
+        }
+
+        // Live frames queue up behind the replay until it has been handed over
+        void start(List<byte[]> preface) {
+            this.out = exchange.getResponseBody();
+            this.preface = preface;
+            started = true;
+            scheduleDrain();
+        }
+
+        void enqueue(byte[] frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                overflowed.increment();
+                logger.warning("Event stream client fell " + bufferCapacity + " frames behind, disconnecting " + exchange.getRemoteAddress());
+                close();
+                return;
+            }
+            if (started) {
+                scheduleDrain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writers.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+
+        private void drain() {
+            beginIo();
+            try {
+                while (!closed.get()) {
+                    List<byte[]> first = preface;
+                    if (first != null) {
+                        preface = null;
+                        for (byte[] frame : first) {
+                            out.write(frame);
+                            lastWriteNanos = System.nanoTime();
+                        }
+                    }
+                    byte[] frame;
+                    while ((frame = buffer.poll()) != null) {
+                        out.write(frame);
+                        lastWriteNanos = System.nanoTime();
+                    }
+                    out.flush();
+                    lastWriteNanos = System.nanoTime();
+                    draining.set(false);
+                    // A frame queued after the last poll found the flag still set, so it is picked up here
+                    if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Event stream client went away: " + exchange.getRemoteAddress(), e);
+                close();
+            } finally {
+                endIo();
+            }
+        }
+
+        /*
+         * Interrupting a thread blocked in a write on this connection closes the channel under it, which is the
+         * only thing that unblocks it. The exchange is then closed on a closer thread, since listeners run under
+         * the feed's lock. Called again on a closed connection, it interrupts a close that is itself stuck.
+         */
+        void close() {
+            boolean first = closed.compareAndSet(false, true);
+            if (first) {
+                feed.unsubscribe(this);
+            }
+            synchronized (this) {
+                if (ioThread != null && ioThread != Thread.currentThread()) {
+                    ioThread.interrupt();
+                }
+            }
+            if (first) {
+                closers.execute(this::release);
+            }
+        }
+
+        private void release() {
+            beginIo();
+            try {
+                exchange.close();
+            } finally {
+                endIo();
+                connections.remove(this);
+            }
+        }
+
+        // No write has returned within the timeout while one is in progress
+        synchronized boolean isStalled(long now) {
+            return ioThread != null && now - ioStartedNanos > writeTimeoutNanos && now - lastWriteNanos > writeTimeoutNanos;
+        }
+
+        private synchronized void beginIo() {
+            ioThread = Thread.currentThread();
+            ioStartedNanos = System.nanoTime();
+        }
+
+        // Clears an interrupt aimed at this connection so it cannot reach the pool thread's next task
+        private synchronized void endIo() {
+            if (ioThread == Thread.currentThread()) {
+                ioThread = null;
+            }
+            Thread.interrupted();
+        }
+    }
+}
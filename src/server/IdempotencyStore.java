@@ -0,0 +1,243 @@
+package server;
+
+import dao.DAOFactory;
+import dao.IdempotencyDAO;
+import io.github.cdimascio.dotenv.Dotenv;
+import model.IdempotencyRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Remembers the response to each Idempotency-Key so a retried request is answered from the store instead of
+ * being executed again. Recent keys live in a bounded LRU; in JDBC mode every stored response is also written to
+ * the idempotency_key table, so a key survives eviction and restarts until IDEMPOTENCY_TTL_HOURS. A key is
+ * reserved while its first request runs and concurrent repeats are refused; that guard is per process.
+ */
+public final class IdempotencyStore {
+    private static final Logger logger = Logger.getLogger(IdempotencyStore.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_KEY_LENGTH = 255;
+
+    public enum Outcome {
+        RESERVED, REPLAY, MISMATCH, IN_PROGRESS
+    }
+
+    public static final class Lookup {
+        private final Outcome outcome;
+        private final IdempotencyRecord record;
+        private final Reservation reservation;
+
+        Lookup(Outcome outcome, IdempotencyRecord record, Reservation reservation) {
+            this.outcome = outcome;
+            this.record = record;
+            this.reservation = reservation;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public IdempotencyRecord getRecord() {
+            return record;
+        }
+
+        public Reservation getReservation() {
+            return reservation;
+        }
+    }
+
+    // Held by the request that owns the key; the controller's response is captured into it
+    public static final class Reservation {
+        private final String key;
+        private final String requestHash;
+        private int statusCode;
+        private String responseBody;
+
+        Reservation(String key, String requestHash) {
+            this.key = key;
+            this.requestHash = requestHash;
+        }
+
+        public void capture(int statusCode, String responseBody) {
+            this.statusCode = statusCode;
+            this.responseBody = responseBody;
+        }
+    }
+
+    private static final IdempotencyStore SHARED = new IdempotencyStore(
+            Boolean.parseBoolean(dotenv.get("IDEMPOTENCY_ENABLED", "true")),
+            Integer.parseInt(dotenv.get("IDEMPOTENCY_MAX_ENTRIES", "10000")),
+            Duration.ofHours(Long.parseLong(dotenv.get("IDEMPOTENCY_TTL_HOURS", "24"))),
+            DAOFactory.idempotencyDAO()
+    );
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final IdempotencyDAO dao;
+    private final LinkedHashMap<String, IdempotencyRecord> recent;
+    private final Set<String> inFlight = new HashSet<>();
+    private ScheduledExecutorService cleaner;
+
+    public IdempotencyStore(boolean enabled, int maxEntries, Duration ttl, IdempotencyDAO dao) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.dao = dao;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static IdempotencyStore shared() {
+        return SHARED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isValidKey(String key) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x21 || c > 0x7e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The key only matches the same request: method, path and the exact body bytes
+    public static String requestHash(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            byte[] hash = digest.digest(body);
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Lookup begin(String key, String requestHash) {
+        synchronized (this) {
+            IdempotencyRecord record = recent.get(key);
+            if (record != null && isExpired(record)) {
+                recent.remove(key);
+                record = null;
+            }
+            if (record != null) {
+                return matched(record, requestHash);
+            }
+            if (inFlight.contains(key)) {
+                return new Lookup(Outcome.IN_PROGRESS, null, null);
+            }
+            inFlight.add(key);
+        }
+        IdempotencyRecord stored = null;
+        if (dao != null) {
+            try {
+                stored = dao.findByKey(key);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Idempotency lookup failed, executing request", e);
+            }
+        }
+        if (stored != null && !isExpired(stored)) {
+            synchronized (this) {
+                inFlight.remove(key);
+                recent.put(key, stored);
+            }
+            return matched(stored, requestHash);
+        }
+        return new Lookup(Outcome.RESERVED, null, new Reservation(key, requestHash));
+    }
+
+    // Server errors and throttling are not stored, so the client's retry runs again
+    public void finish(Reservation reservation) {
+        if (reservation.responseBody == null || !isStorable(reservation.statusCode)) {
+            release(reservation.key);
+            return;
+        }
+        IdempotencyRecord record = new IdempotencyRecord(reservation.key, reservation.requestHash,
+                reservation.statusCode, reservation.responseBody, LocalDateTime.now());
+        if (dao != null) {
+            try {
+                dao.insert(record);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Failed to persist idempotency key", e);
+            }
+        }
+        synchronized (this) {
+            recent.put(record.getKey(), record);
+            inFlight.remove(record.getKey());
+        }
+    }
+
+    public synchronized void release(String key) {
+        inFlight.remove(key);
+    }
+
+    public synchronized long size() {
+        return recent.size();
+    }
+
+    public synchronized void scheduleCleanup(long intervalMinutes) {
+        if (dao == null || cleaner != null || intervalMinutes <= 0) {
+            return;
+        }
+        cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "idempotency-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleWithFixedDelay(this::deleteExpired, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    private void deleteExpired() {
+        try {
+            dao.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to expire idempotency keys", e);
+        }
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getCreatedAt().plus(ttl).isBefore(LocalDateTime.now());
+    }
+
+    private static boolean isStorable(int statusCode) {
+        if (statusCode >= 200 && statusCode < 300) {
+            return true;
+        }
+        return statusCode >= 400 && statusCode < 500
+                && statusCode != 401 && statusCode != 403 && statusCode != 409 && statusCode != 429;
+    }
+
+    private static Lookup matched(IdempotencyRecord record, String requestHash) {
+        return new Lookup(record.getRequestHash().equals(requestHash) ? Outcome.REPLAY : Outcome.MISMATCH, record, null);
+    }
+}
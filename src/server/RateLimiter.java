@@ -0,0 +1,295 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/*
+ * Per-route token buckets keyed by authenticated user id and by client address. Each bucket is a single
+ * AtomicLong holding its theoretical arrival time (the GCRA form of a token bucket): a request is admitted by
+ * CAS-ing it forward one emission interval, and the bucket is full again once it falls behind the clock, so
+ * there are no locks and no refill timers. The bucket table is capped at RATE_LIMIT_MAX_BUCKETS; full buckets
+ * are dropped first since forgetting them changes nothing.
+ */
+public final class RateLimiter {
+    private static final Logger logger = Logger.getLogger(RateLimiter.class.getName());
+    private static final Dotenv dotenv = Dotenv.load();
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    public static final class Limit {
+        private final int perMinute;
+        private final int burst;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+
+        public Limit(int perMinute, int burst) {
+            if (perMinute <= 0 || burst <= 0) {
+                throw new IllegalArgumentException("Rate limit needs a positive rate and burst: " + perMinute + ":" + burst);
+            }
+            this.perMinute = perMinute;
+            this.burst = burst;
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+            this.toleranceNanos = intervalNanos * burst;
+        }
+
+        // "<per minute>:<burst>", or "off"
+        public static Limit parse(String value) {
+            if (value == null || value.isBlank() || "off".equalsIgnoreCase(value.trim())) {
+                return null;
+            }
+            String[] parts = value.trim().split(":");
+            int perMinute = Integer.parseInt(parts[0].trim());
+            return new Limit(perMinute, parts.length > 1 ? Integer.parseInt(parts[1].trim()) : Math.max(1, perMinute / 6));
+        }
+
+        public int getPerMinute() {
+            return perMinute;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+    }
+
+    public static final class Rule {
+        private final String name;
+        private final String method;
+        private final Pattern path;
+        private final Limit perUser;
+        private final Limit perAddress;
+
+        public Rule(String name, String method, String pathRegex, Limit perUser, Limit perAddress) {
+            this.name = name;
+            this.method = method;
+            this.path = Pattern.compile(pathRegex);
+            this.perUser = perUser;
+            this.perAddress = perAddress;
+        }
+
+        boolean matches(String requestMethod, String requestPath) {
+            return (method == null || method.equals(requestMethod)) && path.matcher(requestPath).matches();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static final class Decision {
+        private final boolean allowed;
+        private final int limit;
+        private final int remaining;
+        private final long resetNanos;
+        private final long retryAfterNanos;
+
+        Decision(boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetNanos = resetNanos;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public int getRemaining() {
+            return remaining;
+        }
+
+        public long getResetSeconds() {
+            return toSecondsCeil(resetNanos);
+        }
+
+        public long getRetryAfterSeconds() {
+            return Math.max(1, toSecondsCeil(retryAfterNanos));
+        }
+
+        private static long toSecondsCeil(long nanos) {
+            return nanos <= 0 ? 0 : (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+
+    private static final boolean TRUST_FORWARDED_FOR = Boolean.parseBoolean(dotenv.get("RATE_LIMIT_TRUST_FORWARDED_FOR", "false"));
+
+    private static volatile RateLimiter shared = new RateLimiter(
+            Boolean.parseBoolean(dotenv.get("RATE_LIMIT_ENABLED", "true")),
+            Integer.parseInt(dotenv.get("RATE_LIMIT_MAX_BUCKETS", "100000")),
+            defaultRules()
+    );
+
+    private final boolean enabled;
+    private final int maxBuckets;
+    private final List<Rule> rules;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public RateLimiter(boolean enabled, int maxBuckets, List<Rule> rules) {
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+        this.rules = List.copyOf(rules);
+    }
+
+    public static RateLimiter shared() {
+        return shared;
+    }
+
+    // In-process load tests and benchmarks come from one address and would mostly measure 429s; they install a
+    // disabled limiter before the server handles anything
+    public static void setShared(RateLimiter limiter) {
+        shared = limiter;
+    }
+
+    public static RateLimiter disabled() {
+        return new RateLimiter(false, 0, List.of());
+    }
+
+    // Login and registration run BCrypt, so they are limited per address only and much tighter than the rest
+    private static List<Rule> defaultRules() {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(rule("login", "POST", "/api/auth/(login|register)/?", null, "10:5"));
+        rules.add(rule("list", "GET", "/api/(bookings|guests|users|rooms)/?", "60:10", "240:40"));
+        rules.add(rule("default", null, "/api/.*", "600:100", "1200:200"));
+        return rules;
+    }
+
+    private static Rule rule(String name, String method, String pathRegex, String userDefault, String addressDefault) {
+        String prefix = "RATE_LIMIT_" + name.toUpperCase(Locale.ROOT);
+        return new Rule(name, method, pathRegex,
+                Limit.parse(dotenv.get(prefix + "_USER", userDefault == null ? "off" : userDefault)),
+                Limit.parse(dotenv.get(prefix + "_ADDRESS", addressDefault == null ? "off" : addressDefault)));
+    }
+
+    // Only behind a trusted proxy may X-Forwarded-For be believed; otherwise a client could pick its own bucket
+    public static String clientAddress(HttpExchange exchange) {
+        if (TRUST_FORWARDED_FOR) {
+            String forwarded = exchange.getRequestHeaders().getFirst("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        InetSocketAddress remote = exchange.getRemoteAddress();
+        return remote == null ? "unknown" : remote.getAddress() == null ? remote.getHostString() : remote.getAddress().getHostAddress();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // userId <= 0 means the request carries no valid token; null means no rule applies
+    public Decision check(String method, String path, int userId, String address) {
+        if (!enabled) {
+            return null;
+        }
+        Rule rule = null;
+        for (Rule candidate : rules) {
+            if (candidate.matches(method, path)) {
+                rule = candidate;
+                break;
+            }
+        }
+        if (rule == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        Decision decision = null;
+        if (rule.perUser != null && userId > 0) {
+            decision = acquire(rule.name + "|u:" + userId, rule.perUser, now);
+        }
+        if (rule.perAddress != null && (decision == null || decision.allowed)) {
+            Decision byAddress = acquire(rule.name + "|a:" + address, rule.perAddress, now);
+            if (decision == null || !byAddress.allowed || byAddress.remaining < decision.remaining) {
+                decision = byAddress;
+            }
+        }
+        if (decision != null) {
+            (decision.allowed ? allowed : limited).increment();
+        }
+        return decision;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("buckets", buckets.size());
+        stats.put("maxBuckets", maxBuckets);
+        stats.put("allowed", allowed.sum());
+        stats.put("limited", limited.sum());
+        stats.put("evicted", evicted.sum());
+        return stats;
+    }
+
+    private Decision acquire(String key, Limit limit, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(EMPTY);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+                if (buckets.size() > maxBuckets) {
+                    sweep(now);
+                }
+            }
+        }
+        while (true) {
+            long tat = bucket.get();
+            long next = (tat == EMPTY || tat - now < 0 ? now : tat) + limit.intervalNanos;
+            long allowAt = next - limit.toleranceNanos;
+            if (allowAt - now > 0) {
+                return new Decision(false, limit.burst, 0, tat - now, allowAt - now);
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                int remaining = (int) ((limit.toleranceNanos - (next - now)) / limit.intervalNanos);
+                return new Decision(true, limit.burst, remaining, next - now, 0);
+            }
+        }
+    }
+
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = buckets.size();
+            buckets.values().removeIf(bucket -> {
+                long tat = bucket.get();
+                return tat == EMPTY || tat - now <= 0;
+            });
+            // Every bucket is still draining: shed arbitrary ones down to 90% rather than grow without bound
+            int target = maxBuckets - maxBuckets / 10;
+            Iterator<AtomicLong> it = buckets.values().iterator();
+            while (buckets.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+            int removed = before - buckets.size();
+            evicted.add(removed);
+            logger.fine("Rate limit sweep removed " + removed + " buckets");
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
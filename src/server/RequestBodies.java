@@ -0,0 +1,128 @@
+package server;
+
+import com.google.gson.stream.JsonReader;
+import com.sun.net.httpserver.HttpExchange;
+import exception.PayloadTooLargeException;
+import io.github.cdimascio.dotenv.Dotenv;
+import json.JsonMapper;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Parses JSON request bodies straight off the exchange stream, so a body is never materialised as a String
+ * and never read past REQUEST_MAX_BODY_BYTES. Oversized bodies surface as PayloadTooLargeException (413).
+ */
+public final class RequestBodies {
+    private static final Dotenv dotenv = Dotenv.load();
+    private static final long MAX_BYTES = Long.parseLong(dotenv.get("REQUEST_MAX_BODY_BYTES", "65536"));
+
+    private static final int MIN_DECODE_BUFFER = 64;
+    private static final int MAX_DECODE_BUFFER = 8192;
+
+    private RequestBodies() { }
+
+    public static long maxBytes() {
+        return MAX_BYTES;
+    }
+
+    // Returns null for an empty body, like Gson.fromJson("")
+    public static <T> T read(HttpExchange exchange, Class<T> type) throws IOException {
+        try (JsonReader reader = open(exchange)) {
+            return JsonMapper.GSON.fromJson(reader, type);
+        }
+    }
+
+    public static <T> T merge(HttpExchange exchange, T target) throws IOException {
+        try (JsonReader reader = open(exchange)) {
+            return JsonMapper.merge(reader, target);
+        }
+    }
+
+    // For callers that need the raw bytes (e.g. to hash them); same limit as the parsing path
+    public static byte[] readBytes(HttpExchange exchange) throws IOException {
+        if (contentLength(exchange) > MAX_BYTES) {
+            throw new PayloadTooLargeException(MAX_BYTES);
+        }
+        try (InputStream body = new LimitedInputStream(exchange.getRequestBody(), MAX_BYTES)) {
+            return body.readAllBytes();
+        }
+    }
+
+    private static JsonReader open(HttpExchange exchange) {
+        long length = contentLength(exchange);
+        if (length > MAX_BYTES) {
+            throw new PayloadTooLargeException(MAX_BYTES);
+        }
+        // InputStreamReader always allocates an 8 KiB byte buffer; most bodies are a few hundred bytes
+        int bufferSize = (int) (length < 0 ? MAX_DECODE_BUFFER : Math.max(MIN_DECODE_BUFFER, Math.min(length, MAX_DECODE_BUFFER)));
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        InputStream body = new LimitedInputStream(exchange.getRequestBody(), MAX_BYTES);
+        JsonReader reader = new JsonReader(Channels.newReader(Channels.newChannel(body), decoder, bufferSize));
+        reader.setLenient(true);
+        return reader;
+    }
+
+    private static long contentLength(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Chunked bodies carry no Content-Length, so the limit is also enforced while reading
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0 && --remaining < 0) {
+                throw new PayloadTooLargeException(limit);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, (int) Math.min(length, remaining + 1));
+            if (n > 0 && (remaining -= n) < 0) {
+                throw new PayloadTooLargeException(limit);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining + 1));
+            if ((remaining -= skipped) < 0) {
+                throw new PayloadTooLargeException(limit);
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.github.cdimascio.dotenv.Dotenv;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/*
+ * Accept-Encoding negotiation and streaming gzip/deflate for response bodies. Deflaters are kept per worker
+ * thread and reset between responses, since each one holds a few hundred KiB of native zlib state.
+ */
+public final class ResponseCompression {
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private static final Dotenv dotenv = Dotenv.load();
+    private static final boolean ENABLED = Boolean.parseBoolean(dotenv.get("COMPRESSION_ENABLED", "true"));
+    private static final int MIN_BYTES = Integer.parseInt(dotenv.get("COMPRESSION_MIN_BYTES", "1024"));
+    private static final int LEVEL = Integer.parseInt(dotenv.get("COMPRESSION_LEVEL", "6"));
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<Deflater> RAW_DEFLATERS = ThreadLocal.withInitial(() -> new Deflater(LEVEL, true));
+    private static final ThreadLocal<Deflater> ZLIB_DEFLATERS = ThreadLocal.withInitial(() -> new Deflater(LEVEL, false));
+
+    private ResponseCompression() { }
+
+    // Picks the encoding for a response of roughly length bytes, or null to send it as is
+    public static String negotiate(HttpExchange exchange, int length) {
+        if (!ENABLED) {
+            return null;
+        }
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+        if (length < MIN_BYTES || "HEAD".equals(exchange.getRequestMethod())) {
+            return null;
+        }
+        return negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+    }
+
+    public static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double wildcard = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = quality(params);
+            switch (coding) {
+                case "gzip":
+                case "x-gzip":
+                    gzip = Math.max(gzip, q);
+                    break;
+                case "deflate":
+                    deflate = Math.max(deflate, q);
+                    break;
+                case "*":
+                    wildcard = q;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (gzip < 0) {
+            gzip = wildcard;
+        }
+        if (deflate < 0) {
+            deflate = wildcard;
+        }
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    public static OutputStream wrap(OutputStream out, String encoding) throws IOException {
+        switch (encoding) {
+            case GZIP:
+                return new GzipStream(out, reset(RAW_DEFLATERS.get()));
+            case DEFLATE:
+                return new DeflaterOutputStream(out, reset(ZLIB_DEFLATERS.get()), BUFFER_SIZE);
+            default:
+                throw new IllegalArgumentException("Unsupported content encoding: " + encoding);
+        }
+    }
+
+    private static double quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static Deflater reset(Deflater deflater) {
+        deflater.reset();
+        return deflater;
+    }
+
+    // GZIPOutputStream always creates (and ends) its own Deflater, so the gzip framing is written here around a pooled raw one
+    private static final class GzipStream extends DeflaterOutputStream {
+        private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+        private final CRC32 crc = new CRC32();
+
+        GzipStream(OutputStream out, Deflater deflater) throws IOException {
+            super(out, deflater, BUFFER_SIZE);
+            out.write(HEADER);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            super.write(buffer, offset, length);
+            crc.update(buffer, offset, length);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (def.finished()) {
+                return;
+            }
+            super.finish();
+            int checksum = (int) crc.getValue();
+            int size = (int) def.getBytesRead();
+            out.write(new byte[] {
+                    (byte) checksum, (byte) (checksum >>> 8), (byte) (checksum >>> 16), (byte) (checksum >>> 24),
+                    (byte) size, (byte) (size >>> 8), (byte) (size >>> 16), (byte) (size >>> 24)
+            });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/*
+ * Rejection policy for the HttpServer executor. When its threads and queue are full, an exchange is handed to a
+ * small overflow pool instead of running on the dispatcher thread, which would stall every other connection.
+ * Handlers wrapped with guard() answer 503 there straight away; /health is not wrapped and is still served, so
+ * probes see a busy server rather than a hung one. If the overflow pool is full too, the task is refused and
+ * the server closes the connection.
+ */
+public final class ServerOverflow implements RejectedExecutionHandler {
+    private static final Logger logger = Logger.getLogger(ServerOverflow.class.getName());
+    private static final byte[] REJECTED_BODY = "{\"error\":\"Server is busy, retry later\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final ThreadPoolExecutor overflow;
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ServerOverflow(int threads, int queueCapacity) {
+        AtomicInteger threadIds = new AtomicInteger();
+        this.overflow = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> new OverflowThread(r, "http-overflow-" + threadIds.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        try {
+            overflow.execute(task);
+        } catch (RuntimeException e) {
+            dropped.increment();
+            logger.warning("HTTP overflow pool is full, dropping a connection");
+            throw e;
+        }
+    }
+
+    public HttpHandler guard(HttpHandler handler) {
+        return exchange -> {
+            if (Thread.currentThread() instanceof OverflowThread) {
+                shed.increment();
+                logger.warning("Server is saturated, rejecting " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+                reject(exchange);
+                return;
+            }
+            handler.handle(exchange);
+        };
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", overflow.getMaximumPoolSize());
+        stats.put("active", overflow.getActiveCount());
+        stats.put("queued", overflow.getQueue().size());
+        stats.put("shed", shed.sum());
+        stats.put("dropped", dropped.sum());
+        return stats;
+    }
+
+    private static void reject(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.getResponseHeaders().set("Retry-After", "1");
+        exchange.sendResponseHeaders(503, REJECTED_BODY.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(REJECTED_BODY);
+        }
+    }
+
+    private static final class OverflowThread extends Thread {
+        OverflowThread(Runnable task, String name) {
+            super(task, name);
+            setDaemon(true);
+        }
+    }
+}
@@ -1,215 +1,772 @@
 package service;
 
 import dao.BookingDAO;
+import dao.DAOFactory;
 import dao.RoomDAO;
+import events.ChangeFeed;
 import exception.*;
+import journal.BookingEventType;
+import journal.BookingJournal;
+import dto.BatchOperation;
+import dto.BatchResult;
 import model.Booking;
 import model.BookingStatus;
+import model.Room;
 import model.RoomStatus;
-
+import monitoring.BookingLifecycleEvent;
+import monitoring.RequestContext;
+import monitoring.Span;
+import monitoring.Tracer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Date;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public class BookingService {
     private final static Logger logger = Logger.getLogger(BookingService.class.getName());
     private final BookingDAO bookingDAO;
-    private final RoomService roomService = new RoomService();
+    private final RoomService roomService;
+    private final BookingJournal journal;
+    private final ChangeFeed changes = ChangeFeed.shared();
 
-    public BookingService(BookingDAO bookingDAO) {
+    public BookingService(BookingDAO bookingDAO, RoomService roomService, BookingJournal journal) {
         this.bookingDAO = bookingDAO;
+        this.roomService = roomService;
+        this.journal = journal;
+    }
+
+    public BookingService(BookingDAO bookingDAO, RoomService roomService) {
+        this(bookingDAO, roomService, BookingJournal.shared());
+    }
+
+    public BookingService(BookingDAO bookingDAO) {
+        this(bookingDAO, new RoomService());
     }
 
     public BookingService() {
-        this(new BookingDAO());
+        this(DAOFactory.bookingDAO());
     }
 
     public Booking getBookingById(int id) throws DAOException, NotFoundException {
-        return bookingDAO.findById(id);
+        Span span = Tracer.span("BookingService.getBookingById");
+        try {
+            return bookingDAO.findById(id);
+        } finally {
+            span.close();
+        }
     }
 
     public List<Booking> getAllBookings() throws DAOException {
-        return bookingDAO.getAll();
+        Span span = Tracer.span("BookingService.getAllBookings");
+        try {
+            return bookingDAO.getAll();
+        } finally {
+            span.close();
+        }
     }
 
     public void createBooking(Booking booking) throws DAOException, NotFoundException, BookingDateInvalidException, RoomUnavailableException, GuestHasActiveBookingException, CapacityExceededException, InvalidDateRangeException {
-        logger.info("Attempting to create booking for guestId=" + booking.getGuestId() + ", roomId=" + booking.getRoomId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+        BookingLifecycleEvent event = BookingLifecycleEvent.start("create", booking);
+        boolean succeeded = false;
+        Span span = Tracer.span("BookingService.createBooking");
+        try {
+            logger.info("Attempting to create booking for guestId=" + booking.getGuestId() + ", roomId=" + booking.getRoomId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+
+            if (!isDateValid(booking.getCheckIn(), booking.getCheckOut())) {
+                logger.warning("Invalid booking dates: checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+                throw new BookingDateInvalidException();
+            }
+            RequestContext.checkDeadline("availability check");
+            if (!isRoomAvailable(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut(), null)) {
+                logger.warning("Room unavailable: roomId=" + booking.getRoomId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+                throw new RoomUnavailableException();
+            }
+            RequestContext.checkDeadline("active booking check");
+            if (hasGuestActiveBooking(booking.getGuestId())) {
+                logger.warning("Guest has active booking: guestId=" + booking.getGuestId());
+                throw new GuestHasActiveBookingException();
+            }
+
+            RequestContext.checkDeadline("capacity check");
+            int extraGuests = roomService.getAllowedExtraGuests(booking.getRoomId());
+            if (!verifyCapacity(extraGuests, booking.getRoomId())) {
+                logger.warning("Capacity exceeded: roomId=" + booking.getRoomId() + ", extraGuests=" + extraGuests);
+                throw new CapacityExceededException();
+            }
+
+            RequestContext.checkDeadline("pricing");
+            booking.setTotalPrice(calculateTotalPrice(booking, extraGuests));
+            booking.setStatus(BookingStatus.PENDING);
+            // Last check before writing; once a booking write starts, the follow-up writes are not abandoned halfway
+            RequestContext.checkDeadline("writing the booking");
+            bookingDAO.insert(booking);
+            journal.record(BookingEventType.CREATED, booking);
+            changes.bookingChanged(BookingEventType.CREATED, booking);
+            logger.info("Booking created successfully: bookingId=" + booking.getId());
+            succeeded = true;
+        } finally {
+            span.close();
+            event.finish(booking, succeeded);
+        }
+    }
 
-        if (!isDateValid(booking.getCheckIn(), booking.getCheckOut())) {
-            logger.warning("Invalid booking dates: checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
-            throw new BookingDateInvalidException();
+    public void updateBooking(Booking booking) throws DAOException, NotFoundException, BookingDateInvalidException, RoomUnavailableException, CapacityExceededException, InvalidDateRangeException {
+        BookingLifecycleEvent event = BookingLifecycleEvent.start("update", booking);
+        boolean succeeded = false;
+        Span span = Tracer.span("BookingService.updateBooking");
+        try {
+            logger.info("Attempting to update booking for guestId=" + booking.getGuestId() + ", roomId=" + booking.getRoomId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+
+            if (!isDateValid(booking.getCheckIn(), booking.getCheckOut())) {
+                logger.warning("Invalid booking dates: checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+                throw new BookingDateInvalidException();
+            }
+            RequestContext.checkDeadline("availability check");
+            if (!isRoomAvailable(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut(), booking.getId())) {
+                logger.warning("Room unavailable: roomId=" + booking.getRoomId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+                throw new RoomUnavailableException();
+            }
+
+            RequestContext.checkDeadline("capacity check");
+            int extraGuests = roomService.getAllowedExtraGuests(booking.getRoomId());
+            if (!verifyCapacity(extraGuests, booking.getRoomId())) {
+                logger.warning("Capacity exceeded: roomId=" + booking.getRoomId() + ", extraGuests=" + extraGuests);
+                throw new CapacityExceededException();
+            }
+
+            RequestContext.checkDeadline("pricing");
+            booking.setTotalPrice(calculateTotalPrice(booking, extraGuests));
+            RequestContext.checkDeadline("writing the booking");
+            bookingDAO.update(booking);
+            journal.record(BookingEventType.REPRICED, booking);
+            changes.bookingChanged(BookingEventType.REPRICED, booking);
+            logger.info("Booking updated successfully: bookingId=" + booking.getId());
+            succeeded = true;
+        } finally {
+            span.close();
+            event.finish(booking, succeeded);
         }
-        if (!isRoomAvailable(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut(), null)) {
-            logger.warning("Room unavailable: roomId=" + booking.getRoomId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
-            throw new RoomUnavailableException();
+    }
+
+    public void confirmBooking(Booking booking) throws DAOException, NotFoundException, NotPendingBookingException, InvalidStatusException {
+        BookingLifecycleEvent event = BookingLifecycleEvent.start("confirm", booking);
+        boolean succeeded = false;
+        Span span = Tracer.span("BookingService.confirmBooking");
+        try {
+            logger.info("Attempting to confirm booking: bookingId=" + booking.getId());
+
+            if (booking.getStatus() != BookingStatus.PENDING) {
+                logger.warning("Cannot confirm booking not pending: bookingId=" + booking.getId());
+                throw new NotPendingBookingException();
+            }
+
+            RequestContext.checkDeadline("writing the booking");
+            bookingDAO.updateStatus(booking.getId(), BookingStatus.CONFIRMED);
+            journal.record(BookingEventType.CONFIRMED, booking);
+            changes.bookingChanged(BookingEventType.CONFIRMED, booking);
+            roomService.updateRoomStatus(booking.getRoomId(), RoomStatus.OCCUPIED.name());
+            logger.info("Booking confirmed successfully: bookingID=" + booking.getId());
+            succeeded = true;
+        } finally {
+            span.close();
+            event.finish(booking, succeeded);
         }
-        if (hasGuestActiveBooking(booking.getGuestId())) {
-            logger.warning("Guest has active booking: guestId=" + booking.getGuestId());
-            throw new GuestHasActiveBookingException();
+    }
+
+    public void checkInBooking(Booking booking) throws DAOException, NotFoundException, NotConfirmedBookingException, InvalidCheckInDateException {
+        BookingLifecycleEvent event = BookingLifecycleEvent.start("check-in", booking);
+        boolean succeeded = false;
+        Span span = Tracer.span("BookingService.checkInBooking");
+        try {
+            logger.info("Attempting to check-in booking: bookingId=" + booking.getId());
+
+            if (booking.getStatus() != BookingStatus.CONFIRMED) {
+                logger.warning("Cannot check-in booking not confirmed: bookingId=" + booking.getId());
+                throw new NotConfirmedBookingException();
+            }
+
+            long today = LocalDate.now().toEpochDay();
+            if (today < booking.getCheckInDay() || today >= booking.getCheckOutDay()) {
+                logger.warning("Cannot check-in booking outside of a valid date range: bookingId=" + booking.getId());
+                throw new InvalidCheckInDateException();
+            }
+
+            RequestContext.checkDeadline("writing the booking");
+            bookingDAO.updateStatus(booking.getId(), BookingStatus.CHECKED_IN);
+            journal.record(BookingEventType.CHECKED_IN, booking);
+            changes.bookingChanged(BookingEventType.CHECKED_IN, booking);
+            logger.info("Booking checked-in successfully: bookingID=" + booking.getId());
+            succeeded = true;
+        } finally {
+            span.close();
+            event.finish(booking, succeeded);
         }
+    }
 
-        int extraGuests = roomService.getAllowedExtraGuests(booking.getRoomId());
-        if (!verifyCapacity(extraGuests, booking.getRoomId())) {
-            logger.warning("Capacity exceeded: roomId=" + booking.getRoomId() + ", extraGuests=" + extraGuests);
-            throw new CapacityExceededException();
+    public void checkOutBooking(Booking booking) throws DAOException, NotFoundException, NotCheckedInBookingException, InvalidStatusException {
+        BookingLifecycleEvent event = BookingLifecycleEvent.start("check-out", booking);
+        boolean succeeded = false;
+        Span span = Tracer.span("BookingService.checkOutBooking");
+        try {
+            logger.info("Attempting to check-out booking: bookingId=" + booking.getId());
+
+            if (booking.getStatus() != BookingStatus.CHECKED_IN) {
+                logger.warning("Cannot check-out booking not checked-in: bookingId=" + booking.getId());
+                throw new NotCheckedInBookingException();
+            }
+
+            RequestContext.checkDeadline("writing the booking");
+            bookingDAO.updateStatus(booking.getId(), BookingStatus.CHECKED_OUT);
+            journal.record(BookingEventType.CHECKED_OUT, booking);
+            changes.bookingChanged(BookingEventType.CHECKED_OUT, booking);
+            roomService.updateRoomStatus(booking.getRoomId(), RoomStatus.AVAILABLE.name());
+            logger.info("Booking checked-out successfully: bookingID=" + booking.getId());
+            succeeded = true;
+        } finally {
+            span.close();
+            event.finish(booking, succeeded);
         }
+    }
 
-        booking.setTotalPrice(calculateTotalPrice(booking, extraGuests));
-        booking.setStatus(BookingStatus.PENDING);
-        bookingDAO.insert(booking);
-        logger.info("Booking created successfully: bookingId=" + booking.getId());
+    public void cancelBooking(Booking booking) throws DAOException, NotFoundException, CannotCancelBookingException, InvalidStatusException {
+        BookingLifecycleEvent event = BookingLifecycleEvent.start("cancel", booking);
+        boolean succeeded = false;
+        Span span = Tracer.span("BookingService.cancelBooking");
+        try {
+            logger.info("Attempting to cancel booking: bookingId=" + booking.getId());
+
+            if (booking.getStatus() == BookingStatus.CHECKED_IN || booking.getStatus() == BookingStatus.CHECKED_OUT) {
+                logger.warning("Cannot cancel booking after check-in: bookingId=" + booking.getId());
+                throw new CannotCancelBookingException(true, false);
+            }
+            if (!canCancel(booking)) {
+                logger.warning("Cannot cancel booking 24 hours before check-in: bookingId=" + booking.getId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+                throw new CannotCancelBookingException(false, true);
+            }
+
+            RequestContext.checkDeadline("writing the booking");
+            bookingDAO.updateStatus(booking.getId(), BookingStatus.CANCELLED);
+            journal.record(BookingEventType.CANCELLED, booking);
+            changes.bookingChanged(BookingEventType.CANCELLED, booking);
+            roomService.updateRoomStatus(booking.getRoomId(), RoomStatus.AVAILABLE.name());
+            logger.info("Booking cancelled successfully: bookingID=" + booking.getId());
+            succeeded = true;
+        } finally {
+            span.close();
+            event.finish(booking, succeeded);
+        }
     }
 
-    public void updateBooking(Booking booking) throws DAOException, NotFoundException, BookingDateInvalidException, RoomUnavailableException, CapacityExceededException, InvalidDateRangeException {
-        logger.info("Attempting to update booking for guestId=" + booking.getGuestId() + ", roomId=" + booking.getRoomId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
+    public void updateBookingStatus(int id, String status) throws DAOException, NotFoundException, BookingException, InvalidStatusException {
+        Span span = Tracer.span("BookingService.updateBookingStatus");
+        try {
+            logger.info("Attempting to update booking status: bookingId=" + id + ", newStatus=" + status);
+            BookingStatus newStatus = BookingStatus.fromString(status);
+            bookingDAO.updateStatus(id, newStatus);
+            journal.recordStatusChange(id, newStatus);
+            changes.bookingStatusChanged(id, newStatus);
+            logger.info("Booking status updated successfully: bookingId=" + id + ", newStatus=" + newStatus);
+        } finally {
+            span.close();
+        }
+    }
 
-        if (!isDateValid(booking.getCheckIn(), booking.getCheckOut())) {
-            logger.warning("Invalid booking dates: checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
-            throw new BookingDateInvalidException();
+    public void deleteBooking(int id) throws DAOException, NotFoundException {
+        Span span = Tracer.span("BookingService.deleteBooking");
+        try {
+            logger.info("Attempting to delete booking: bookingId=" + id);
+            bookingDAO.delete(id);
+            journal.recordDeletion(id);
+            changes.bookingDeleted(id);
+            logger.info("Booking deleted successfully: bookingId=" + id);
+        } finally {
+            span.close();
         }
-        if (!isRoomAvailable(booking.getRoomId(), booking.getCheckIn(), booking.getCheckOut(), booking.getId())) {
-            logger.warning("Room unavailable: roomId=" + booking.getRoomId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
-            throw new RoomUnavailableException();
+    }
+
+    /*
+     * Runs a batch of create/confirm/cancel operations. Every operation is validated first, with one overlap query
+     * for all rooms being booked, one room lookup per distinct room, and overlaps between the batch's own creates
+     * checked in memory. The survivors are then written by a single BookingDAO.applyBatch call, which is one
+     * transaction and re-checks the overlaps; if a concurrent write got there first nothing is written and the
+     * valid operations report 409. In atomic mode any failure means nothing is written and they report 424.
+     */
+    public List<BatchResult> executeBatch(List<BatchOperation> operations, boolean atomic, Predicate<Booking> canAccess) throws DAOException {
+        Span span = Tracer.span("BookingService.executeBatch");
+        try {
+            logger.info("Attempting booking batch: operations=" + operations.size() + ", atomic=" + atomic);
+            BatchPlan plan = new BatchPlan(loadOccupancy(operations));
+            List<BatchResult> results = new ArrayList<>(operations.size());
+            List<Booking> inserts = new ArrayList<>();
+            List<Booking> statusChanges = new ArrayList<>();
+            List<BatchResult> written = new ArrayList<>();
+            boolean failed = false;
+
+            for (int i = 0; i < operations.size(); i++) {
+                BatchOperation operation = operations.get(i);
+                String op = operation == null || operation.getOp() == null ? null : operation.getOp().toLowerCase(Locale.ROOT);
+                BatchResult result;
+                try {
+                    if (op == null) {
+                        throw new BookingException("Missing operation");
+                    }
+                    switch (op) {
+                        case "create":
+                            Booking created = planCreate(operation.getBooking(), plan);
+                            inserts.add(created);
+                            result = BatchResult.succeeded(i, op, 201, created);
+                            break;
+                        case "confirm":
+                        case "cancel":
+                            Booking current = plan.current(operation.getBookingId());
+                            if (!canAccess.test(current)) {
+                                result = BatchResult.failed(i, op, 403, "Access denied");
+                                break;
+                            }
+                            Booking changed = "confirm".equals(op) ? planConfirm(current) : planCancel(current);
+                            current.setStatus(changed.getStatus());
+                            statusChanges.add(changed);
+                            result = BatchResult.succeeded(i, op, 200, changed);
+                            break;
+                        default:
+                            throw new BookingException("Unknown operation: " + operation.getOp());
+                    }
+                } catch (ValidationException e) {
+                    result = BatchResult.failed(i, op, 400, e.getMessage());
+                } catch (NotFoundException e) {
+                    result = BatchResult.failed(i, op, 404, e.getMessage());
+                }
+                if (result.isSucceeded()) {
+                    written.add(result);
+                } else {
+                    failed = true;
+                }
+                results.add(result);
+            }
+
+            if (failed && atomic) {
+                for (BatchResult result : written) {
+                    result.setStatus(424);
+                    result.setBooking(null);
+                    result.setError("Not applied: another operation in the batch failed");
+                }
+                logger.warning("Booking batch rejected: operations=" + operations.size());
+                return results;
+            }
+            if (written.isEmpty()) {
+                return results;
+            }
+
+            RequestContext.checkDeadline("writing the batch");
+            String conflict;
+            try {
+                conflict = bookingDAO.applyBatch(inserts, statusChanges) ? null : "a room was booked concurrently, retry the batch";
+            } catch (NotFoundException e) {
+                // A booking was deleted between validation and the write
+                conflict = e.getMessage();
+            }
+            if (conflict != null) {
+                // The transaction was rolled back, so none of the batch was written
+                for (BatchResult result : written) {
+                    result.setStatus(409);
+                    result.setBooking(null);
+                    result.setError("Not applied: " + conflict);
+                }
+                logger.warning("Booking batch rolled back: " + conflict);
+                return results;
+            }
+            recordBatch(inserts, statusChanges);
+            logger.info("Booking batch applied: created=" + inserts.size() + ", statusChanges=" + statusChanges.size() + ", failed=" + (results.size() - written.size()));
+            return results;
+        } finally {
+            span.close();
         }
+    }
 
-        int extraGuests = roomService.getAllowedExtraGuests(booking.getRoomId());
-        if (!verifyCapacity(extraGuests, booking.getRoomId())) {
-            logger.warning("Capacity exceeded: roomId=" + booking.getRoomId() + ", extraGuests=" + extraGuests);
-            throw new CapacityExceededException();
+    /*
+     * Books a block of rooms for one guest: for each requested room type, the count of rooms free over the whole
+     * stay. Availability comes from one room listing and one overlap query for all rooms. Within each type the
+     * tightest run of room numbers is chosen (a sliding window over the sorted free rooms), so a block lands on
+     * neighbouring rooms when it can. All bookings are written in one BookingDAO.applyBatch transaction, which
+     * fails the whole block if another booking took one of its rooms in the meantime. The result maps each allocated room to its booking, in request order.
+     */
+    public Map<Room, Booking> allocateBlock(int guestId, LocalDate checkIn, LocalDate checkOut, Map<String, Integer> roomsByType, Integer guestsPerRoom) throws DAOException, BookingException {
+        Span span = Tracer.span("BookingService.allocateBlock");
+        try {
+            logger.info("Attempting block allocation for guestId=" + guestId + ", rooms=" + roomsByType + ", checkIn=" + checkIn + ", checkOut=" + checkOut);
+
+            if (!isDateValid(checkIn, checkOut)) {
+                logger.warning("Invalid block dates: checkIn=" + checkIn + ", checkOut=" + checkOut);
+                throw new BookingDateInvalidException();
+            }
+            if (roomsByType == null || roomsByType.isEmpty()) {
+                throw new BookingException("Block must request at least one room");
+            }
+            for (Map.Entry<String, Integer> entry : roomsByType.entrySet()) {
+                if (entry.getValue() == null || entry.getValue() <= 0) {
+                    throw new BookingException("Room count for " + entry.getKey() + " must be positive");
+                }
+            }
+            if (guestsPerRoom != null && guestsPerRoom <= 0) {
+                throw new BookingException("guestsPerRoom must be positive");
+            }
+            RequestContext.checkDeadline("active booking check");
+            if (hasGuestActiveBooking(guestId)) {
+                logger.warning("Guest has active booking: guestId=" + guestId);
+                throw new GuestHasActiveBookingException();
+            }
+
+            RequestContext.checkDeadline("availability check");
+            List<Room> rooms = roomService.getAllRooms();
+            if (guestsPerRoom != null) {
+                for (String type : roomsByType.keySet()) {
+                    if (!anyRoomHolds(rooms, type.toUpperCase(Locale.ROOT), guestsPerRoom)) {
+                        logger.warning("Block guests per room exceed capacity: type=" + type + ", guestsPerRoom=" + guestsPerRoom);
+                        throw new CapacityExceededException();
+                    }
+                }
+            }
+            Map<String, List<Room>> freeByType = freeRoomsByType(rooms, checkIn, checkOut, guestsPerRoom);
+            Map<Room, Booking> allocation = new LinkedHashMap<>();
+            int nights = Math.toIntExact(ChronoUnit.DAYS.between(checkIn, checkOut));
+            for (Map.Entry<String, Integer> entry : roomsByType.entrySet()) {
+                String type = entry.getKey().toUpperCase(Locale.ROOT);
+                List<Room> free = freeByType.getOrDefault(type, List.of());
+                if (free.size() < entry.getValue()) {
+                    logger.warning("Block cannot be allocated: type=" + type + ", requested=" + entry.getValue() + ", available=" + free.size());
+                    throw new InsufficientRoomsException(type, entry.getValue(), free.size());
+                }
+                for (Room room : tightestRun(free, entry.getValue())) {
+                    int extraGuests = room.getAllowedExtraGuests();
+                    Booking booking = new Booking(room.getId(), guestId, checkIn, checkOut,
+                            totalPrice(nights, room.getPricePerNight(), extraGuests, room.getExtraGuestPricePerNight()),
+                            guestsPerRoom == null ? room.getCapacity() : guestsPerRoom, BookingStatus.PENDING);
+                    allocation.put(room, booking);
+                }
+            }
+
+            // Last check before writing; the block is then written as a whole
+            RequestContext.checkDeadline("writing the block");
+            List<Booking> bookings = new ArrayList<>(allocation.values());
+            try {
+                if (!bookingDAO.applyBatch(bookings, List.of())) {
+                    logger.warning("Block allocation rolled back, rooms were booked concurrently: guestId=" + guestId);
+                    throw new BlockConflictException();
+                }
+            } catch (NotFoundException e) {
+                throw new DAOException("Unexpected missing booking while inserting a block", e);
+            }
+            for (Booking booking : bookings) {
+                journal.record(BookingEventType.CREATED, booking);
+                changes.bookingChanged(BookingEventType.CREATED, booking);
+            }
+            logger.info("Block allocated: guestId=" + guestId + ", bookings=" + bookings.size());
+            return allocation;
+        } finally {
+            span.close();
         }
+    }
 
-        booking.setTotalPrice(calculateTotalPrice(booking, extraGuests));
-        bookingDAO.update(booking);
-        logger.info("Booking updated successfully: bookingId=" + booking.getId());
+    // Rooms that can take a booking of that many guests (null: the room's capacity) over the stay, by upper-case
+    // type, each list sorted by room number
+    private Map<String, List<Room>> freeRoomsByType(List<Room> rooms, LocalDate checkIn, LocalDate checkOut, Integer guests) throws DAOException {
+        Set<Integer> roomIds = new HashSet<>();
+        for (Room room : rooms) {
+            roomIds.add(room.getId());
+        }
+        Set<Integer> occupied = new HashSet<>();
+        for (Booking booking : bookingDAO.getOverlappingBookings(roomIds, checkIn, checkOut)) {
+            occupied.add(booking.getRoomId());
+        }
+        Map<String, List<Room>> free = new HashMap<>();
+        for (Room room : rooms) {
+            if (room.getStatus() == RoomStatus.MAINTENANCE || occupied.contains(room.getId())
+                    || room.getType() == null || room.getAllowedExtraGuests() > room.getCapacity()
+                    || (guests != null && guests > maxGuests(room))) {
+                continue;
+            }
+            free.computeIfAbsent(room.getType().toUpperCase(Locale.ROOT), type -> new ArrayList<>()).add(room);
+        }
+        for (List<Room> list : free.values()) {
+            list.sort(Comparator.comparingLong(BookingService::roomNumberKey).thenComparing(Room::getNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return free;
     }
 
-    public void confirmBooking(Booking booking) throws DAOException, NotFoundException, NotPendingBookingException, InvalidStatusException {
-        logger.info("Attempting to confirm booking: bookingId=" + booking.getId());
+    private static boolean anyRoomHolds(List<Room> rooms, String type, int guests) {
+        for (Room room : rooms) {
+            if (room.getType() != null && type.equals(room.getType().toUpperCase(Locale.ROOT)) && guests <= maxGuests(room)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        if (booking.getStatus() != BookingStatus.PENDING) {
-            logger.warning("Cannot confirm booking not pending: bookingId=" + booking.getId());
-            throw new NotPendingBookingException();
+    private static int maxGuests(Room room) {
+        return room.getCapacity() + room.getAllowedExtraGuests();
+    }
+
+    // The count consecutive free rooms whose numbers span the smallest range; ties go to the lowest numbers
+    private static List<Room> tightestRun(List<Room> sorted, int count) {
+        int best = 0;
+        long bestSpan = Long.MAX_VALUE;
+        for (int start = 0; start + count <= sorted.size(); start++) {
+            long first = roomNumberKey(sorted.get(start));
+            long last = roomNumberKey(sorted.get(start + count - 1));
+            long span = last == Long.MAX_VALUE ? Long.MAX_VALUE - 1 : last - first;
+            if (span < bestSpan) {
+                bestSpan = span;
+                best = start;
+            }
         }
+        return sorted.subList(best, best + count);
+    }
 
-        bookingDAO.updateStatus(booking.getId(), BookingStatus.CONFIRMED);
-        roomService.updateRoomStatus(booking.getRoomId(), RoomStatus.OCCUPIED.name());
-        logger.info("Booking confirmed successfully: bookingID=" + booking.getId());
+    // Numeric room numbers ("304") compare by value; others sort after them, by their text
+    private static long roomNumberKey(Room room) {
+        try {
+            return Long.parseLong(room.getNumber().trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            return Long.MAX_VALUE;
+        }
     }
 
-    public void checkInBooking(Booking booking) throws DAOException, NotFoundException, NotConfirmedBookingException, InvalidCheckInDateException {
-        logger.info("Attempting to check-in booking: bookingId=" + booking.getId());
+    // Validation state shared by the operations of one batch, so each room, guest and booking is looked up once
+    private final class BatchPlan {
+        private final Map<Integer, List<Booking>> occupancyByRoom;
+        private final Map<Integer, Room> rooms = new HashMap<>();
+        private final Map<Integer, Boolean> guestHasActiveBooking = new HashMap<>();
+        private final Map<Integer, Booking> existing = new HashMap<>();
 
-        if (booking.getStatus() != BookingStatus.CONFIRMED) {
-            logger.warning("Cannot check-in booking not confirmed: bookingId=" + booking.getId());
-            throw new NotConfirmedBookingException();
+        BatchPlan(Map<Integer, List<Booking>> occupancyByRoom) {
+            this.occupancyByRoom = occupancyByRoom;
         }
 
-        Date today = new Date();
-        if (today.before(booking.getCheckIn()) || today.after(booking.getCheckOut())) {
-            logger.warning("Cannot check-in booking outside of a valid date range: bookingId=" + booking.getId());
-            throw new InvalidCheckInDateException();
+        // Later operations see the status set by earlier ones in the same batch
+        Booking current(Integer bookingId) throws DAOException, NotFoundException, BookingException {
+            if (bookingId == null || bookingId <= 0) {
+                throw new BookingException("Invalid booking ID");
+            }
+            Booking booking = existing.get(bookingId);
+            if (booking == null) {
+                booking = bookingDAO.findById(bookingId);
+                existing.put(bookingId, booking);
+            }
+            return booking;
         }
 
-        bookingDAO.updateStatus(booking.getId(), BookingStatus.CHECKED_IN);
-        logger.info("Booking checked-in successfully: bookingID=" + booking.getId());
-    }
+        Room room(int roomId) throws DAOException, NotFoundException {
+            Room room = rooms.get(roomId);
+            if (room == null) {
+                room = roomService.getRoomById(roomId);
+                rooms.put(roomId, room);
+            }
+            return room;
+        }
 
-    public void checkOutBooking(Booking booking) throws DAOException, NotFoundException, NotCheckedInBookingException, InvalidStatusException {
-        logger.info("Attempting to check-out booking: bookingId=" + booking.getId());
+        boolean overlaps(Booking booking) {
+            for (Booking other : occupancyByRoom.getOrDefault(booking.getRoomId(), List.of())) {
+                if (other.getCheckInDay() < booking.getCheckOutDay() && other.getCheckOutDay() > booking.getCheckInDay()) {
+                    return true;
+                }
+            }
+            return false;
+        }
 
-        if (booking.getStatus() != BookingStatus.CHECKED_IN) {
-            logger.warning("Cannot check-out booking not checked-in: bookingId=" + booking.getId());
-            throw new NotCheckedInBookingException();
+        boolean guestHasActiveBooking(int guestId) throws DAOException {
+            Boolean active = guestHasActiveBooking.get(guestId);
+            if (active == null) {
+                active = hasGuestActiveBooking(guestId);
+                guestHasActiveBooking.put(guestId, active);
+            }
+            return active;
         }
 
-        bookingDAO.updateStatus(booking.getId(), BookingStatus.CHECKED_OUT);
-        roomService.updateRoomStatus(booking.getRoomId(), RoomStatus.AVAILABLE.name());
-        logger.info("Booking checked-out successfully: bookingID=" + booking.getId());
+        void accept(Booking booking) {
+            occupancyByRoom.computeIfAbsent(booking.getRoomId(), id -> new ArrayList<>()).add(booking);
+            guestHasActiveBooking.put(booking.getGuestId(), true);
+        }
     }
 
-    public void cancelBooking(Booking booking) throws DAOException, NotFoundException, CannotCancelBookingException, InvalidStatusException {
-        logger.info("Attempting to cancel booking: bookingId=" + booking.getId());
+    // One query covers every room the batch books, over the union of its date ranges
+    private Map<Integer, List<Booking>> loadOccupancy(List<BatchOperation> operations) throws DAOException {
+        Set<Integer> roomIds = new HashSet<>();
+        int from = Integer.MAX_VALUE;
+        int to = Integer.MIN_VALUE;
+        for (BatchOperation operation : operations) {
+            Booking booking = operation == null ? null : operation.getBooking();
+            if (booking != null && "create".equalsIgnoreCase(operation.getOp()) && booking.getCheckInDay() < booking.getCheckOutDay()) {
+                roomIds.add(booking.getRoomId());
+                from = Math.min(from, booking.getCheckInDay());
+                to = Math.max(to, booking.getCheckOutDay());
+            }
+        }
+        Map<Integer, List<Booking>> occupancy = new HashMap<>();
+        if (roomIds.isEmpty()) {
+            return occupancy;
+        }
+        for (Booking booking : bookingDAO.getOverlappingBookings(roomIds, LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(to))) {
+            occupancy.computeIfAbsent(booking.getRoomId(), id -> new ArrayList<>()).add(booking);
+        }
+        return occupancy;
+    }
 
+    // Same checks, in the same order, as createBooking
+    private Booking planCreate(Booking booking, BatchPlan plan) throws DAOException, NotFoundException, BookingException, RoomUnavailableException {
+        if (booking == null) {
+            throw new BookingException("Missing booking");
+        }
+        if (!isDateValid(booking.getCheckIn(), booking.getCheckOut())) {
+            throw new BookingDateInvalidException();
+        }
+        if (plan.overlaps(booking)) {
+            throw new RoomUnavailableException();
+        }
+        if (plan.guestHasActiveBooking(booking.getGuestId())) {
+            throw new GuestHasActiveBookingException();
+        }
+        Room room = plan.room(booking.getRoomId());
+        int extraGuests = room.getAllowedExtraGuests();
+        if (extraGuests > room.getCapacity()) {
+            throw new CapacityExceededException();
+        }
+        if (booking.getNights() <= 0) {
+            throw new InvalidDateRangeException();
+        }
+        booking.setTotalPrice(totalPrice(booking.getNights(), room.getPricePerNight(), extraGuests, room.getExtraGuestPricePerNight()));
+        booking.setStatus(BookingStatus.PENDING);
+        plan.accept(booking);
+        return booking;
+    }
+
+    private Booking planConfirm(Booking booking) throws NotPendingBookingException {
+        if (booking.getStatus() != BookingStatus.PENDING) {
+            throw new NotPendingBookingException();
+        }
+        return withStatus(booking, BookingStatus.CONFIRMED);
+    }
+
+    private Booking planCancel(Booking booking) throws CannotCancelBookingException {
         if (booking.getStatus() == BookingStatus.CHECKED_IN || booking.getStatus() == BookingStatus.CHECKED_OUT) {
-            logger.warning("Cannot cancel booking after check-in: bookingId=" + booking.getId());
             throw new CannotCancelBookingException(true, false);
         }
         if (!canCancel(booking)) {
-            logger.warning("Cannot cancel booking 24 hours before check-in: bookingId=" + booking.getId() + ", checkIn=" + booking.getCheckIn() + ", checkOut=" + booking.getCheckOut());
             throw new CannotCancelBookingException(false, true);
         }
-
-        bookingDAO.updateStatus(booking.getId(), BookingStatus.CANCELLED);
-        roomService.updateRoomStatus(booking.getRoomId(), RoomStatus.AVAILABLE.name());
-        logger.info("Booking cancelled successfully: bookingID=" + booking.getId());
+        return withStatus(booking, BookingStatus.CANCELLED);
     }
 
-    public void updateBookingStatus(int id, String status) throws DAOException, NotFoundException, BookingException, InvalidStatusException {
-        logger.info("Attempting to update booking status: bookingId=" + id + ", newStatus=" + status);
-        BookingStatus newStatus = BookingStatus.fromString(status);
-        bookingDAO.updateStatus(id, newStatus);
-        logger.info("Booking status updated successfully: bookingId=" + id + ", newStatus=" + newStatus);
+    private static Booking withStatus(Booking booking, BookingStatus status) {
+        return new Booking(booking.getId(), booking.getRoomId(), booking.getGuestId(), booking.getCheckInDay(), booking.getCheckOutDay(),
+                booking.getTotalPrice(), booking.getNumGuests(), status);
     }
 
-    public void deleteBooking(int id) throws DAOException, NotFoundException {
-        logger.info("Attempting to delete booking: bookingId=" + id);
-        bookingDAO.delete(id);
-        logger.info("Booking deleted successfully: bookingId=" + id);
+    // Room status follows the booking after the commit, as in the single-booking transitions
+    private void recordBatch(List<Booking> inserts, List<Booking> statusChanges) throws DAOException {
+        for (Booking booking : inserts) {
+            journal.record(BookingEventType.CREATED, booking);
+            changes.bookingChanged(BookingEventType.CREATED, booking);
+        }
+        for (Booking change : statusChanges) {
+            boolean confirmed = change.getStatus() == BookingStatus.CONFIRMED;
+            journal.record(confirmed ? BookingEventType.CONFIRMED : BookingEventType.CANCELLED, change);
+            changes.bookingChanged(confirmed ? BookingEventType.CONFIRMED : BookingEventType.CANCELLED, change);
+            try {
+                roomService.updateRoomStatus(change.getRoomId(), (confirmed ? RoomStatus.OCCUPIED : RoomStatus.AVAILABLE).name());
+            } catch (NotFoundException | InvalidStatusException e) {
+                logger.warning("Could not update room status after batch: roomId=" + change.getRoomId() + ", reason=" + e.getMessage());
+            }
+        }
     }
 
-    public boolean isRoomAvailable(int roomId, Date checkIn, Date checkOut, Integer bookingIdToIgnore) throws DAOException {
-        List<Booking> overlaps = bookingDAO.getOverlappingBookings(roomId, checkIn, checkOut, bookingIdToIgnore);
-        return overlaps.isEmpty();
+    public boolean isRoomAvailable(int roomId, LocalDate checkIn, LocalDate checkOut, Integer bookingIdToIgnore) throws DAOException {
+        Span span = Tracer.span("BookingService.isRoomAvailable");
+        try {
+            List<Booking> overlaps = bookingDAO.getOverlappingBookings(roomId, checkIn, checkOut, bookingIdToIgnore);
+            return overlaps.isEmpty();
+        } finally {
+            span.close();
+        }
     }
 
-    public boolean isDateValid(Date checkIn, Date checkOut) {
-        Date now = new Date();
-        return checkIn.before(checkOut) && checkOut.after(now);
+    public boolean isDateValid(LocalDate checkIn, LocalDate checkOut) {
+        Span span = Tracer.span("BookingService.isDateValid");
+        try {
+            return checkIn.isBefore(checkOut) && checkOut.isAfter(LocalDate.now());
+        } finally {
+            span.close();
+        }
     }
 
     public double calculateTotalPrice(Booking booking, int extraGuests) throws DAOException, NotFoundException, InvalidDateRangeException {
-        double pricePerNight = roomService.getRoomPricePerNight(booking.getRoomId());
+        Span span = Tracer.span("BookingService.calculateTotalPrice");
+        try {
+            double pricePerNight = roomService.getRoomPricePerNight(booking.getRoomId());
 
-        long diffInMs = booking.getCheckOut().getTime() - booking.getCheckIn().getTime();
-        long nights = diffInMs / (1000 * 60 * 60 * 24);
+            int nights = booking.getNights();
 
-        if (nights <= 0) {
-            throw new InvalidDateRangeException();
+            if (nights <= 0) {
+                throw new InvalidDateRangeException();
+            }
+
+            double extraGuestPricePerNight = extraGuests == 0 ? 0 : roomService.getRoomExtraGuestPricePerNight(booking.getRoomId());
+            return totalPrice(nights, pricePerNight, extraGuests, extraGuestPricePerNight);
+        } finally {
+            span.close();
         }
+    }
 
+    private static double totalPrice(int nights, double pricePerNight, int extraGuests, double extraGuestPricePerNight) {
         double basePrice = pricePerNight * nights;
         if (extraGuests == 0) {
             return basePrice;
         }
-
-        double extraGuestPricePerNight = roomService.getRoomExtraGuestPricePerNight(booking.getRoomId());
-        double extraPrice = extraGuests * extraGuestPricePerNight * nights;
-
-        return basePrice + extraPrice;
+        return basePrice + extraGuests * extraGuestPricePerNight * nights;
     }
 
     public boolean verifyCapacity(int extraGuests, int roomId) throws DAOException, NotFoundException {
-        return extraGuests <= roomService.getRoomCapacity(roomId);
+        Span span = Tracer.span("BookingService.verifyCapacity");
+        try {
+            return extraGuests <= roomService.getRoomCapacity(roomId);
+        } finally {
+            span.close();
+        }
     }
 
     public boolean hasGuestActiveBooking(int guestId) throws DAOException {
-        List<BookingStatus> activeStatuses = Arrays.asList(
-                BookingStatus.PENDING,
-                BookingStatus.CONFIRMED,
-                BookingStatus.CHECKED_IN
-        );
-        List<Booking> activeBookings = bookingDAO.getBookingsByGuestAndStatus(guestId, activeStatuses);
-        return !activeBookings.isEmpty();
+        Span span = Tracer.span("BookingService.hasGuestActiveBooking");
+        try {
+            List<BookingStatus> activeStatuses = Arrays.asList(
+                    BookingStatus.PENDING,
+                    BookingStatus.CONFIRMED,
+                    BookingStatus.CHECKED_IN
+            );
+            List<Booking> activeBookings = bookingDAO.getBookingsByGuestAndStatus(guestId, activeStatuses);
+            return !activeBookings.isEmpty();
+        } finally {
+            span.close();
+        }
     }
 
     public boolean canCancel(Booking booking) {
-        long diff = booking.getCheckIn().getTime() - System.currentTimeMillis();
-        if (diff <= 0) {
-            return false;
+        Span span = Tracer.span("BookingService.canCancel");
+        try {
+            return ChronoUnit.HOURS.between(LocalDateTime.now(), booking.getCheckIn().atStartOfDay()) >= 24;
+        } finally {
+            span.close();
         }
-        long hours = diff / (1000 * 60 * 60);
-        return hours >= 24;
     }
 }
\ No newline at end of file
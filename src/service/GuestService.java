@@ -1,8 +1,11 @@
 package service;
 
+import dao.DAOFactory;
 import dao.GuestDAO;
 import exception.*;
 import model.Guest;
+import monitoring.Span;
+import monitoring.Tracer;
 
 import java.util.List;
 import java.util.logging.Logger;
@@ -16,58 +19,113 @@ public class GuestService {
     }
 
     public GuestService() {
-        this(new GuestDAO());
+        this(DAOFactory.guestDAO());
     }
 
     public Guest getGuestById(int id) throws DAOException, NotFoundException {
-        return guestDAO.findById(id);
+        Span span = Tracer.span("GuestService.getGuestById");
+        try {
+            return guestDAO.findById(id);
+        } finally {
+            span.close();
+        }
     }
 
     public Guest getGuestByName(String name) throws DAOException, NotFoundException {
-        return guestDAO.findByName(name);
+        Span span = Tracer.span("GuestService.getGuestByName");
+        try {
+            return guestDAO.findByName(name);
+        } finally {
+            span.close();
+        }
     }
 
     public Guest getGuestByEmail(String name) throws DAOException, NotFoundException {
-        return guestDAO.findByEmail(name);
+        Span span = Tracer.span("GuestService.getGuestByEmail");
+        try {
+            return guestDAO.findByEmail(name);
+        } finally {
+            span.close();
+        }
     }
 
     public List<Guest> getAllGuests() throws DAOException {
-        return guestDAO.getAll();
+        Span span = Tracer.span("GuestService.getAllGuests");
+        try {
+            return guestDAO.getAll();
+        } finally {
+            span.close();
+        }
     }
 
     public void createGuest(Guest guest) throws DAOException, InvalidException, EmptyNameException, InvalidEmailException, EmailAlreadyExistsException, InvalidPhoneException {
-        validateGuest(guest);
-        guestDAO.insert(guest);
-        logger.info("Guest created successfully: guestId=" + guest.getId());
+        Span span = Tracer.span("GuestService.createGuest");
+        try {
+            validateGuest(guest);
+            guestDAO.insert(guest);
+            logger.info("Guest created successfully: guestId=" + guest.getId());
+        } finally {
+            span.close();
+        }
     }
 
     public void updateGuest(Guest guest) throws DAOException, NotFoundException, InvalidException, EmptyNameException, InvalidEmailException, EmailAlreadyExistsException, InvalidPhoneException {
-        logger.info("Attempting to update guest: guestId=" + guest.getId());
-        validateGuest(guest);
-        guestDAO.update(guest);
-        logger.info("Guest updated successfully: guestId=" + guest.getId());
+        Span span = Tracer.span("GuestService.updateGuest");
+        try {
+            logger.info("Attempting to update guest: guestId=" + guest.getId());
+            validateGuest(guest);
+            guestDAO.update(guest);
+            logger.info("Guest updated successfully: guestId=" + guest.getId());
+        } finally {
+            span.close();
+        }
     }
 
     public void deleteGuest(int id) throws DAOException, NotFoundException {
-        logger.info("Attempting to delete guest: guestId=" + id);
-        guestDAO.delete(id);
-        logger.info("Guest deleted successfully: guestId=" + id);
+        Span span = Tracer.span("GuestService.deleteGuest");
+        try {
+            logger.info("Attempting to delete guest: guestId=" + id);
+            guestDAO.delete(id);
+            logger.info("Guest deleted successfully: guestId=" + id);
+        } finally {
+            span.close();
+        }
     }
 
     public String getGuestFirstName(int id) throws DAOException, NotFoundException {
-        return guestDAO.getGuestFirstName(id);
+        Span span = Tracer.span("GuestService.getGuestFirstName");
+        try {
+            return guestDAO.getGuestFirstName(id);
+        } finally {
+            span.close();
+        }
     }
 
     public String getGuestLastName(int id) throws DAOException, NotFoundException {
-        return guestDAO.getGuestLastName(id);
+        Span span = Tracer.span("GuestService.getGuestLastName");
+        try {
+            return guestDAO.getGuestLastName(id);
+        } finally {
+            span.close();
+        }
     }
 
     public String getGuestEmail(int id) throws DAOException, NotFoundException {
-        return guestDAO.getGuestEmail(id);
+        Span span = Tracer.span("GuestService.getGuestEmail");
+        try {
+            return guestDAO.getGuestEmail(id);
+        } finally {
+            span.close();
+        }
     }
 
     public String getGuestPhone(int id) throws DAOException, NotFoundException {
-        return guestDAO.getGuestPhone(id);
+        Span span = Tracer.span("GuestService.getGuestPhone");
+        try {
+            return guestDAO.getGuestPhone(id);
+        } finally {
+            span.close();
+        }
     }
 
     private void validateGuest(Guest guest) throws InvalidException, EmptyNameException, InvalidEmailException, EmailAlreadyExistsException, InvalidPhoneException {
@@ -0,0 +1,312 @@
+package service;
+
+import dao.BookingDAO;
+import events.ChangeFeed;
+import exception.DAOException;
+import journal.BookingEventType;
+import journal.BookingJournal;
+import model.Booking;
+import model.BookingStatus;
+import model.Room;
+import model.RoomMove;
+import model.RoomStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * Background re-packing of future pending bookings onto rooms of the same type. Confirmed, started and
+ * out-of-horizon bookings stay where they are. The pending ones are placed again in check-in order, each on
+ * the room where it leaves the fewest short gaps (free runs of at most shortGapNights between two stays), and
+ * then on the tightest free gap that holds it; a booking only moves to a room that passes the same capacity
+ * check as a new booking. A type's plan is applied only if it lowers that type's short-gap nights, and then as
+ * one BookingDAO.reassignRooms transaction. Prices are left as booked, even where rooms of a type are priced
+ * differently. One run is capped by a time budget; a type that is still being planned when the budget runs out
+ * is left untouched.
+ */
+public class RoomAssignmentOptimizer {
+    private static final Logger logger = Logger.getLogger(RoomAssignmentOptimizer.class.getName());
+
+    private final BookingDAO bookingDAO;
+    private final RoomService roomService;
+    private final BookingJournal journal;
+    private final int horizonDays;
+    private final int shortGapNights;
+    private final long timeBudgetNanos;
+    private ScheduledExecutorService scheduler;
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    public RoomAssignmentOptimizer(BookingDAO bookingDAO, RoomService roomService, BookingJournal journal,
+                                   int horizonDays, int shortGapNights, long timeBudgetMillis) {
+        this.bookingDAO = bookingDAO;
+        this.roomService = roomService;
+        this.journal = journal;
+        this.horizonDays = horizonDays;
+        this.shortGapNights = shortGapNights;
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+    }
+
+    public synchronized void schedule(long intervalMinutes) {
+        if (scheduler != null || intervalMinutes <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "room-optimizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    public synchronized Map<String, Object> run() throws DAOException {
+        long started = System.nanoTime();
+        long deadline = started + timeBudgetNanos;
+        int today = Math.toIntExact(LocalDate.now().toEpochDay());
+        int horizonEnd = today + horizonDays;
+
+        Map<String, List<Room>> roomsByType = new LinkedHashMap<>();
+        for (Room room : roomService.getAllRooms()) {
+            if (room.getStatus() != RoomStatus.MAINTENANCE && room.getType() != null) {
+                roomsByType.computeIfAbsent(room.getType().toUpperCase(Locale.ROOT), type -> new ArrayList<>()).add(room);
+            }
+        }
+
+        int typesOptimized = 0;
+        int considered = 0;
+        int moved = 0;
+        int conflicts = 0;
+        long gapNightsBefore = 0;
+        long gapNightsAfter = 0;
+        boolean budgetExhausted = false;
+        for (Map.Entry<String, List<Room>> entry : roomsByType.entrySet()) {
+            if (System.nanoTime() > deadline) {
+                budgetExhausted = true;
+                break;
+            }
+            TypePlan plan = planType(entry.getValue(), today, horizonEnd, deadline);
+            if (plan == null) {
+                budgetExhausted = true;
+                break;
+            }
+            considered += plan.movable;
+            gapNightsBefore += plan.gapNightsBefore;
+            if (plan.moves.isEmpty()) {
+                gapNightsAfter += plan.gapNightsBefore;
+                continue;
+            }
+            if (!bookingDAO.reassignRooms(plan.moves)) {
+                conflicts++;
+                gapNightsAfter += plan.gapNightsBefore;
+                continue;
+            }
+            for (Booking booking : plan.movedBookings) {
+                journal.record(BookingEventType.ROOM_REASSIGNED, booking);
+                ChangeFeed.shared().bookingChanged(BookingEventType.ROOM_REASSIGNED, booking);
+            }
+            typesOptimized++;
+            moved += plan.moves.size();
+            gapNightsAfter += plan.gapNightsAfter;
+            logger.info("Reassigned rooms for type " + entry.getKey() + ": moves=" + plan.moves.size()
+                    + ", shortGapNights " + plan.gapNightsBefore + " -> " + plan.gapNightsAfter);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("finishedAt", LocalDateTime.now().toString());
+        stats.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        stats.put("budgetExhausted", budgetExhausted);
+        stats.put("typesOptimized", typesOptimized);
+        stats.put("bookingsConsidered", considered);
+        stats.put("bookingsMoved", moved);
+        stats.put("conflicts", conflicts);
+        stats.put("shortGapNightsBefore", gapNightsBefore);
+        stats.put("shortGapNightsAfter", gapNightsAfter);
+        lastRun = stats;
+        return stats;
+    }
+
+    private void runQuietly() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Room assignment optimization failed", e);
+        }
+    }
+
+    private static final class TypePlan {
+        private final int movable;
+        private final long gapNightsBefore;
+        private final long gapNightsAfter;
+        private final List<RoomMove> moves;
+        private final List<Booking> movedBookings;
+
+        TypePlan(int movable, long gapNightsBefore, long gapNightsAfter, List<RoomMove> moves, List<Booking> movedBookings) {
+            this.movable = movable;
+            this.gapNightsBefore = gapNightsBefore;
+            this.gapNightsAfter = gapNightsAfter;
+            this.moves = moves;
+            this.movedBookings = movedBookings;
+        }
+    }
+
+    // Returns null when the time budget ran out while planning
+    private TypePlan planType(List<Room> rooms, int today, int horizonEnd, long deadline) throws DAOException {
+        rooms.sort(Comparator.comparingInt(Room::getId));
+        Set<Integer> roomIds = new HashSet<>();
+        for (Room room : rooms) {
+            roomIds.add(room.getId());
+        }
+        Map<Integer, TreeMap<Integer, Integer>> fixed = new HashMap<>();
+        Map<Integer, TreeMap<Integer, Integer>> current = new HashMap<>();
+        List<Booking> movable = new ArrayList<>();
+        for (Booking booking : bookingDAO.getOverlappingBookings(roomIds, LocalDate.ofEpochDay(today), LocalDate.ofEpochDay(horizonEnd))) {
+            occupy(current, booking.getRoomId(), booking.getCheckInDay(), booking.getCheckOutDay());
+            if (booking.getStatus() == BookingStatus.PENDING && booking.getCheckInDay() > today && booking.getCheckOutDay() <= horizonEnd) {
+                movable.add(booking);
+            } else {
+                occupy(fixed, booking.getRoomId(), booking.getCheckInDay(), booking.getCheckOutDay());
+            }
+        }
+        long before = shortGapNights(current);
+        if (movable.isEmpty() || before == 0) {
+            return new TypePlan(movable.size(), before, before, List.of(), List.of());
+        }
+
+        movable.sort(Comparator.comparingInt(Booking::getCheckInDay).thenComparing(Comparator.comparingInt(Booking::getNights).reversed()));
+        Map<Integer, TreeMap<Integer, Integer>> planned = fixed;
+        Map<Booking, Integer> placement = new HashMap<>();
+        for (Booking booking : movable) {
+            if (System.nanoTime() > deadline) {
+                return null;
+            }
+            int bestRoom = -1;
+            long bestScore = Long.MAX_VALUE;
+            for (Room room : rooms) {
+                if (room.getId() != booking.getRoomId() && !canHold(room, booking)) {
+                    continue;
+                }
+                long score = placementScore(planned.get(room.getId()), booking.getCheckInDay(), booking.getCheckOutDay(), today, horizonEnd);
+                if (score == Long.MAX_VALUE) {
+                    continue;
+                }
+                // Staying put wins ties, so equally good plans do not churn
+                score = score * 2 + (room.getId() == booking.getRoomId() ? 0 : 1);
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestRoom = room.getId();
+                }
+            }
+            if (bestRoom < 0) {
+                logger.fine("No room fits bookingId=" + booking.getId() + " in the repacked plan, keeping the current assignment");
+                return new TypePlan(movable.size(), before, before, List.of(), List.of());
+            }
+            occupy(planned, bestRoom, booking.getCheckInDay(), booking.getCheckOutDay());
+            placement.put(booking, bestRoom);
+        }
+
+        long after = shortGapNights(planned);
+        if (after >= before) {
+            return new TypePlan(movable.size(), before, before, List.of(), List.of());
+        }
+        List<RoomMove> moves = new ArrayList<>();
+        List<Booking> movedBookings = new ArrayList<>();
+        for (Booking booking : movable) {
+            int roomId = placement.get(booking);
+            if (roomId != booking.getRoomId()) {
+                moves.add(new RoomMove(booking.getId(), booking.getRoomId(), roomId));
+                booking.setRoomId(roomId);
+                movedBookings.add(booking);
+            }
+        }
+        return new TypePlan(movable.size(), before, after, moves, movedBookings);
+    }
+
+    /*
+     * Lower is better; Long.MAX_VALUE means the stay does not fit. The high part counts the short-gap nights the
+     * stay would leave on either side, the low part is the size of the free gap it goes into (best fit). The
+     * open ends of the window before the first and after the last stay never count as short gaps, and run from
+     * today and to horizonEnd. An empty room is one night worse than the whole window, so a stay only opens a
+     * new room when no room in use holds it without short gaps.
+     */
+    private long placementScore(TreeMap<Integer, Integer> occupied, int checkIn, int checkOut, int today, int horizonEnd) {
+        long window = horizonEnd - today;
+        if (occupied == null || occupied.isEmpty()) {
+            return window + 1;
+        }
+        Map.Entry<Integer, Integer> previous = occupied.floorEntry(checkIn);
+        if (previous != null && previous.getValue() > checkIn) {
+            return Long.MAX_VALUE;
+        }
+        Map.Entry<Integer, Integer> next = occupied.ceilingEntry(checkIn);
+        if (next != null && next.getKey() < checkOut) {
+            return Long.MAX_VALUE;
+        }
+        int gapBefore = previous == null ? -1 : checkIn - previous.getValue();
+        int gapAfter = next == null ? -1 : next.getKey() - checkOut;
+        long shortNights = (gapBefore > 0 && gapBefore <= shortGapNights ? gapBefore : 0)
+                + (gapAfter > 0 && gapAfter <= shortGapNights ? gapAfter : 0);
+        long freeGap = (next == null ? horizonEnd : next.getKey()) - (previous == null ? today : previous.getValue());
+        return shortNights * (window + 2) + Math.min(freeGap, window);
+    }
+
+    // Same rule as a new booking (BookingService.verifyCapacity), and the party has to fit
+    private static boolean canHold(Room room, Booking booking) {
+        return room.getAllowedExtraGuests() <= room.getCapacity()
+                && booking.getNumGuests() <= room.getCapacity() + room.getAllowedExtraGuests();
+    }
+
+    private long shortGapNights(Map<Integer, TreeMap<Integer, Integer>> occupancy) {
+        long nights = 0;
+        for (TreeMap<Integer, Integer> occupied : occupancy.values()) {
+            Integer previousEnd = null;
+            for (Map.Entry<Integer, Integer> stay : occupied.entrySet()) {
+                if (previousEnd != null) {
+                    int gap = stay.getKey() - previousEnd;
+                    if (gap > 0 && gap <= shortGapNights) {
+                        nights += gap;
+                    }
+                }
+                previousEnd = stay.getValue();
+            }
+        }
+        return nights;
+    }
+
+    // Keeps each room's stays as disjoint [checkIn, checkOut) runs keyed by check-in, merging any that overlap
+    private static void occupy(Map<Integer, TreeMap<Integer, Integer>> occupancy, int roomId, int checkIn, int checkOut) {
+        TreeMap<Integer, Integer> occupied = occupancy.computeIfAbsent(roomId, id -> new TreeMap<>());
+        int start = checkIn;
+        int end = checkOut;
+        Map.Entry<Integer, Integer> previous = occupied.floorEntry(start);
+        if (previous != null && previous.getValue() > start) {
+            start = previous.getKey();
+            end = Math.max(end, previous.getValue());
+            occupied.remove(previous.getKey());
+        }
+        Map.Entry<Integer, Integer> next = occupied.ceilingEntry(start);
+        while (next != null && next.getKey() < end) {
+            end = Math.max(end, next.getValue());
+            occupied.remove(next.getKey());
+            next = occupied.ceilingEntry(start);
+        }
+        occupied.put(start, end);
+    }
+}
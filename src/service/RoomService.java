@@ -1,73 +1,184 @@
 package service;
 
+import calendar.OccupancyCalendar;
+import dao.DAOFactory;
 import dao.RoomDAO;
+import events.ChangeFeed;
 import exception.*;
 import model.Room;
 import model.RoomStatus;
+import monitoring.Span;
+import monitoring.Tracer;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 public class RoomService {
     private final static Logger logger = Logger.getLogger(RoomService.class.getName());
     private final RoomDAO roomDAO;
+    private final OccupancyCalendar calendar;
+    private final ChangeFeed changes = ChangeFeed.shared();
 
-    public RoomService(RoomDAO roomDAO) {
+    public RoomService(RoomDAO roomDAO, OccupancyCalendar calendar) {
         this.roomDAO = roomDAO;
+        this.calendar = calendar;
+    }
+
+    public RoomService(RoomDAO roomDAO) {
+        this(roomDAO, null);
     }
 
     public RoomService() {
-        this(new RoomDAO());
+        this(DAOFactory.roomDAO(), DAOFactory.occupancyCalendar());
     }
 
     public Room getRoomById(int id) throws DAOException, NotFoundException {
-        return roomDAO.findById(id);
+        Span span = Tracer.span("RoomService.getRoomById");
+        try {
+            return roomDAO.findById(id);
+        } finally {
+            span.close();
+        }
     }
 
     public List<Room> getAllRooms() throws DAOException {
-        return roomDAO.getAll();
+        Span span = Tracer.span("RoomService.getAllRooms");
+        try {
+            return roomDAO.getAll();
+        } finally {
+            span.close();
+        }
+    }
+
+    public boolean isCalendarEnabled() {
+        return calendar != null;
+    }
+
+    public List<Room> getAvailableRooms(LocalDate checkIn, LocalDate checkOut) throws DAOException {
+        Span span = Tracer.span("RoomService.getAvailableRooms");
+        try {
+            List<Room> available = new ArrayList<>();
+            for (Room room : roomDAO.getAll()) {
+                if (room.getStatus() != RoomStatus.MAINTENANCE && calendar.isAvailable(room.getId(), checkIn, checkOut)) {
+                    available.add(room);
+                }
+            }
+            return available;
+        } finally {
+            span.close();
+        }
+    }
+
+    public List<Map<String, Object>> getRoomCalendar(int id, LocalDate from, LocalDate to) throws DAOException, NotFoundException {
+        Span span = Tracer.span("RoomService.getRoomCalendar");
+        try {
+            roomDAO.findById(id);
+            List<Map<String, Object>> days = new ArrayList<>();
+            for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+                Map<String, Object> day = new LinkedHashMap<>();
+                day.put("date", date.toString());
+                int bookingId = calendar.bookingIdAt(id, date);
+                day.put("available", bookingId == 0);
+                if (bookingId != 0) {
+                    day.put("bookingId", bookingId);
+                    day.put("rate", calendar.rateCentsAt(id, date) / 100.0);
+                }
+                days.add(day);
+            }
+            return days;
+        } finally {
+            span.close();
+        }
     }
 
     public void createRoom(Room room) throws DAOException, InvalidException, RoomInvalidCapacityException, RoomInvalidPriceException, RoomNumberEmptyException {
-        validateRoom(room);
-        roomDAO.insert(room);
-        logger.info("Room created successfully: roomId=" + room.getId());
+        Span span = Tracer.span("RoomService.createRoom");
+        try {
+            validateRoom(room);
+            roomDAO.insert(room);
+            changes.roomChanged("created", room);
+            logger.info("Room created successfully: roomId=" + room.getId());
+        } finally {
+            span.close();
+        }
     }
 
     public void updateRoom(Room room) throws DAOException, NotFoundException, InvalidException, RoomInvalidCapacityException, RoomInvalidPriceException, RoomNumberEmptyException {
-        logger.info("Attempting to update room: roomId=" + room.getId());
-        validateRoom(room);
-        roomDAO.update(room);
-        logger.info("Room updated successfully: roomId=" + room.getId());
+        Span span = Tracer.span("RoomService.updateRoom");
+        try {
+            logger.info("Attempting to update room: roomId=" + room.getId());
+            validateRoom(room);
+            roomDAO.update(room);
+            changes.roomChanged("updated", room);
+            logger.info("Room updated successfully: roomId=" + room.getId());
+        } finally {
+            span.close();
+        }
     }
 
     public void updateRoomStatus(int id, String status) throws DAOException, NotFoundException, InvalidStatusException {
-        logger.info("Attempting to update room status: roomId=" + id + ", newStatus=" + status);
-        RoomStatus newStatus = RoomStatus.fromString(status);
-        roomDAO.updateStatus(id, newStatus);
-        logger.info("Room status updated successfully: roomId=" + id + ", newStatus=" + newStatus);
+        Span span = Tracer.span("RoomService.updateRoomStatus");
+        try {
+            logger.info("Attempting to update room status: roomId=" + id + ", newStatus=" + status);
+            RoomStatus newStatus = RoomStatus.fromString(status);
+            roomDAO.updateStatus(id, newStatus);
+            changes.roomStatusChanged(id, newStatus);
+            logger.info("Room status updated successfully: roomId=" + id + ", newStatus=" + newStatus);
+        } finally {
+            span.close();
+        }
     }
 
     public void deleteRoom(int id) throws DAOException, NotFoundException {
-        logger.info("Attempting to delete room: roomId=" + id);
-        roomDAO.delete(id);
-        logger.info("Room deleted successfully: roomId=" + id);
+        Span span = Tracer.span("RoomService.deleteRoom");
+        try {
+            logger.info("Attempting to delete room: roomId=" + id);
+            roomDAO.delete(id);
+            changes.roomDeleted(id);
+            logger.info("Room deleted successfully: roomId=" + id);
+        } finally {
+            span.close();
+        }
     }
 
     public double getRoomPricePerNight(int id) throws DAOException, NotFoundException {
-        return roomDAO.getRoomPricePerNight(id);
+        Span span = Tracer.span("RoomService.getRoomPricePerNight");
+        try {
+            return roomDAO.getRoomPricePerNight(id);
+        } finally {
+            span.close();
+        }
     }
 
     public double getRoomExtraGuestPricePerNight(int id) throws DAOException, NotFoundException {
-        return roomDAO.getRoomExtraGuestPricePerNight(id);
+        Span span = Tracer.span("RoomService.getRoomExtraGuestPricePerNight");
+        try {
+            return roomDAO.getRoomExtraGuestPricePerNight(id);
+        } finally {
+            span.close();
+        }
     }
 
     public int getRoomCapacity(int id) throws DAOException, NotFoundException {
-        return roomDAO.getRoomCapacity(id);
+        Span span = Tracer.span("RoomService.getRoomCapacity");
+        try {
+            return roomDAO.getRoomCapacity(id);
+        } finally {
+            span.close();
+        }
     }
 
     public int getAllowedExtraGuests(int id) throws DAOException, NotFoundException {
-        return roomDAO.getRoomAllowedExtraGuests(id);
+        Span span = Tracer.span("RoomService.getAllowedExtraGuests");
+        try {
+            return roomDAO.getRoomAllowedExtraGuests(id);
+        } finally {
+            span.close();
+        }
     }
 
     private void validateRoom(Room room) throws InvalidException, RoomNumberEmptyException, RoomInvalidPriceException, RoomInvalidCapacityException{
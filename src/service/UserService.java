@@ -1,10 +1,13 @@
 package service;
 
+import dao.DAOFactory;
 import dao.UserDAO;
 import exception.*;
 import model.Guest;
 import model.Role;
 import model.User;
+import monitoring.Span;
+import monitoring.Tracer;
 import util.SecurityUtil;
 
 import java.util.List;
@@ -21,65 +24,100 @@ public class UserService {
     }
 
     public UserService() {
-        this(new UserDAO(), new GuestService());
+        this(DAOFactory.userDAO(), new GuestService());
     }
 
     public User getUserById(int id) throws DAOException, NotFoundException {
-        return userDAO.findById(id);
+        Span span = Tracer.span("UserService.getUserById");
+        try {
+            return userDAO.findById(id);
+        } finally {
+            span.close();
+        }
     }
 
     public User getUserByName(String name) throws DAOException, NotFoundException {
-        return userDAO.findByName(name);
+        Span span = Tracer.span("UserService.getUserByName");
+        try {
+            return userDAO.findByName(name);
+        } finally {
+            span.close();
+        }
     }
 
     public User getUserByEmail(String email) throws DAOException, NotFoundException {
-        return userDAO.findByEmail(email);
+        Span span = Tracer.span("UserService.getUserByEmail");
+        try {
+            return userDAO.findByEmail(email);
+        } finally {
+            span.close();
+        }
     }
 
     public List<User> getAllUsers() throws DAOException {
-        return userDAO.getAll();
+        Span span = Tracer.span("UserService.getAllUsers");
+        try {
+            return userDAO.getAll();
+        } finally {
+            span.close();
+        }
     }
 
     public void createUser(User user) throws DAOException, NotFoundException, InvalidException, EmptyNameException, InvalidEmailException, InvalidPasswordException, InvalidPhoneException, InvalidRoleException, EmailAlreadyExistsException {
-        validateUser(user);
+        Span span = Tracer.span("UserService.createUser");
+        try {
+            validateUser(user);
 
-        String password = user.getPasswordHash();
-        if (!password.startsWith("$2a$")) {
-            user.setPasswordHash(SecurityUtil.hashPassword(password));
-        }
+            String password = user.getPasswordHash();
+            if (!password.startsWith("$2a$")) {
+                user.setPasswordHash(SecurityUtil.hashPassword(password));
+            }
 
-        userDAO.insert(user);
-        Guest guest = new Guest(
-                user.getFirstName(),
-                user.getLastName(),
-                user.getEmail(),
-                user.getPhone()
-        );
-        guestService.createGuest(guest);
+            userDAO.insert(user);
+            Guest guest = new Guest(
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getEmail(),
+                    user.getPhone()
+            );
+            guestService.createGuest(guest);
 
-        user.setGuestId(guest.getId());
-        userDAO.update(user);
+            user.setGuestId(guest.getId());
+            userDAO.update(user);
 
-        logger.info("User created successfully: userId=" + user.getId());
+            logger.info("User created successfully: userId=" + user.getId());
+        } finally {
+            span.close();
+        }
     }
 
     public void updateUser(User user) throws DAOException, NotFoundException, InvalidException, EmptyNameException, InvalidEmailException, InvalidPasswordException, InvalidPhoneException, InvalidRoleException, EmailAlreadyExistsException {
-        logger.info("Attempting to update user: userId=" + user.getId());
-        validateUser(user);
+        Span span = Tracer.span("UserService.updateUser");
+        try {
+            logger.info("Attempting to update user: userId=" + user.getId());
+            validateUser(user);
 
-        String password = user.getPasswordHash();
-        if (!password.startsWith("$2a$")) {
-            user.setPasswordHash(SecurityUtil.hashPassword(password));
-        }
+            String password = user.getPasswordHash();
+            if (!password.startsWith("$2a$")) {
+                user.setPasswordHash(SecurityUtil.hashPassword(password));
+            }
 
-        userDAO.update(user);
-        logger.info("User updated successfully: userId=" + user.getId());
+            userDAO.update(user);
+            logger.info("User updated successfully: userId=" + user.getId());
+        } finally {
+            span.close();
+        }
     }
 
     public void deleteUser(int id) throws DAOException, NotFoundException {
-        logger.info("Attempting to delete user: userId=" + id);
-        userDAO.delete(id);
-        logger.info("User deleted successfully: userId=" + id);
+        Span span = Tracer.span("UserService.deleteUser");
+        try {
+            logger.info("Attempting to delete user: userId=" + id);
+            userDAO.delete(id);
+            logger.info("User deleted successfully: userId=" + id);
+        } finally {
+            span.close();
+        }
     }
 
     private void validateUser(User user) throws InvalidException, EmptyNameException, InvalidEmailException, InvalidPasswordException, InvalidPhoneException, InvalidRoleException, EmailAlreadyExistsException {
@@ -170,24 +208,29 @@ public class UserService {
     }
 
     public User authenticate(String email, String password) throws DAOException, NotFoundException, InvalidEmailException, InvalidPasswordException, UserInactiveException {
-        logger.info("Attempting to authenticate user with email: " + email);
+        Span span = Tracer.span("UserService.authenticate");
+        try {
+            logger.info("Attempting to authenticate user with email: " + email);
 
-        validateEmail(email);
-        validatePassword(password);
+            validateEmail(email);
+            validatePassword(password);
 
-        User user = userDAO.findByEmail(email);
-        boolean passwordMatches = user.checkPassword(password);
-        if (!passwordMatches) {
-            logger.warning("Authentication failed: incorrect password for userId=" + user.getId());
-            throw new InvalidPasswordException(InvalidPasswordException.Reason.INVALID);
-        }
+            User user = userDAO.findByEmail(email);
+            boolean passwordMatches = user.checkPassword(password);
+            if (!passwordMatches) {
+                logger.warning("Authentication failed: incorrect password for userId=" + user.getId());
+                throw new InvalidPasswordException(InvalidPasswordException.Reason.INVALID);
+            }
 
-        if (!user.isActive()) {
-            logger.warning("Authentication failed: user account is inactive (userId=" + user.getId() + ")");
-            throw new UserInactiveException();
-        }
+            if (!user.isActive()) {
+                logger.warning("Authentication failed: user account is inactive (userId=" + user.getId() + ")");
+                throw new UserInactiveException();
+            }
 
-        logger.info("Authentication successful for userId=" + user.getId());
-        return user;
+            logger.info("Authentication successful for userId=" + user.getId());
+            return user;
+        } finally {
+            span.close();
+        }
     }
 }
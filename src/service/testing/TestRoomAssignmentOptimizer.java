@@ -0,0 +1,69 @@
+package service.testing;
+
+import dao.InMemoryBookingDAO;
+import dao.InMemoryRoomDAO;
+import journal.BookingJournal;
+import model.Booking;
+import model.BookingStatus;
+import model.Room;
+import model.RoomStatus;
+import service.RoomAssignmentOptimizer;
+import service.RoomService;
+
+import java.time.LocalDate;
+
+/*
+ * Placement order of the optimizer: a pending stay that leaves one-night gaps in its room goes to a room whose gap
+ * it fills exactly, then to a room with only a later stay, and only then to an empty room.
+ */
+public class TestRoomAssignmentOptimizer {
+    public static void main(String[] args) throws Exception {
+        check("exact gap", placeStay(true), "gap");
+        check("later stay before empty room", placeStay(false), "later");
+        System.out.println("All placement checks passed");
+    }
+
+    // Returns the number of the room the pending stay ends up in
+    private static String placeStay(boolean withGapRoom) throws Exception {
+        InMemoryRoomDAO roomDAO = new InMemoryRoomDAO();
+        InMemoryBookingDAO bookingDAO = new InMemoryBookingDAO();
+        int current = addRoom(roomDAO, "current");
+        addRoom(roomDAO, "empty");
+        int later = addRoom(roomDAO, "later");
+        int gap = withGapRoom ? addRoom(roomDAO, "gap") : -1;
+
+        // The pending stay [13, 15) leaves a one-night gap on both sides of it in its current room
+        addStay(bookingDAO, current, 10, 12, BookingStatus.CONFIRMED);
+        addStay(bookingDAO, current, 16, 20, BookingStatus.CONFIRMED);
+        Booking pending = addStay(bookingDAO, current, 13, 15, BookingStatus.PENDING);
+        addStay(bookingDAO, later, 40, 45, BookingStatus.CONFIRMED);
+        if (withGapRoom) {
+            addStay(bookingDAO, gap, 5, 13, BookingStatus.CONFIRMED);
+            addStay(bookingDAO, gap, 15, 30, BookingStatus.CONFIRMED);
+        }
+
+        RoomService roomService = new RoomService(roomDAO);
+        new RoomAssignmentOptimizer(bookingDAO, roomService, BookingJournal.disabled(), 90, 2, 5000).run();
+        return roomService.getRoomById(bookingDAO.findById(pending.getId()).getRoomId()).getNumber();
+    }
+
+    private static int addRoom(InMemoryRoomDAO roomDAO, String number) throws Exception {
+        Room room = new Room(number, "DOUBLE", 120.0, 20.0, 2, 1, RoomStatus.AVAILABLE);
+        roomDAO.insert(room);
+        return room.getId();
+    }
+
+    private static Booking addStay(InMemoryBookingDAO bookingDAO, int roomId, int fromDays, int toDays, BookingStatus status) throws Exception {
+        LocalDate today = LocalDate.now();
+        Booking booking = new Booking(roomId, 1, today.plusDays(fromDays), today.plusDays(toDays), 0, 2, status);
+        bookingDAO.insert(booking);
+        return booking;
+    }
+
+    private static void check(String name, String actual, String expected) {
+        if (!expected.equals(actual)) {
+            throw new AssertionError(name + ": expected room " + expected + " but the stay went to " + actual);
+        }
+        System.out.println(name + ": room " + actual);
+    }
+}
@@ -0,0 +1,297 @@
+package snapshot;
+
+import dao.InMemoryBookingDAO;
+import dao.InMemoryGuestDAO;
+import dao.InMemoryRoomDAO;
+import dao.InMemoryUserDAO;
+import journal.BookingJournal;
+import journal.JournalReplayer;
+import model.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+public class SnapshotManager {
+    private static final Logger logger = Logger.getLogger(SnapshotManager.class.getName());
+
+    private static final int MAGIC = 0x484F5353;
+    private static final int VERSION = 2;
+    private static final int TRAILER_BYTES = 4;
+
+    private final Path file;
+    private final InMemoryRoomDAO roomDAO;
+    private final InMemoryGuestDAO guestDAO;
+    private final InMemoryUserDAO userDAO;
+    private final InMemoryBookingDAO bookingDAO;
+    private final BookingJournal journal;
+    private ScheduledExecutorService scheduler;
+
+    public SnapshotManager(Path file, InMemoryRoomDAO roomDAO, InMemoryGuestDAO guestDAO, InMemoryUserDAO userDAO,
+                           InMemoryBookingDAO bookingDAO, BookingJournal journal) {
+        this.file = file;
+        this.roomDAO = roomDAO;
+        this.guestDAO = guestDAO;
+        this.userDAO = userDAO;
+        this.bookingDAO = bookingDAO;
+        this.journal = journal;
+    }
+
+    public boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    public synchronized void write() throws IOException {
+        long started = System.nanoTime();
+        long journalSequence = journal.getLastSequence();
+        List<Room> rooms = roomDAO.getAll();
+        List<Guest> guests = guestDAO.getAll();
+        List<User> users = userDAO.getAll();
+        List<Booking> bookings = bookingDAO.getAll();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        CRC32C crc = new CRC32C();
+        try (OutputStream raw = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CrcOutputStream(raw, crc), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeLong(journalSequence);
+
+            out.writeInt(rooms.size());
+            for (Room room : rooms) {
+                out.writeInt(room.getId());
+                writeString(out, room.getNumber());
+                writeString(out, room.getType());
+                out.writeDouble(room.getPricePerNight());
+                out.writeDouble(room.getExtraGuestPricePerNight());
+                out.writeInt(room.getCapacity());
+                out.writeInt(room.getAllowedExtraGuests());
+                out.writeByte(room.getStatus() == null ? -1 : room.getStatus().ordinal());
+            }
+
+            out.writeInt(guests.size());
+            for (Guest guest : guests) {
+                out.writeInt(guest.getId());
+                writeString(out, guest.getFirstName());
+                writeString(out, guest.getLastName());
+                writeString(out, guest.getEmail());
+                writeString(out, guest.getPhone());
+            }
+
+            out.writeInt(users.size());
+            for (User user : users) {
+                out.writeInt(user.getId());
+                out.writeInt(user.getGuestId() == null ? -1 : user.getGuestId());
+                writeString(out, user.getFirstName());
+                writeString(out, user.getLastName());
+                writeString(out, user.getEmail());
+                writeString(out, user.getPasswordHash());
+                writeString(out, user.getPhone());
+                out.writeByte(user.getRole() == null ? -1 : user.getRole().ordinal());
+                out.writeBoolean(user.isActive());
+                out.writeLong(toEpochMillis(user.getCreatedAt()));
+                out.writeLong(toEpochMillis(user.getUpdatedAt()));
+            }
+
+            out.writeInt(bookings.size());
+            for (Booking booking : bookings) {
+                out.writeInt(booking.getId());
+                out.writeInt(booking.getRoomId());
+                out.writeInt(booking.getGuestId());
+                out.writeInt(booking.getCheckInDay());
+                out.writeInt(booking.getCheckOutDay());
+                out.writeDouble(booking.getTotalPrice());
+                out.writeInt(booking.getNumGuests());
+                out.writeByte(booking.getStatus() == null ? -1 : booking.getStatus().ordinal());
+            }
+            out.flush();
+            raw.write(ByteBuffer.allocate(TRAILER_BYTES).putInt((int) crc.getValue()).array());
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        logger.info("Wrote snapshot " + file + ": rooms=" + rooms.size() + ", guests=" + guests.size() + ", users=" + users.size()
+                + ", bookings=" + bookings.size() + ", journalSequence=" + journalSequence + ", bytes=" + Files.size(file)
+                + ", elapsedMillis=" + (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean restore() throws IOException {
+        if (!exists()) {
+            return false;
+        }
+        long started = System.nanoTime();
+        long journalSequence;
+        int rooms;
+        int guests;
+        int users;
+        int bookings;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.capacity() < 24 + TRAILER_BYTES || in.getInt(0) != MAGIC || in.getInt(4) != VERSION) {
+                logger.warning("Ignoring snapshot with unknown format: " + file);
+                return false;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(in.duplicate().limit(in.capacity() - TRAILER_BYTES));
+            if ((int) crc.getValue() != in.getInt(in.capacity() - TRAILER_BYTES)) {
+                logger.warning("Ignoring snapshot with bad checksum: " + file);
+                return false;
+            }
+
+            in.position(8);
+            long createdAt = in.getLong();
+            journalSequence = in.getLong();
+
+            rooms = in.getInt();
+            for (int i = 0; i < rooms; i++) {
+                int id = in.getInt();
+                String number = readString(in);
+                String type = readString(in);
+                double price = in.getDouble();
+                double extraPrice = in.getDouble();
+                int capacity = in.getInt();
+                int allowedExtra = in.getInt();
+                byte status = in.get();
+                roomDAO.restore(new Room(id, number, type, price, extraPrice, capacity, allowedExtra,
+                        status < 0 ? null : RoomStatus.values()[status]));
+            }
+
+            guests = in.getInt();
+            for (int i = 0; i < guests; i++) {
+                guestDAO.restore(new Guest(in.getInt(), readString(in), readString(in), readString(in), readString(in)));
+            }
+
+            users = in.getInt();
+            for (int i = 0; i < users; i++) {
+                int id = in.getInt();
+                int guestId = in.getInt();
+                String firstName = readString(in);
+                String lastName = readString(in);
+                String email = readString(in);
+                String passwordHash = readString(in);
+                String phone = readString(in);
+                byte role = in.get();
+                boolean active = in.get() != 0;
+                LocalDateTime created = fromEpochMillis(in.getLong());
+                LocalDateTime updated = fromEpochMillis(in.getLong());
+                userDAO.restore(new User(id, guestId < 0 ? null : guestId, firstName, lastName, email, passwordHash, phone,
+                        role < 0 ? null : Role.values()[role], active, created, updated));
+            }
+
+            bookings = in.getInt();
+            for (int i = 0; i < bookings; i++) {
+                int id = in.getInt();
+                int roomId = in.getInt();
+                int guestId = in.getInt();
+                int checkIn = in.getInt();
+                int checkOut = in.getInt();
+                double totalPrice = in.getDouble();
+                int numGuests = in.getInt();
+                byte status = in.get();
+                bookingDAO.restore(new Booking(id, roomId, guestId, checkIn, checkOut, totalPrice, numGuests,
+                        status < 0 ? null : BookingStatus.values()[status]));
+            }
+            logger.info("Loaded snapshot " + file + " taken at " + new Date(createdAt) + ": rooms=" + rooms + ", guests=" + guests
+                    + ", users=" + users + ", bookings=" + bookings + ", elapsedMillis=" + (System.nanoTime() - started) / 1_000_000);
+        }
+
+        if (journal.isEnabled()) {
+            JournalReplayer.rebuild(journal, bookingDAO, journalSequence + 1);
+        }
+        return true;
+    }
+
+    public synchronized void schedule(long intervalSeconds) {
+        if (scheduler != null || intervalSeconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::writeQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::writeQuietly, "snapshot-shutdown"));
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to write snapshot " + file, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochMillis(LocalDateTime value) {
+        return value == null ? Long.MIN_VALUE : value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromEpochMillis(long value) {
+        return value == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(value, 1000),
+                Math.floorMod(value, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static class CrcOutputStream extends FilterOutputStream {
+        private final CRC32C crc;
+
+        CrcOutputStream(OutputStream out, CRC32C crc) {
+            super(out);
+            this.crc = crc;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            crc.update(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            crc.update(b, off, len);
+        }
+    }
+}
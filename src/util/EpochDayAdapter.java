@@ -0,0 +1,32 @@
+package util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/*
+ * Maps an int epoch-day field to an ISO yyyy-MM-dd string on the wire, so models can keep dates as plain ints.
+ */
+public class EpochDayAdapter extends TypeAdapter<Integer> {
+    @Override
+    public void write(JsonWriter out, Integer value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(LocalDate.ofEpochDay(value).toString());
+    }
+
+    @Override
+    public Integer read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return Math.toIntExact(LocalDateAdapter.parse(in.nextString()).toEpochDay());
+    }
+}
@@ -5,6 +5,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import model.User;
+import monitoring.JwtVerificationEvent;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
@@ -46,21 +47,42 @@ public class JwtUtil {
     }
 
     public static boolean validateToken(String token) {
+        return validClaims(token) != null;
+    }
+
+    // Verifies the token once and returns its claims, or null if it is malformed, forged or expired
+    public static Claims validClaims(String token) {
         try {
             Claims claims = extractAllClaims(token);
             Date expiration = claims.getExpiration();
-            return expiration != null && expiration.after(new Date());
+            return expiration != null && expiration.after(new Date()) ? claims : null;
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 
+    public static int userId(Claims claims) {
+        Object idObj = claims.get("id");
+        return idObj instanceof Number ? ((Number) idObj).intValue() : -1;
+    }
+
     public static Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(SECRET_KEY)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            event.valid = true;
+            return claims;
+        } catch (RuntimeException e) {
+            event.failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     public static String extractEmail(String token) {
@@ -72,14 +94,7 @@ public class JwtUtil {
     }
 
     public static int extractUserId(String token) {
-        Object idObj = extractAllClaims(token).get("id");
-        if (idObj instanceof Integer) {
-            return (int) idObj;
-        }
-        if (idObj instanceof Number) {
-            return ((Number) idObj).intValue();
-        }
-        return -1;
+        return userId(extractAllClaims(token));
     }
 
     public static String refreshToken(String token) {
@@ -0,0 +1,74 @@
+package util;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+public class LocalDateAdapter extends TypeAdapter<LocalDate> {
+    // Accepted for clients that still echo the old java.util.Date wire format ("Jan 5, 2026, 12:00:00 AM")
+    private static final DateTimeFormatter LEGACY_FORMAT = DateTimeFormatter.ofPattern("MMM d, yyyy[,] h:mm:ss a", Locale.US);
+
+    @Override
+    public void write(JsonWriter out, LocalDate value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(value.toString());
+    }
+
+    @Override
+    public LocalDate read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return parse(in.nextString());
+    }
+
+    public static LocalDate parse(String value) {
+        String text = value.trim();
+        try {
+            if (isIsoDate(text)) {
+                return LocalDate.of(digits(text, 0, 4), digits(text, 5, 7), digits(text, 8, 10));
+            }
+            if (text.isEmpty() || !Character.isDigit(text.charAt(0))) {
+                return LocalDate.parse(text.replace('\u202F', ' '), LEGACY_FORMAT);
+            }
+            if (text.length() > 10 && (text.charAt(10) == 'T' || text.charAt(10) == ' ')) {
+                text = text.substring(0, 10);
+            }
+            return LocalDate.parse(text);
+        } catch (DateTimeException e) {
+            throw new JsonSyntaxException("Invalid date '" + value + "', expected yyyy-MM-dd", e);
+        }
+    }
+
+    private static boolean isIsoDate(String text) {
+        if (text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            if (i != 4 && i != 7 && (text.charAt(i) < '0' || text.charAt(i) > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+}
@@ -1,17 +1,32 @@
 package util;
 
+import monitoring.RequestContext;
+
 import java.io.IOException;
 import java.util.logging.*;
 
 public class LoggingConfig {
     public static void setup() {
         Logger logger = Logger.getLogger("");
+        Formatter formatter = new RequestIdFormatter();
+        for (Handler handler : logger.getHandlers()) {
+            handler.setFormatter(formatter);
+        }
         try {
             FileHandler fileHandler = new FileHandler("booking.log", true);
-            fileHandler.setFormatter(new SimpleFormatter());
+            fileHandler.setFormatter(formatter);
             logger.addHandler(fileHandler);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
+
+    private static class RequestIdFormatter extends SimpleFormatter {
+        @Override
+        public String format(LogRecord record) {
+            String requestId = RequestContext.currentRequestId();
+            String line = super.format(record);
+            return requestId != null ? "[requestId=" + requestId + "] " + line : line;
+        }
+    }
 }
@@ -10,6 +10,7 @@ import java.util.logging.Logger;
 import exception.*;
 import io.github.cdimascio.dotenv.Dotenv;
 import model.User;
+import monitoring.PasswordHashEvent;
 import org.mindrot.jbcrypt.BCrypt;
 
 public class SecurityUtil {
@@ -19,11 +20,38 @@ public class SecurityUtil {
     private SecurityUtil() { }
 
     public static String hashPassword(String plainPassword) {
-        return BCrypt.hashpw(plainPassword, BCrypt.gensalt(BCRYPT_COST));
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return BCrypt.hashpw(plainPassword, BCrypt.gensalt(BCRYPT_COST));
+        } finally {
+            event.operation = "hash";
+            event.cost = BCRYPT_COST;
+            event.commit();
+        }
     }
 
     public static boolean verifyPassword(String plainPassword, String hashedPassword) {
-        return BCrypt.checkpw(plainPassword, hashedPassword);
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean matched = false;
+        try {
+            matched = BCrypt.checkpw(plainPassword, hashedPassword);
+            return matched;
+        } finally {
+            event.operation = "verify";
+            event.cost = extractCost(hashedPassword);
+            event.matched = matched;
+            event.commit();
+        }
+    }
+
+    private static int extractCost(String hashedPassword) {
+        try {
+            return Integer.parseInt(hashedPassword.substring(4, 6));
+        } catch (RuntimeException e) {
+            return -1;
+        }
     }
 
     public static Integer getUserId(String token) {